@@ -30,6 +30,7 @@ package com.amihaiemil.eoyaml;
 import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -81,12 +82,35 @@ final class AllYamlLines implements YamlLines {
      */
     private Collection<YamlLine> lines;
 
+    /**
+     * Limits to respect while reading.
+     */
+    private final YamlLimits limits;
+
+    /**
+     * Anchors of these lines.
+     */
+    private final Anchors anchors;
+
     /**
      * Ctor.
      * @param lines Yaml lines collection.
      */
     AllYamlLines(final Collection<YamlLine> lines) {
+        this(lines, new YamlLimits());
+    }
+
+    /**
+     * Ctor.
+     * @param lines Yaml lines collection.
+     * @param limits Limits to respect while reading.
+     */
+    AllYamlLines(final Collection<YamlLine> lines, final YamlLimits limits) {
         this.lines = lines;
+        this.limits = limits;
+        this.anchors = new Anchors(
+            this, limits.max(YamlLimits.Limit.ALIAS_EXPANSION)
+        );
     }
 
     @Override
@@ -105,6 +129,78 @@ final class AllYamlLines implements YamlLines {
 
     @Override
     public YamlNode toYamlNode(final YamlLine prev) {
+        final YamlNode node;
+        if (Anchors.anchor(prev.value()).isEmpty()) {
+            node = this.nodeAfter(prev);
+        } else {
+            node = this.anchors.node(prev, () -> this.nodeAfter(prev));
+        }
+        return node;
+    }
+
+    @Override
+    public Iterator<YamlLine> iterator() {
+        return this.lines.iterator();
+    }
+
+    /**
+     * Limits to respect while reading these lines.
+     * @return YamlLimits.
+     */
+    YamlLimits limits() {
+        return this.limits;
+    }
+
+    /**
+     * The node written on the given line itself (not nested after it):
+     * an alias, a flow sequence of aliases or a plain scalar.
+     * @param line YamlLine.
+     * @return YamlNode.
+     */
+    YamlNode plainOrAlias(final YamlLine line) {
+        final YamlNode node;
+        final String trimmed = line.trimmed();
+        final String alias = Anchors.alias(trimmed);
+        final List<String> aliases = Anchors.flowAliases(trimmed);
+        if (!Anchors.anchor(line.value()).isEmpty()) {
+            node = this.anchors.node(
+                line, () -> new ReadPlainScalar(this, line)
+            );
+        } else if (!alias.isEmpty()) {
+            node = this.anchors.alias(alias, line);
+        } else if (!aliases.isEmpty()) {
+            YamlSequenceBuilder sequence = Yaml.createYamlSequenceBuilder();
+            for (final String name : aliases) {
+                sequence = sequence.add(this.anchors.alias(name, line));
+            }
+            node = sequence.build();
+        } else {
+            node = new ReadPlainScalar(this, line);
+        }
+        return node;
+    }
+
+    /**
+     * The node marked by the anchor on the given line.
+     * @param line YamlLine with an anchor.
+     * @return YamlNode.
+     */
+    YamlNode anchored(final YamlLine line) {
+        final YamlNode node;
+        if (Anchors.nested(line.trimmed())) {
+            node = this.toYamlNode(line);
+        } else {
+            node = this.plainOrAlias(line);
+        }
+        return node;
+    }
+
+    /**
+     * Read the node found after the given line.
+     * @param prev YamlLine just previous to the node we're trying to find.
+     * @return Found YamlNode.
+     */
+    private YamlNode nodeAfter(final YamlLine prev) {
         final YamlNode node;
         final String prevLine = prev.trimmed();
         if(prevLine.isEmpty()) {
@@ -124,11 +220,6 @@ final class AllYamlLines implements YamlLines {
         return node;
     }
 
-    @Override
-    public Iterator<YamlLine> iterator() {
-        return this.lines.iterator();
-    }
-
     /**
      * Try to figure out what YAML node (mapping, sequence or scalar) is found
      * after the given line.
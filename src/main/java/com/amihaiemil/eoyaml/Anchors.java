@@ -0,0 +1,456 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlLimitException;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Anchors (&amp;name) of a YAML document and the nodes they mark.
+ * Every alias (*name) resolves to the very same anchored node instance,
+ * so memory grows with the number of anchors, not with the number of
+ * aliases. Before an alias is resolved, we make sure the anchored node
+ * does not expand to more lines than allowed, counting the aliases nested
+ * in it as well ("billion laughs" protection).
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Anchors {
+
+    /**
+     * A line whose node is an alias: "*name", "key: *name" or "- *name".
+     */
+    private static final Pattern ALIAS = Pattern.compile(
+        "^(?:-[ ]+)?(?:[^*]*:[ ]+)?\\*(?<name>[^ \\[\\]{},]+)$"
+    );
+
+    /**
+     * A line whose node is a flow sequence, such as "key: [*one, *two]".
+     */
+    private static final Pattern FLOW = Pattern.compile(
+        "^(?:-[ ]+)?(?:[^*\\[]*:[ ]+)?\\[(?<items>[^\\[\\]]*)]$"
+    );
+
+    /**
+     * A line after which a nested node (mapping, sequence or block
+     * scalar) follows.
+     */
+    private static final Pattern NESTED = Pattern.compile(
+        "^(.*:|-|.*[|>][+-]?)$"
+    );
+
+    /**
+     * All the lines of the document.
+     */
+    private final AllYamlLines lines;
+
+    /**
+     * Maximum number of lines an alias can expand to.
+     */
+    private final long limit;
+
+    /**
+     * Anchored nodes, by the number of the line where the anchor is.
+     */
+    private final Map<Integer, YamlNode> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Expanded sizes of the anchored nodes, by anchor line number.
+     */
+    private final Map<Integer, Long> sizes = new ConcurrentHashMap<>();
+
+    /**
+     * Lines defining each anchor, in order.
+     */
+    private Map<String, List<YamlLine>> index;
+
+    /**
+     * Ctor.
+     * @param lines All the lines of the document.
+     * @param limit Maximum number of lines an alias can expand to.
+     */
+    Anchors(final AllYamlLines lines, final long limit) {
+        this.lines = lines;
+        this.limit = limit;
+    }
+
+    /**
+     * The node anchored at the given line. It is read only once, the same
+     * instance is returned afterwards.
+     * @param line Line with the anchor.
+     * @param read Reads the node, if it was not read before.
+     * @return Anchored YamlNode.
+     */
+    YamlNode node(final YamlLine line, final Supplier<YamlNode> read) {
+        final YamlNode node;
+        final YamlNode known = this.nodes.get(line.number());
+        if (known == null) {
+            final YamlNode created = read.get();
+            final YamlNode raced = this.nodes.putIfAbsent(
+                line.number(), created
+            );
+            if (raced == null) {
+                node = created;
+            } else {
+                node = raced;
+            }
+        } else {
+            node = known;
+        }
+        return node;
+    }
+
+    /**
+     * The node referred by an alias.
+     * @param name Name of the alias, without '*'.
+     * @param where Line where the alias is.
+     * @return Anchored YamlNode.
+     * @throws YamlReadingException If the anchor is not defined before the
+     *  alias or if it expands to too many lines.
+     */
+    YamlNode alias(final String name, final YamlLine where) {
+        final YamlLine anchor = this.definition(name, where);
+        final long size = this.size(anchor, new HashSet<>());
+        if (size > this.limit) {
+            throw new YamlLimitException(
+                YamlLimits.Limit.ALIAS_EXPANSION,
+                "Alias *" + name + " at line " + (where.number() + 1)
+                + " expands to more than " + this.limit + " lines."
+            );
+        }
+        return this.lines.anchored(anchor);
+    }
+
+    /**
+     * Name of the anchor found at the start of the line's node,
+     * e.g. "base" for "key: &amp;base". Anchors within quotes or comments
+     * are ignored.
+     * @param text Text of the line.
+     * @return Name of the anchor or empty String, if there is none.
+     */
+    static String anchor(final String text) {
+        String name = "";
+        if (text.indexOf('&') >= 0) {
+            final int start = Anchors.anchorAt(text);
+            if (start >= 0) {
+                name = text.substring(start + 1, Anchors.nameEnd(text, start));
+            }
+        }
+        return name;
+    }
+
+    /**
+     * The given text, without the anchor, e.g. "key: value" for
+     * "key: &amp;anchor value".
+     * @param text Text of a line.
+     * @return Text without the anchor.
+     */
+    static String unanchored(final String text) {
+        String unanchored = text;
+        if (text.indexOf('&') >= 0) {
+            final int start = Anchors.anchorAt(text);
+            if (start >= 0) {
+                int end = Anchors.nameEnd(text, start);
+                while (end < text.length() && text.charAt(end) == ' ') {
+                    end++;
+                }
+                unanchored = (
+                    text.substring(0, start) + text.substring(end)
+                ).trim();
+            }
+        }
+        return unanchored;
+    }
+
+    /**
+     * Name of the alias which is the node of this line.
+     * @param trimmed Trimmed line.
+     * @return Name of the alias (without '*') or empty String, if the line's
+     *  node is not an alias.
+     */
+    static String alias(final String trimmed) {
+        String name = "";
+        if (trimmed.indexOf('*') >= 0) {
+            final Matcher matcher = ALIAS.matcher(trimmed);
+            if (matcher.matches()) {
+                name = matcher.group("name");
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Names of the aliases in a flow sequence made only of aliases,
+     * such as "&lt;&lt;: [*one, *two]".
+     * @param trimmed Trimmed line.
+     * @return Names of the aliases or an empty list, if the line's node
+     *  is not such a flow sequence.
+     */
+    static List<String> flowAliases(final String trimmed) {
+        final List<String> names = new ArrayList<>();
+        if (trimmed.indexOf('*') >= 0) {
+            final Matcher matcher = FLOW.matcher(trimmed);
+            if (matcher.matches()) {
+                for (final String item : matcher.group("items").split(",")) {
+                    final String alias = item.trim();
+                    if (alias.length() < 2 || alias.charAt(0) != '*') {
+                        names.clear();
+                        break;
+                    }
+                    names.add(alias.substring(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Is a nested node (mapping, sequence or block scalar) following
+     * after this line?
+     * @param trimmed Trimmed line.
+     * @return True or false.
+     */
+    static boolean nested(final String trimmed) {
+        return NESTED.matcher(trimmed).matches();
+    }
+
+    /**
+     * Number of lines the node anchored at the given line expands to.
+     * @param anchor Line with the anchor.
+     * @param visiting Anchors whose size is being calculated.
+     * @return Number of lines.
+     */
+    private long size(final YamlLine anchor, final Set<Integer> visiting) {
+        Long size = this.sizes.get(anchor.number());
+        if (size == null) {
+            if (!visiting.add(anchor.number())) {
+                throw new YamlReadingException(
+                    "Anchor &" + Anchors.anchor(anchor.value())
+                    + " at line " + (anchor.number() + 1)
+                    + " refers to itself."
+                );
+            }
+            long total = 0;
+            for (final YamlLine line : this.extent(anchor)) {
+                total = total + 1;
+                final String trimmed = line.trimmed();
+                final List<String> aliases = Anchors.flowAliases(trimmed);
+                final String alias = Anchors.alias(trimmed);
+                if (!alias.isEmpty()) {
+                    aliases.add(alias);
+                }
+                for (final String name : aliases) {
+                    total = total + this.size(
+                        this.definition(name, line), visiting
+                    );
+                }
+                if (total > this.limit) {
+                    break;
+                }
+            }
+            visiting.remove(anchor.number());
+            this.sizes.put(anchor.number(), total);
+            size = total;
+        }
+        return size;
+    }
+
+    /**
+     * Lines of the node anchored at the given line: the line itself and
+     * the lines nested after it.
+     * @param anchor Line with the anchor.
+     * @return YamlLines.
+     */
+    private List<YamlLine> extent(final YamlLine anchor) {
+        final List<YamlLine> extent = new ArrayList<>();
+        extent.add(anchor);
+        if (Anchors.nested(anchor.trimmed())) {
+            boolean after = false;
+            for (final YamlLine line : this.lines.original()) {
+                if (after) {
+                    if (line.indentation() <= anchor.indentation()) {
+                        break;
+                    }
+                    extent.add(line);
+                } else {
+                    after = line.number() == anchor.number();
+                }
+            }
+        }
+        return extent;
+    }
+
+    /**
+     * Find the line defining the anchor referred by an alias. It is the
+     * last definition before the alias.
+     * @param name Name of the anchor.
+     * @param where Line where the alias is.
+     * @return YamlLine.
+     */
+    private YamlLine definition(final String name, final YamlLine where) {
+        YamlLine found = null;
+        final List<YamlLine> definitions = this.index().getOrDefault(
+            name, Collections.emptyList()
+        );
+        for (final YamlLine line : definitions) {
+            if (line.number() < where.number()) {
+                found = line;
+            }
+        }
+        if (found == null) {
+            throw new YamlReadingException(
+                "Alias *" + name + " at line " + (where.number() + 1)
+                + " refers to an unknown anchor."
+            );
+        }
+        return found;
+    }
+
+    /**
+     * Index of the anchors, built the first time it is needed.
+     * @return Lines defining each anchor, in order.
+     */
+    private synchronized Map<String, List<YamlLine>> index() {
+        if (this.index == null) {
+            final Map<String, List<YamlLine>> built = new HashMap<>();
+            for (final YamlLine line : this.lines.original()) {
+                final String name = Anchors.anchor(line.value());
+                if (!name.isEmpty()) {
+                    built.computeIfAbsent(
+                        name, key -> new ArrayList<>()
+                    ).add(line);
+                }
+            }
+            this.index = built;
+        }
+        return this.index;
+    }
+
+    /**
+     * Position of the '&amp;' starting an anchor. An anchor has to be at the
+     * start of a node: at the start of the text, after a key's ':' or after
+     * a sequence's '-'.
+     * @param text Text of a line.
+     * @checkstyle CyclomaticComplexity (50 lines)
+     * @return Position or -1, if there is no anchor.
+     */
+    private static int anchorAt(final String text) {
+        int start = -1;
+        int first = -1;
+        int previous = -1;
+        int idx = 0;
+        while (start < 0 && idx < text.length()) {
+            final char current = text.charAt(idx);
+            if (current == '"' || current == '\'') {
+                idx = Anchors.closing(text, idx);
+            } else if (current == '#' && Anchors.separated(text, idx)) {
+                idx = text.length();
+            } else if (current == '&'
+                && Anchors.nodeStart(text, first, previous)
+                && Anchors.separated(text, idx)) {
+                if (Anchors.nameEnd(text, idx) > idx + 1) {
+                    start = idx;
+                }
+            }
+            if (current != ' ' && idx < text.length()) {
+                previous = idx;
+                if (first < 0) {
+                    first = idx;
+                }
+            }
+            idx = idx + 1;
+        }
+        return start;
+    }
+
+    /**
+     * Does a node start after the previous non-space char?
+     * @param text Text of a line.
+     * @param first Position of the first non-space char (-1 if none).
+     * @param previous Position of the previous non-space char (-1 if none).
+     * @return True or false.
+     */
+    private static boolean nodeStart(
+        final String text, final int first, final int previous
+    ) {
+        return previous < 0
+            || text.charAt(previous) == ':'
+            || text.charAt(previous) == '-' && previous == first;
+    }
+
+    /**
+     * Is the char at the given position at the start of the text or
+     * after a space?
+     * @param text Text.
+     * @param idx Position.
+     * @return True or false.
+     */
+    private static boolean separated(final String text, final int idx) {
+        return idx == 0 || text.charAt(idx - 1) == ' ';
+    }
+
+    /**
+     * Position of the quote closing the one at the given position.
+     * @param text Text.
+     * @param open Position of the opening quote.
+     * @return Position of the closing quote or the text's length.
+     */
+    private static int closing(final String text, final int open) {
+        int idx = open + 1;
+        while (idx < text.length() && text.charAt(idx) != text.charAt(open)) {
+            idx = idx + 1;
+        }
+        return idx;
+    }
+
+    /**
+     * Position where the name of an anchor ends.
+     * @param text Text.
+     * @param start Position of the '&amp;'.
+     * @return Position after the name's last char.
+     */
+    private static int nameEnd(final String text, final int start) {
+        int idx = start + 1;
+        while (idx < text.length() && text.charAt(idx) != ' ') {
+            idx = idx + 1;
+        }
+        return idx;
+    }
+}
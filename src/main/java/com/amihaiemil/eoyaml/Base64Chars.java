@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Base64 content of a !!binary scalar, decoded directly from the scalar's
+ * chars. Line breaks and indentation are skipped, a leading !!binary tag
+ * is skipped too, no intermediate String is built.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Base64Chars {
+
+    /**
+     * The !!binary tag.
+     */
+    static final String TAG = "!!binary";
+
+    /**
+     * The !!binary tag on the line where a block scalar starts, before
+     * its indicator (e.g. "key: !!binary |" or "- !!binary &gt;").
+     */
+    private static final Pattern BLOCK_TAG = Pattern.compile(
+        "(^-|^---|:)\\s+" + TAG + "\\s+[|>][-+0-9]*$"
+    );
+
+    /**
+     * Value of each base64 symbol, -1 for the chars which are not symbols.
+     */
+    private static final int[] SYMBOLS = new int[128];
+
+    static {
+        Arrays.fill(SYMBOLS, -1);
+        final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+            + "abcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int idx = 0; idx < alphabet.length(); ++idx) {
+            SYMBOLS[alphabet.charAt(idx)] = idx;
+        }
+    }
+
+    /**
+     * The chars.
+     */
+    private final CharSequence chars;
+
+    /**
+     * Index where the base64 content starts.
+     */
+    private final int start;
+
+    /**
+     * Ctor.
+     * @param chars Base64 chars, optionally starting with the !!binary tag.
+     */
+    Base64Chars(final CharSequence chars) {
+        this.chars = chars;
+        this.start = Base64Chars.afterTag(chars);
+    }
+
+    /**
+     * The base64 chars of a !!binary scalar. Plain scalars have the tag in
+     * their value, read block scalars have it on the line where they
+     * start.
+     * @param scalar Scalar.
+     * @return Base64Chars.
+     * @throws YamlReadingException If the scalar is not tagged !!binary.
+     */
+    static Base64Chars binary(final Scalar scalar) {
+        final CharSequence chars = scalar.chars();
+        final YamlLine start;
+        if (scalar instanceof ReadLiteralBlockScalar) {
+            start = ((ReadLiteralBlockScalar) scalar).start();
+        } else if (scalar instanceof ReadFoldedBlockScalar) {
+            start = ((ReadFoldedBlockScalar) scalar).start();
+        } else {
+            start = null;
+        }
+        final boolean block = start != null && start.number() >= 0
+            && BLOCK_TAG.matcher(start.trimmed()).find();
+        if (!block && Base64Chars.afterTag(chars) == 0) {
+            throw new YamlReadingException(
+                "The scalar is not tagged " + TAG + ", it cannot be decoded."
+            );
+        }
+        return new Base64Chars(chars);
+    }
+
+    /**
+     * Number of bytes these chars decode to.
+     * @return Integer.
+     */
+    int size() {
+        long symbols = 0;
+        for (int idx = this.start; idx < this.chars.length(); ++idx) {
+            final char current = this.chars.charAt(idx);
+            if (current == '=') {
+                break;
+            }
+            if (current < SYMBOLS.length && SYMBOLS[current] >= 0) {
+                symbols = symbols + 1;
+            }
+        }
+        return (int) (symbols * 6 / 8);
+    }
+
+    /**
+     * Decode these chars into the given buffer, starting at its position.
+     * @param target Buffer where to write the bytes, heap or direct.
+     * @return The target buffer, its position after the last written byte.
+     * @throws YamlReadingException If the chars are not valid base64.
+     * @throws java.nio.BufferOverflowException If the target buffer has
+     *  not enough space left.
+     */
+    ByteBuffer decode(final ByteBuffer target) {
+        int bits = 0;
+        int buffer = 0;
+        for (int idx = this.start; idx < this.chars.length(); ++idx) {
+            final char current = this.chars.charAt(idx);
+            if (current == '=') {
+                break;
+            }
+            if (!Character.isWhitespace(current)) {
+                if (current >= SYMBOLS.length || SYMBOLS[current] < 0) {
+                    throw new YamlReadingException(
+                        "Invalid base64 char '" + current + "' at index "
+                        + idx + " of the !!binary scalar."
+                    );
+                }
+                buffer = buffer << 6 | SYMBOLS[current];
+                bits = bits + 6;
+                if (bits >= 8) {
+                    bits = bits - 8;
+                    target.put((byte) (buffer >> bits));
+                    buffer = buffer & (1 << bits) - 1;
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Index after the !!binary tag and the following spaces, 0 if the
+     * chars do not start with the tag.
+     * @param chars Chars.
+     * @return Index.
+     */
+    private static int afterTag(final CharSequence chars) {
+        int index = 0;
+        while (index < chars.length()
+            && Character.isWhitespace(chars.charAt(index))) {
+            index = index + 1;
+        }
+        boolean tagged = chars.length() - index >= TAG.length();
+        for (int idx = 0; tagged && idx < TAG.length(); ++idx) {
+            tagged = chars.charAt(index + idx) == TAG.charAt(idx);
+        }
+        if (tagged) {
+            index = index + TAG.length();
+        } else {
+            index = 0;
+        }
+        return index;
+    }
+}
@@ -52,11 +52,8 @@ public abstract class BaseYamlMapping
     @Override
     public final int hashCode() {
         int hash = 0;
-        for(final YamlNode key : this.keys()) {
-            hash += key.hashCode();
-        }
-        for(final YamlNode value : this.values()) {
-            hash += value.hashCode();
+        for(final Map.Entry<YamlNode, YamlNode> entry : this.entries()) {
+            hash += entry.getKey().hashCode() + entry.getValue().hashCode();
         }
         return hash;
     }
@@ -106,24 +103,30 @@ public abstract class BaseYamlMapping
             result = 1;
         } else if (this != other) {
             final BaseYamlMapping map = (BaseYamlMapping) other;
-            final Set<YamlNode> keys = this.keys();
-            final Set<YamlNode> otherKeys = map.keys();
-            if(keys.size() > otherKeys.size()) {
+            final Collection<Map.Entry<YamlNode, YamlNode>> entries =
+                this.entries();
+            final Collection<Map.Entry<YamlNode, YamlNode>> others =
+                map.entries();
+            if(entries.size() > others.size()) {
                 result = 1;
-            } else if (keys.size() < otherKeys.size()) {
+            } else if (entries.size() < others.size()) {
                 result = -1;
             } else {
-                final Iterator<YamlNode> keysIt = keys.iterator();
-                final Iterator<YamlNode> otherKeysIt = otherKeys.iterator();
-                final Iterator<YamlNode> values = this.values().iterator();
-                final Iterator<YamlNode> otherVals = map.values().iterator();
+                final Iterator<Map.Entry<YamlNode, YamlNode>> entriesIt =
+                    entries.iterator();
+                final Iterator<Map.Entry<YamlNode, YamlNode>> othersIt =
+                    others.iterator();
                 int keysComparison;
                 int valuesComparison;
-                while(values.hasNext()) {
-                    keysComparison = keysIt.next()
-                        .compareTo(otherKeysIt.next());
-                    valuesComparison = values.next()
-                        .compareTo(otherVals.next());
+                while(entriesIt.hasNext()) {
+                    final Map.Entry<YamlNode, YamlNode> entry =
+                        entriesIt.next();
+                    final Map.Entry<YamlNode, YamlNode> otherEntry =
+                        othersIt.next();
+                    keysComparison = entry.getKey()
+                        .compareTo(otherEntry.getKey());
+                    valuesComparison = entry.getValue()
+                        .compareTo(otherEntry.getValue());
                     if(keysComparison != 0) {
                         result = keysComparison;
                         break;
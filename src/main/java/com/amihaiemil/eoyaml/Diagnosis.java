@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Diagnosis of YAML lines. Unlike the reading nodes, which throw an
+ * exception at the first problem, it goes over all the lines once and
+ * collects every indentation, structure and duplicate key problem.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Diagnosis {
+
+    /**
+     * A mapping key (plain or quoted) followed by ':'.
+     */
+    private static final Pattern KEY = Pattern.compile(
+        "^(?<key>\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^']|'')*'|[^\"'].*?):(?: .*)?$"
+    );
+
+    /**
+     * A line after which a block scalar follows.
+     */
+    private static final Pattern BLOCK_SCALAR = Pattern.compile(
+        "^(?:.*[ ])?[|>][-+1-9]*$"
+    );
+
+    /**
+     * Lines to diagnose.
+     */
+    private final YamlLines lines;
+
+    /**
+     * Ctor.
+     * @param lines Lines to diagnose.
+     */
+    Diagnosis(final YamlLines lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Go over the lines and find all the problems.
+     * @return Problems, in the order of the lines.
+     */
+    List<Diagnostic> problems() {
+        final List<Diagnostic> problems = new ArrayList<>();
+        final Deque<Level> levels = new ArrayDeque<>();
+        final int significant = this.significant();
+        YamlLine previous = null;
+        int block = -1;
+        for (final YamlLine line : this.lines) {
+            final String trimmed = line.trimmed();
+            final int indentation = line.indentation();
+            if (Diagnosis.ignored(trimmed)
+                || block >= 0 && indentation > block) {
+                continue;
+            }
+            block = -1;
+            if (trimmed.startsWith("---") || trimmed.startsWith("...")) {
+                previous = null;
+                levels.clear();
+                continue;
+            }
+            if (previous != null) {
+                Diagnosis.indentation(previous, line, problems);
+            }
+            if (significant > 1) {
+                Diagnosis.structure(levels, previous, line, problems);
+            }
+            if (BLOCK_SCALAR.matcher(trimmed).matches()) {
+                block = indentation;
+            }
+            previous = line;
+        }
+        return Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * Check the indentation of a line in relation to the previous one.
+     * These are the same rules enforced by {@link WellIndented}.
+     * @param previous Previous line.
+     * @param line Current line.
+     * @param problems Found problems.
+     */
+    private static void indentation(
+        final YamlLine previous,
+        final YamlLine line,
+        final List<Diagnostic> problems
+    ) {
+        final String prev = previous.trimmed();
+        final int indentation = line.indentation();
+        if (previous.requireNestedIndentation()) {
+            if (indentation < previous.indentation() + 2) {
+                problems.add(
+                    new RtDiagnostic(
+                        Diagnostic.Kind.INDENTATION,
+                        line.row() + 1,
+                        line.column(),
+                        "Indentation should be greater than the one of line "
+                        + (previous.row() + 1) + " [" + prev + "]"
+                        + " by at least 2 spaces."
+                    )
+                );
+            }
+        } else if (indentation > previous.indentation()
+            && !prev.endsWith(":")) {
+            problems.add(
+                new RtDiagnostic(
+                    Diagnostic.Kind.INDENTATION,
+                    line.row() + 1,
+                    line.column(),
+                    "Indentation is greater than the one of line "
+                    + (previous.row() + 1) + " [" + prev + "]. "
+                    + "It should be less or equal."
+                )
+            );
+        }
+    }
+
+    /**
+     * Check the line is a key or an item and that it fits with its
+     * siblings.
+     * @param levels Open levels of nesting.
+     * @param previous Previous line, null if there is none.
+     * @param line Current line.
+     * @param problems Found problems.
+     * @checkstyle ParameterNumber (10 lines)
+     * @checkstyle CyclomaticComplexity (80 lines)
+     */
+    private static void structure(
+        final Deque<Level> levels,
+        final YamlLine previous,
+        final YamlLine line,
+        final List<Diagnostic> problems
+    ) {
+        final String trimmed = line.trimmed();
+        final int indentation = line.indentation();
+        final boolean item = "-".equals(trimmed) || trimmed.startsWith("- ");
+        final Matcher key = KEY.matcher(trimmed);
+        final boolean complex = "?".equals(trimmed)
+            || trimmed.startsWith("? ") || trimmed.startsWith(":");
+        final Level level = Diagnosis.level(levels, previous, line, item);
+        if (item) {
+            level.items = true;
+        } else if (key.matches() || complex) {
+            level.keys = true;
+        } else {
+            problems.add(
+                new RtDiagnostic(
+                    Diagnostic.Kind.STRUCTURE,
+                    line.row() + 1,
+                    line.column(),
+                    "Line [" + trimmed + "] is neither a mapping key "
+                    + "nor a sequence item."
+                )
+            );
+        }
+        if (level.items && level.keys && !level.mixed) {
+            level.mixed = true;
+            problems.add(
+                new RtDiagnostic(
+                    Diagnostic.Kind.STRUCTURE,
+                    line.row() + 1,
+                    line.column(),
+                    "Mapping keys and sequence items are mixed at the "
+                    + "same level."
+                )
+            );
+        }
+        if (!item && key.matches() && !level.names.add(key.group("key"))) {
+            problems.add(
+                new RtDiagnostic(
+                    Diagnostic.Kind.DUPLICATE_KEY,
+                    line.row() + 1,
+                    line.column(),
+                    "Key [" + key.group("key") + "] is duplicated."
+                )
+            );
+        }
+    }
+
+    /**
+     * Find the level of the given line, closing the deeper levels and
+     * opening a new one, if it is the case.
+     * @param levels Open levels of nesting.
+     * @param previous Previous line, null if there is none.
+     * @param line Current line.
+     * @param item Is the current line a sequence item?
+     * @return Level of the line.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private static Level level(
+        final Deque<Level> levels,
+        final YamlLine previous,
+        final YamlLine line,
+        final boolean item
+    ) {
+        final int indentation = line.indentation();
+        while (!levels.isEmpty() && levels.peek().closedBy(indentation, item)) {
+            levels.pop();
+        }
+        if (levels.isEmpty() || levels.peek().indentation < indentation) {
+            levels.push(new Level(indentation, false));
+        } else if (item && Diagnosis.valueOf(previous, indentation)) {
+            levels.push(new Level(indentation, true));
+        }
+        return levels.peek();
+    }
+
+    /**
+     * Is the previous line a key whose value is a sequence at the same
+     * indentation?
+     * @param previous Previous line, null if there is none.
+     * @param indentation Indentation of the sequence item.
+     * @return True or false.
+     */
+    private static boolean valueOf(
+        final YamlLine previous, final int indentation
+    ) {
+        return previous != null
+            && previous.indentation() == indentation
+            && previous.trimmed().endsWith(":")
+            && !previous.trimmed().startsWith("-");
+    }
+
+    /**
+     * Number of significant lines. If there is only one, it may be
+     * a plain scalar.
+     * @return Integer.
+     */
+    private int significant() {
+        int count = 0;
+        for (final YamlLine line : this.lines) {
+            final String trimmed = line.trimmed();
+            if (!Diagnosis.ignored(trimmed)
+                && !trimmed.startsWith("---")
+                && !trimmed.startsWith("...")) {
+                count = count + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Is this line ignored (empty, comment or directive)?
+     * @param trimmed Trimmed line.
+     * @return True or false.
+     */
+    private static boolean ignored(final String trimmed) {
+        return trimmed.isEmpty()
+            || trimmed.startsWith("#")
+            || trimmed.startsWith("%")
+            || trimmed.startsWith("!!");
+    }
+
+    /**
+     * A level of nesting: the lines at the same indentation, under the
+     * same parent.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Level {
+
+        /**
+         * Indentation of the level.
+         */
+        private final int indentation;
+
+        /**
+         * Is this a sequence at the same indentation as its parent key?
+         */
+        private final boolean nested;
+
+        /**
+         * Keys of the mapping at this level.
+         */
+        private final Set<String> names;
+
+        /**
+         * Are there keys at this level?
+         */
+        private boolean keys;
+
+        /**
+         * Are there sequence items at this level?
+         */
+        private boolean items;
+
+        /**
+         * Has mixing keys and items been reported already?
+         */
+        private boolean mixed;
+
+        /**
+         * Ctor.
+         * @param indentation Indentation of the level.
+         * @param nested Is this a sequence at the same indentation as
+         *  its parent key?
+         */
+        Level(final int indentation, final boolean nested) {
+            this.indentation = indentation;
+            this.nested = nested;
+            this.names = new HashSet<>();
+        }
+
+        /**
+         * Is this level closed by a line?
+         * @param line Indentation of the line.
+         * @param item Is the line a sequence item?
+         * @return True or false.
+         */
+        boolean closedBy(final int line, final boolean item) {
+            return this.indentation > line
+                || this.indentation == line && this.nested && !item;
+        }
+    }
+}
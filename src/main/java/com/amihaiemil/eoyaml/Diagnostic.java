@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * A problem found in the YAML input by {@link YamlInput#diagnose()}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface Diagnostic {
+
+    /**
+     * Kind of the problem.
+     * @return Kind.
+     */
+    Kind kind();
+
+    /**
+     * Line where the problem is (count starts from 1).
+     * @return Integer.
+     */
+    int line();
+
+    /**
+     * Column where the problem is (count starts from 1).
+     * @return Integer.
+     */
+    int column();
+
+    /**
+     * Description of the problem.
+     * @return String.
+     */
+    String message();
+
+    /**
+     * Kinds of problems.
+     */
+    enum Kind {
+
+        /**
+         * A line is not indented correctly in relation to the previous one.
+         */
+        INDENTATION,
+
+        /**
+         * A line is neither a mapping key nor a sequence item, or keys and
+         * items are mixed at the same level.
+         */
+        STRUCTURE,
+
+        /**
+         * A key appears more than once in the same mapping.
+         */
+        DUPLICATE_KEY
+    }
+}
@@ -69,4 +69,19 @@ final class Edited implements YamlLine {
     public int indentation() {
         return this.original.indentation();
     }
+
+    @Override
+    public int row() {
+        return this.original.row();
+    }
+
+    @Override
+    public int offset() {
+        return this.original.offset();
+    }
+
+    @Override
+    public int column() {
+        return this.original.column();
+    }
 }
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks some read YAML depth-first, after it was read, and rebuilds it
+ * with a {@link NodeFactory}. The read mappings, sequences and scalars
+ * are still created while walking (they are lazy and only point to their
+ * lines), the factory gets their contents and builds its own nodes
+ * bottom-up.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class FactoryNodes {
+
+    /**
+     * The factory.
+     */
+    private final NodeFactory factory;
+
+    /**
+     * Ctor.
+     * @param factory NodeFactory creating the nodes.
+     */
+    FactoryNodes(final NodeFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Rebuild any YAML node.
+     * @param read Read node.
+     * @return Node created by the factory or null, if the read node is null.
+     */
+    YamlNode node(final YamlNode read) {
+        final YamlNode built;
+        if (read == null) {
+            built = null;
+        } else if (read instanceof Scalar) {
+            built = this.factory.scalar((Scalar) read);
+        } else if (read instanceof YamlMapping) {
+            built = this.mapping((YamlMapping) read);
+        } else if (read instanceof YamlSequence) {
+            built = this.sequence((YamlSequence) read);
+        } else {
+            built = this.stream((YamlStream) read);
+        }
+        return built;
+    }
+
+    /**
+     * Rebuild a mapping.
+     * @param read Read mapping.
+     * @return YamlMapping created by the factory.
+     */
+    YamlMapping mapping(final YamlMapping read) {
+        final Map<YamlNode, YamlNode> entries = new LinkedHashMap<>();
+        read.forEach(
+            (key, value) -> entries.put(this.node(key), this.node(value))
+        );
+        final Deferred comment = new Deferred(read);
+        final YamlMapping built = this.factory.mapping(entries, comment);
+        comment.attach(built);
+        return built;
+    }
+
+    /**
+     * Rebuild a sequence.
+     * @param read Read sequence.
+     * @return YamlSequence created by the factory.
+     */
+    YamlSequence sequence(final YamlSequence read) {
+        final List<YamlNode> values = new ArrayList<>();
+        for (final YamlNode value : read.values()) {
+            values.add(this.node(value));
+        }
+        final Deferred comment = new Deferred(read);
+        final YamlSequence built = this.factory.sequence(values, comment);
+        comment.attach(built);
+        return built;
+    }
+
+    /**
+     * Rebuild a stream. The factory creates the documents, the stream
+     * itself is a simple built one.
+     * @param read Read stream.
+     * @return YamlStream.
+     */
+    YamlStream stream(final YamlStream read) {
+        final List<YamlNode> documents = new ArrayList<>();
+        for (final YamlNode document : read.values()) {
+            documents.add(this.node(document));
+        }
+        return new RtYamlStreamBuilder.BuiltYamlStream(documents);
+    }
+
+    /**
+     * Comment of a read node which is looked up only if the factory
+     * actually asks for it. Looking up comments of read nodes means
+     * scanning their lines backwards. It refers to the node built by the
+     * factory, once the factory returned it.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Deferred implements Comment {
+
+        /**
+         * Read node.
+         */
+        private final YamlNode read;
+
+        /**
+         * Node built by the factory.
+         */
+        private YamlNode built;
+
+        /**
+         * Ctor.
+         * @param read Node whose comment this is.
+         */
+        Deferred(final YamlNode read) {
+            this.read = read;
+        }
+
+        /**
+         * Refer to the node built by the factory.
+         * @param node Built node.
+         */
+        void attach(final YamlNode node) {
+            this.built = node;
+        }
+
+        @Override
+        public YamlNode yamlNode() {
+            return this.built;
+        }
+
+        @Override
+        public String value() {
+            return this.read.comment().value();
+        }
+    }
+}
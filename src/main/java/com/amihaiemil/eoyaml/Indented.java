@@ -70,4 +70,19 @@ final class Indented implements YamlLine {
     public int indentation() {
         return this.indentation;
     }
+
+    @Override
+    public int row() {
+        return this.original.row();
+    }
+
+    @Override
+    public int offset() {
+        return this.original.offset();
+    }
+
+    @Override
+    public int column() {
+        return this.original.column();
+    }
 }
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.YamlLimits.Limit;
+import com.amihaiemil.eoyaml.exceptions.YamlLimitException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the {@link YamlLimits} while the lines of the input are first
+ * read, so a hostile input is rejected before any node is built. It only
+ * looks at indentation and at a few chars of each line, it does not parse
+ * anything. This class is not thread-safe, use one instance per read.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class LimitsCheck {
+
+    /**
+     * A line after which a block scalar follows.
+     */
+    private static final Pattern BLOCK_SCALAR = Pattern.compile(
+        "^(?:.*[ ])?[|>][-+1-9]*$"
+    );
+
+    /**
+     * The limits.
+     */
+    private final YamlLimits limits;
+
+    /**
+     * Open indentation levels: the indentation and the number of keys
+     * found at it.
+     */
+    private final Deque<long[]> levels;
+
+    /**
+     * Indentation of the line starting the current block scalar, -1 if
+     * we are not in a block scalar.
+     */
+    private int block;
+
+    /**
+     * Length of the current block scalar.
+     */
+    private long scalar;
+
+    /**
+     * Number of documents found so far.
+     */
+    private long documents;
+
+    /**
+     * Is the current document started (does it have any content)?
+     */
+    private boolean started;
+
+    /**
+     * Ctor.
+     * @param limits The limits to check.
+     */
+    LimitsCheck(final YamlLimits limits) {
+        this.limits = limits;
+        this.levels = new ArrayDeque<>();
+        this.block = -1;
+    }
+
+    /**
+     * Check the size of the input.
+     * @param size Size of the input.
+     */
+    void input(final long size) {
+        if (size > this.limits.max(Limit.INPUT_BYTES)) {
+            throw this.exceeded(
+                Limit.INPUT_BYTES,
+                "Input has more than " + this.limits.max(Limit.INPUT_BYTES)
+                + " bytes."
+            );
+        }
+    }
+
+    /**
+     * Check the next line.
+     * @param line Text of the line.
+     * @param number Number of the line.
+     */
+    void line(final String line, final int number) {
+        if (line.length() > this.limits.max(Limit.LINE_LENGTH)) {
+            throw this.exceeded(
+                Limit.LINE_LENGTH,
+                "Line " + (number + 1) + " has more than "
+                + this.limits.max(Limit.LINE_LENGTH) + " chars."
+            );
+        }
+        int indentation = 0;
+        while (indentation < line.length()
+            && line.charAt(indentation) == ' ') {
+            indentation = indentation + 1;
+        }
+        if (indentation < line.length()) {
+            if (this.block >= 0 && indentation > this.block) {
+                this.scalar = this.scalar + line.length() - indentation + 1;
+                this.scalarLength(this.scalar, number);
+            } else if (line.charAt(indentation) != '#') {
+                this.block = -1;
+                this.node(line.substring(indentation), indentation, number);
+            }
+        }
+    }
+
+    /**
+     * Check a line which is not part of a block scalar or a comment.
+     * @param text Text of the line, without indentation.
+     * @param indentation Indentation of the line.
+     * @param number Number of the line.
+     */
+    private void node(
+        final String text, final int indentation, final int number
+    ) {
+        if (indentation == 0 && text.startsWith("---")) {
+            this.started = false;
+            this.levels.clear();
+        } else if (!(indentation == 0 && text.startsWith("..."))) {
+            if (!this.started) {
+                this.started = true;
+                this.documents = this.documents + 1;
+                if (this.documents > this.limits.max(Limit.DOCUMENTS)) {
+                    throw this.exceeded(
+                        Limit.DOCUMENTS,
+                        "Stream has more than "
+                        + this.limits.max(Limit.DOCUMENTS) + " documents."
+                    );
+                }
+            }
+            this.level(indentation, number);
+            if (LimitsCheck.key(text)) {
+                final long[] level = this.levels.peek();
+                level[1] = level[1] + 1;
+                if (level[1] > this.limits.max(Limit.KEYS)) {
+                    throw this.exceeded(
+                        Limit.KEYS,
+                        "Mapping has more than " + this.limits.max(Limit.KEYS)
+                        + " keys at line " + (number + 1) + "."
+                    );
+                }
+            }
+            this.scalarLength(text.length(), number);
+            if (BLOCK_SCALAR.matcher(text).matches()) {
+                this.block = indentation;
+                this.scalar = 0;
+            }
+        }
+    }
+
+    /**
+     * Close the levels deeper than the given indentation and open a new
+     * level, if it is the case.
+     * @param indentation Indentation of the current line.
+     * @param number Number of the line.
+     */
+    private void level(final int indentation, final int number) {
+        while (!this.levels.isEmpty()
+            && this.levels.peek()[0] > indentation) {
+            this.levels.pop();
+        }
+        if (this.levels.isEmpty() || this.levels.peek()[0] < indentation) {
+            this.levels.push(new long[] {indentation, 0});
+            if (this.levels.size() > this.limits.max(Limit.DEPTH)) {
+                throw this.exceeded(
+                    Limit.DEPTH,
+                    "Nesting is deeper than " + this.limits.max(Limit.DEPTH)
+                    + " levels at line " + (number + 1) + "."
+                );
+            }
+        }
+    }
+
+    /**
+     * Check the length of a scalar.
+     * @param length Length of the scalar.
+     * @param number Number of the line.
+     */
+    private void scalarLength(final long length, final int number) {
+        if (length > this.limits.max(Limit.SCALAR_LENGTH)) {
+            throw this.exceeded(
+                Limit.SCALAR_LENGTH,
+                "Scalar at line " + (number + 1) + " has more than "
+                + this.limits.max(Limit.SCALAR_LENGTH) + " chars."
+            );
+        }
+    }
+
+    /**
+     * Does this text start with a mapping key? It has to be followed
+     * by ':' and a space or the end of the line.
+     * @param text Text of the line, without indentation.
+     * @return True or false.
+     */
+    private static boolean key(final String text) {
+        return text.charAt(0) != '-'
+            && (text.endsWith(":") || text.contains(": "));
+    }
+
+    /**
+     * Exception for an exceeded limit.
+     * @param limit Exceeded limit.
+     * @param message Message.
+     * @return YamlLimitException.
+     */
+    private YamlLimitException exceeded(
+        final Limit limit, final String message
+    ) {
+        return new YamlLimitException(limit, message);
+    }
+}
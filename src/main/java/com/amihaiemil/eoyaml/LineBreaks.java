@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * Finds the line terminators ('\n', '\r' or "\r\n") of a text. Instead
+ * of looking at every char, it jumps from one terminator to the next
+ * with String.indexOf(int, int), which the JVM compiles to a vectorized
+ * search, and it remembers the next '\n' and '\r' it found, so the text
+ * is searched only once for each of them, no matter how many lines
+ * there are.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class LineBreaks {
+
+    /**
+     * The text.
+     */
+    private final String text;
+
+    /**
+     * Index of the next '\n' (or the length of the text, if there is none).
+     */
+    private int feed;
+
+    /**
+     * Index of the next '\r' (or the length of the text, if there is none).
+     */
+    private int carriage;
+
+    /**
+     * Ctor.
+     * @param text The text.
+     */
+    LineBreaks(final String text) {
+        this.text = text;
+        this.feed = -1;
+        this.carriage = -1;
+    }
+
+    /**
+     * Find where the line starting at the given index ends. Lines have to
+     * be asked for in order.
+     * @param start Index where the line starts.
+     * @return Index of the line terminator or the length of the text.
+     */
+    int end(final int start) {
+        if (this.feed < start) {
+            this.feed = this.next('\n', start);
+        }
+        if (this.carriage < start) {
+            this.carriage = this.next('\r', start);
+        }
+        return Math.min(this.feed, this.carriage);
+    }
+
+    /**
+     * Index where the line following the one ending at the given
+     * index starts.
+     * @param end Index where a line ends.
+     * @return Index of the next line.
+     */
+    int next(final int end) {
+        int next = end + 1;
+        if (next < this.text.length() && this.text.charAt(end) == '\r'
+            && this.text.charAt(next) == '\n') {
+            next = next + 1;
+        }
+        return next;
+    }
+
+    /**
+     * Index of the first char of the given line which is not blank
+     * (blank meaning a space, a tab or any other char String.trim()
+     * removes).
+     * @param start Index where the line starts.
+     * @param end Index where the line ends.
+     * @return Index or the end of the line, if the line is blank.
+     */
+    int contents(final int start, final int end) {
+        int index = start;
+        while (index < end && this.text.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Next index of the given char.
+     * @param chr Char to search for.
+     * @param from Index where to start searching.
+     * @return Index or the length of the text, if the char is not found.
+     */
+    private int next(final char chr, final int from) {
+        final int index = this.text.indexOf(chr, from);
+        final int next;
+        if (index < 0) {
+            next = this.text.length();
+        } else {
+            next = index;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lazy CharSequence made of parts of YAML lines, used for the value of
+ * block scalars. The lines are not copied: every part is a view over the
+ * line's text, so the whole value is built only if toString() is called.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class LinesChars implements CharSequence {
+
+    /**
+     * Spaces, for indentation.
+     */
+    private static final String SPACES = "                                ";
+
+    /**
+     * The parts.
+     */
+    private final List<CharSequence> parts;
+
+    /**
+     * Where each part ends, in this CharSequence.
+     */
+    private int[] ends;
+
+    /**
+     * Total length.
+     */
+    private int length;
+
+    /**
+     * Ctor.
+     */
+    LinesChars() {
+        this.parts = new ArrayList<>();
+        this.ends = new int[16];
+    }
+
+    /**
+     * Add a part of a line's text.
+     * @param text Text of the line.
+     * @param start Index where the part starts.
+     * @param end Index where the part ends.
+     * @return This.
+     */
+    LinesChars add(final CharSequence text, final int start, final int end) {
+        if (end > start) {
+            this.add(CharBuffer.wrap(text, start, end));
+        }
+        return this;
+    }
+
+    /**
+     * Add some text.
+     * @param text Text to add.
+     * @return This.
+     */
+    LinesChars add(final CharSequence text) {
+        if (text.length() > 0) {
+            if (this.parts.size() == this.ends.length) {
+                this.ends = Arrays.copyOf(this.ends, this.ends.length * 2);
+            }
+            this.length = this.length + text.length();
+            this.ends[this.parts.size()] = this.length;
+            this.parts.add(text);
+        }
+        return this;
+    }
+
+    /**
+     * Add some spaces.
+     * @param count How many spaces.
+     * @return This.
+     */
+    LinesChars spaces(final int count) {
+        int left = count;
+        while (left > 0) {
+            final int added = Math.min(left, SPACES.length());
+            this.add(SPACES, 0, added);
+            left = left - added;
+        }
+        return this;
+    }
+
+    /**
+     * Does this CharSequence end with the given text?
+     * @param text Text.
+     * @return True or false.
+     */
+    boolean endsWith(final String text) {
+        final int from = this.length - text.length();
+        boolean same = from >= 0;
+        for (int idx = 0; same && idx < text.length(); ++idx) {
+            same = this.charAt(from + idx) == text.charAt(idx);
+        }
+        return same;
+    }
+
+    /**
+     * Reader over these chars.
+     * @return Reader.
+     */
+    Reader reader() {
+        return new PartsReader(this.parts);
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " out of length " + this.length
+            );
+        }
+        int part = Arrays.binarySearch(this.ends, 0, this.parts.size(), index);
+        if (part < 0) {
+            part = -part - 1;
+        } else {
+            part = part + 1;
+        }
+        final int start;
+        if (part == 0) {
+            start = 0;
+        } else {
+            start = this.ends[part - 1];
+        }
+        return this.parts.get(part).charAt(index - start);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > this.length || start > end) {
+            throw new IndexOutOfBoundsException(
+                "Range [" + start + ", " + end + ") out of length "
+                + this.length
+            );
+        }
+        final StringBuilder sub = new StringBuilder(end - start);
+        for (int idx = start; idx < end; ++idx) {
+            sub.append(this.charAt(idx));
+        }
+        return sub.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder all = new StringBuilder(this.length);
+        for (final CharSequence part : this.parts) {
+            all.append(part);
+        }
+        return all.toString();
+    }
+
+    /**
+     * Reader over some parts.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class PartsReader extends Reader {
+
+        /**
+         * The parts.
+         */
+        private final List<CharSequence> parts;
+
+        /**
+         * Current part.
+         */
+        private int part;
+
+        /**
+         * Position in the current part.
+         */
+        private int position;
+
+        /**
+         * Ctor.
+         * @param parts The parts to read.
+         */
+        PartsReader(final List<CharSequence> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int off, final int len) {
+            int read = 0;
+            while (read < len && this.part < this.parts.size()) {
+                final CharSequence current = this.parts.get(this.part);
+                final int count = Math.min(
+                    len - read, current.length() - this.position
+                );
+                for (int idx = 0; idx < count; ++idx) {
+                    buffer[off + read + idx] = current.charAt(
+                        this.position + idx
+                    );
+                }
+                read = read + count;
+                this.position = this.position + count;
+                if (this.position == current.length()) {
+                    this.part = this.part + 1;
+                    this.position = 0;
+                }
+            }
+            final int result;
+            if (read == 0 && len > 0) {
+                result = -1;
+            } else {
+                result = read;
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            this.part = this.parts.size();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Factory of YAML nodes, used when reading YAML. Implement it if you want
+ * the read YAML to be turned directly into your own YamlNode
+ * implementations (domain objects, interned or compact nodes etc), instead
+ * of copying the read nodes afterwards. Use it like this:
+ * <pre>
+ *   final YamlMapping mine = Yaml.createYamlInput(file)
+ *       .readYamlMapping(new MyNodeFactory());
+ * </pre>
+ * The nodes are created bottom-up: the children of a mapping or sequence
+ * are already built by the factory when the mapping or sequence is created.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface NodeFactory {
+
+    /**
+     * Create a YamlMapping.
+     * @param entries Keys and values, in the order they were read. They
+     *  were created by this factory as well.
+     * @param comment Comment referring to the mapping. Its yamlNode() is
+     *  the mapping returned by this method (null until it returns).
+     * @return YamlMapping.
+     */
+    YamlMapping mapping(Map<YamlNode, YamlNode> entries, Comment comment);
+
+    /**
+     * Create a YamlSequence.
+     * @param values Values, in the order they were read. They were created
+     *  by this factory as well.
+     * @param comment Comment referring to the sequence. Its yamlNode() is
+     *  the sequence returned by this method (null until it returns).
+     * @return YamlSequence.
+     */
+    YamlSequence sequence(List<YamlNode> values, Comment comment);
+
+    /**
+     * Create a Scalar.
+     * @param read The Scalar, as it was read. It can be a plain, a folded
+     *  or a literal block scalar.
+     * @return Scalar.
+     */
+    Scalar scalar(Scalar read);
+
+}
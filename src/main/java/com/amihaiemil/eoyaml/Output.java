@@ -0,0 +1,381 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Where YAML is printed. It knows the formatting rules shared by the
+ * printers and writers: indentation, splitting of multi-line values
+ * and comments, quoting of scalars. Everything is written straight to
+ * the underlying Writer, without intermediate Strings.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Output {
+
+    /**
+     * Spaces written for indentation.
+     */
+    private static final String SPACES = Output.spaces();
+
+    /**
+     * Chars which make a plain scalar need quotes.
+     */
+    private static final String SPECIAL = "?-#:>|$%&{}[]";
+
+    /**
+     * Chars which make a plain scalar in a flow collection need quotes.
+     */
+    private static final String FLOW_SPECIAL = Output.SPECIAL + ",";
+
+    /**
+     * Line terminators, as in java.util.regex (where '.' does not match
+     * them).
+     */
+    private static final String TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    /**
+     * Destination.
+     */
+    private final Writer writer;
+
+    /**
+     * Line separator.
+     */
+    private final String separator;
+
+    /**
+     * Ctor. Lines are separated by the system's line separator.
+     * @param writer Destination.
+     */
+    Output(final Writer writer) {
+        this(writer, System.lineSeparator());
+    }
+
+    /**
+     * Ctor.
+     * @param writer Destination.
+     * @param separator Line separator.
+     */
+    Output(final Writer writer, final String separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    /**
+     * Write some text.
+     * @param text Text.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void write(final String text) throws IOException {
+        this.writer.write(text);
+    }
+
+    /**
+     * Write a char.
+     * @param chr Char.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void write(final char chr) throws IOException {
+        this.writer.write(chr);
+    }
+
+    /**
+     * End the current line.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void newLine() throws IOException {
+        this.writer.write(this.separator);
+    }
+
+    /**
+     * Write the given number of spaces.
+     * @param indentation Number of spaces.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void indent(final int indentation) throws IOException {
+        int left = indentation;
+        while (left > 0) {
+            final int chunk = Math.min(left, SPACES.length());
+            this.writer.write(SPACES, 0, chunk);
+            left = left - chunk;
+        }
+    }
+
+    /**
+     * Write a comment, every line of it indented, starting with "# " and
+     * ending with a new line.
+     * @param comment Comment.
+     * @param indentation Indentation.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void comment(final String comment, final int indentation)
+        throws IOException {
+        this.lines(comment, indentation, "# ", true);
+    }
+
+    /**
+     * Write the value of a plain scalar, quoted if it contains special
+     * chars.
+     * @param value Value.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void escaped(final String value) throws IOException {
+        final char quote = Output.quote(value);
+        if (quote == 0) {
+            this.lines(value, 0, "", false);
+        } else {
+            this.writer.write(quote);
+            this.writer.write(value);
+            this.writer.write(quote);
+        }
+    }
+
+    /**
+     * Write the value of a one-line plain scalar in a flow collection,
+     * quoted if it contains special chars, including ','.
+     * @param value Value.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void flowEscaped(final String value) throws IOException {
+        final char quote = Output.quote(value, Output.FLOW_SPECIAL);
+        if (quote != 0) {
+            this.writer.write(quote);
+        }
+        this.writer.write(value);
+        if (quote != 0) {
+            this.writer.write(quote);
+        }
+    }
+
+    /**
+     * Write the value of a scalar in canonical form: plain, if it is
+     * safe, or double-quoted with JSON-like escapes.
+     * @param value Value.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void canonical(final String value) throws IOException {
+        final int length = value.length();
+        final boolean plain = length > 0 && Output.quote(value) == 0
+            && !Output.quoted(value);
+        if (plain && Output.oneLine(value)
+            && value.trim().length() == length) {
+            this.writer.write(value);
+        } else {
+            this.writer.write('"');
+            for (int idx = 0; idx < length; ++idx) {
+                this.canonical(value.charAt(idx));
+            }
+            this.writer.write('"');
+        }
+    }
+
+    /**
+     * Write the lines of the given value, each of them indented and
+     * prefixed. The value is split on the system's line separator (the
+     * builders join lines with it) and the lines are written with this
+     * Output's separator. Trailing empty lines are skipped, just like
+     * String.split(...) would skip them.
+     * @param value Value.
+     * @param indentation Indentation of every line.
+     * @param prefix Written before every line, after the indentation.
+     * @param terminate Should the last line end with a new line, too?
+     * @throws IOException If any I/O problem occurs.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    void lines(
+        final String value,
+        final int indentation,
+        final String prefix,
+        final boolean terminate
+    ) throws IOException {
+        final String split = System.lineSeparator();
+        final int sep = split.length();
+        int end = value.length();
+        while (end >= sep && value.startsWith(split, end - sep)) {
+            end = end - sep;
+        }
+        boolean more = end > 0 || value.isEmpty();
+        int start = 0;
+        while (more) {
+            int next = value.indexOf(split, start);
+            if (next < 0 || next >= end) {
+                next = end;
+                more = false;
+            }
+            this.indent(indentation);
+            this.writer.write(prefix);
+            this.writer.write(value, start, next - start);
+            if (more || terminate) {
+                this.writer.write(this.separator);
+            }
+            start = next + sep;
+        }
+    }
+
+    /**
+     * Write a char of a double-quoted scalar, escaped if needed.
+     * @param chr Char.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void canonical(final char chr) throws IOException {
+        if (chr == '"' || chr == '\\') {
+            this.writer.write('\\');
+            this.writer.write(chr);
+        } else if (chr == '\n') {
+            this.writer.write("\\n");
+        } else if (chr == '\r') {
+            this.writer.write("\\r");
+        } else if (chr == '\t') {
+            this.writer.write("\\t");
+        } else if (chr < ' ' || TERMINATORS.indexOf(chr) >= 0) {
+            this.writer.write(String.format("\\u%04X", (int) chr));
+        } else {
+            this.writer.write(chr);
+        }
+    }
+
+    /**
+     * Another Output, to the given Writer, with the same line separator.
+     * @param other Writer.
+     * @return Output.
+     */
+    Output sibling(final Writer other) {
+        return new Output(other, this.separator);
+    }
+
+    /**
+     * Flush the destination.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    /**
+     * Close the destination.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void close() throws IOException {
+        this.writer.close();
+    }
+
+    /**
+     * Quote needed by a plain scalar's value.
+     * @param value Value of the scalar.
+     * @return Double quote, single quote (if the value contains double
+     *  quotes) or 0, if the value needs no quotes or is already quoted.
+     */
+    static char quote(final String value) {
+        return Output.quote(value, Output.SPECIAL);
+    }
+
+    /**
+     * Is the value on one line?
+     * @param value Value of a scalar.
+     * @return True or false.
+     */
+    static boolean oneLine(final String value) {
+        boolean terminated = false;
+        for (int idx = 0; idx < value.length() && !terminated; ++idx) {
+            terminated = TERMINATORS.indexOf(value.charAt(idx)) >= 0;
+        }
+        return !terminated;
+    }
+
+    /**
+     * Quote needed by a plain scalar's value.
+     * @param value Value of the scalar.
+     * @param special Chars which make the value need quotes.
+     * @return Double quote, single quote (if the value contains double
+     *  quotes) or 0, if the value needs no quotes or is already quoted.
+     */
+    private static char quote(final String value, final String special) {
+        final char quote;
+        if (!Output.quoted(value) && Output.unsafe(value, special)) {
+            if (value.indexOf('"') >= 0) {
+                quote = '\'';
+            } else {
+                quote = '"';
+            }
+        } else {
+            quote = 0;
+        }
+        return quote;
+    }
+
+    /**
+     * Would the value be misread if it was not quoted? It is, if it
+     * contains special chars (and it is on one line) or if it is blank.
+     * @param value Value of a scalar.
+     * @param specials Chars which make the value need quotes.
+     * @return True or false.
+     */
+    private static boolean unsafe(final String value, final String specials) {
+        boolean special = false;
+        boolean terminated = false;
+        boolean blank = !value.isEmpty();
+        for (int idx = 0; idx < value.length(); ++idx) {
+            final char chr = value.charAt(idx);
+            terminated = terminated || TERMINATORS.indexOf(chr) >= 0;
+            special = special || specials.indexOf(chr) >= 0;
+            blank = blank && chr == ' ';
+        }
+        return special && !terminated || blank;
+    }
+
+    /**
+     * Is the value already quoted?
+     * @param value Value of a scalar.
+     * @return True or false.
+     */
+    private static boolean quoted(final String value) {
+        final int length = value.length();
+        boolean quoted = false;
+        if (length > 0) {
+            final char first = value.charAt(0);
+            quoted = (first == '\'' || first == '"')
+                && value.charAt(length - 1) == first;
+        }
+        return quoted;
+    }
+
+    /**
+     * Spaces written for indentation.
+     * @return String of spaces.
+     */
+    private static String spaces() {
+        final char[] spaces = new char[128];
+        Arrays.fill(spaces, ' ');
+        return new String(spaces);
+    }
+}
@@ -27,6 +27,8 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.Reader;
+import java.util.Iterator;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -101,40 +103,73 @@ final class ReadFoldedBlockScalar extends BaseFoldedScalar {
     }
 
     /**
-     * Checks whether StringBuilder do not end with newline or not.
-     * @param builder StringBuilder
-     * @return Boolean Whether builder do not end with newline char or not
+     * Checks whether the chars do not end with newline or not.
+     * @param chars Chars built so far.
+     * @return Boolean Whether chars do not end with newline char or not
      */
-    private boolean doNotEndWithNewLine(final StringBuilder builder) {
-        return builder.length() > 0
-                && !builder.toString().endsWith(System.lineSeparator());
+    private boolean doNotEndWithNewLine(final LinesChars chars) {
+        return chars.length() > 0
+                && !chars.endsWith(System.lineSeparator());
     }
+
     /**
      * Value of this scalar.
      * @return String
      */
     public String value() {
-        StringBuilder builder = new StringBuilder();
+        return this.chars().toString();
+    }
+
+    @Override
+    public LinesChars chars() {
+        final LinesChars chars = new LinesChars();
         final String newLine = System.lineSeparator();
         for(final YamlLine line: this.significant) {
-            if(line.trimmed().length() == 0 || line.indentation() > 0) {
-                if(this.doNotEndWithNewLine(builder)) {
-                    builder.append(newLine);
+            final String trimmed = line.trimmed();
+            if(trimmed.length() == 0 || line.indentation() > 0) {
+                if(this.doNotEndWithNewLine(chars)) {
+                    chars.add(newLine);
                 }
-                int indentation = line.indentation();
-                for(int i = 0; i < indentation; i++) {
-                    builder.append(' ');
-                }
-                builder.append(line.trimmed());
-                builder.append(newLine);
+                chars.spaces(line.indentation()).add(trimmed).add(newLine);
             } else {
-                if(this.doNotEndWithNewLine(builder)) {
-                    builder.append(' ');
+                if(this.doNotEndWithNewLine(chars)) {
+                    chars.add(" ");
                 }
-                builder.append(line.trimmed());
+                chars.add(trimmed);
             }
         }
-        return builder.toString();
+        return chars;
+    }
+
+    @Override
+    public Reader openReader() {
+        return this.chars().reader();
+    }
+
+    /**
+     * Line where this block scalar starts, the one with its indicator
+     * (e.g. "key: |").
+     * @return YamlLine, with number -1 if this scalar is a document.
+     */
+    YamlLine start() {
+        return this.previous;
+    }
+
+    @Override
+    public Mark mark() {
+        final Mark mark;
+        final Iterator<YamlLine> lines = this.significant.iterator();
+        if (this.previous.number() >= 0) {
+            mark = new ReadMark(
+                this.all, this.previous, false,
+                ReadMark.valueShift(this.previous)
+            );
+        } else if (lines.hasNext()) {
+            mark = new ReadMark(this.all, lines.next(), true, 0);
+        } else {
+            mark = null;
+        }
+        return mark;
     }
 
     @Override
@@ -27,6 +27,9 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.Reader;
+import java.util.Iterator;
+
 /**
  * Read Yaml literal block Scalar. This is a Scalar spanning multiple lines.
  * This Scalar's lines will be treated as separate lines and won't be folded
@@ -112,13 +115,52 @@ final class ReadLiteralBlockScalar extends BaseScalar {
      * @return String
      */
     public String value() {
-        StringBuilder builder = new StringBuilder();
+        return this.chars().toString();
+    }
+
+    @Override
+    public LinesChars chars() {
+        final LinesChars chars = new LinesChars();
+        final String newLine = System.lineSeparator();
+        final int previousIndent = Math.max(this.previous.indentation(), 0);
         for (final YamlLine yamlLine: this.significant) {
-            int previousIndent = previous.indentation();
-            builder.append(yamlLine.contents(Math.max(previousIndent, 0)));
-            builder.append(System.lineSeparator());
+            final String value = yamlLine.value();
+            chars.add(
+                value, yamlLine.contentsStart(previousIndent), value.length()
+            ).add(newLine);
+        }
+        return chars;
+    }
+
+    @Override
+    public Reader openReader() {
+        return this.chars().reader();
+    }
+
+    /**
+     * Line where this block scalar starts, the one with its indicator
+     * (e.g. "key: |").
+     * @return YamlLine, with number -1 if this scalar is a document.
+     */
+    YamlLine start() {
+        return this.previous;
+    }
+
+    @Override
+    public Mark mark() {
+        final Mark mark;
+        final Iterator<YamlLine> lines = this.significant.iterator();
+        if (this.previous.number() >= 0) {
+            mark = new ReadMark(
+                this.all, this.previous, false,
+                ReadMark.valueShift(this.previous)
+            );
+        } else if (lines.hasNext()) {
+            mark = new ReadMark(this.all, lines.next(), true, 0);
+        } else {
+            mark = null;
         }
-        return builder.toString();
+        return mark;
     }
 
     @Override
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * Mark of a node read from some YamlLines. It is created only when
+ * asked for and the end line is found only when asked for.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class ReadMark implements Mark {
+
+    /**
+     * All the lines of the document.
+     */
+    private final YamlLines all;
+
+    /**
+     * First line of the node.
+     */
+    private final YamlLine first;
+
+    /**
+     * Do the following lines at the same indentation and of the same
+     * kind (keys or items) belong to the node?
+     */
+    private final boolean siblings;
+
+    /**
+     * Chars between the first line's content and the node's start.
+     */
+    private final int shift;
+
+    /**
+     * Ctor.
+     * @param all All the lines of the document.
+     * @param first First line of the node.
+     * @param siblings Do the following lines at the same indentation and
+     *  of the same kind (keys or items) belong to the node? True for
+     *  mappings and sequences, false for scalars.
+     * @param shift Chars between the first line's content and the
+     *  node's start.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    ReadMark(
+        final YamlLines all,
+        final YamlLine first,
+        final boolean siblings,
+        final int shift
+    ) {
+        this.all = all;
+        this.first = first;
+        this.siblings = siblings;
+        this.shift = shift;
+    }
+
+    @Override
+    public int line() {
+        return this.first.row() + 1;
+    }
+
+    @Override
+    public int column() {
+        return this.first.column() + this.shift;
+    }
+
+    @Override
+    public int offset() {
+        final int offset;
+        if (this.first.offset() < 0) {
+            offset = -1;
+        } else {
+            offset = this.first.offset() + this.shift;
+        }
+        return offset;
+    }
+
+    @Override
+    public int endLine() {
+        int end = this.first.row();
+        final int indentation = this.first.indentation();
+        final boolean item = this.first.trimmed().startsWith("-");
+        boolean after = false;
+        for (final YamlLine line : this.all.original()) {
+            final String trimmed = line.trimmed();
+            if (!after) {
+                after = line.number() == this.first.number();
+            } else if (!trimmed.startsWith("#")) {
+                if (trimmed.startsWith("---") || trimmed.startsWith("...")
+                    || !this.belongs(line, indentation, item)) {
+                    break;
+                }
+                end = line.row();
+            }
+        }
+        return end + 1;
+    }
+
+    @Override
+    public String toString() {
+        return this.line() + ":" + this.column();
+    }
+
+    /**
+     * Chars between the content of a line and its scalar value, which
+     * comes after the key's ':' or the item's '-'.
+     * @param line Line with a scalar.
+     * @return Number of chars.
+     */
+    static int valueShift(final YamlLine line) {
+        final String content = line.value().substring(
+            Math.min(line.indentation(), line.value().length())
+        );
+        int shift = 0;
+        final int colon = content.indexOf(": ");
+        if (content.startsWith("- ")) {
+            shift = 1;
+        } else if (colon > 0) {
+            shift = colon + 1;
+        }
+        if (shift > 0) {
+            while (shift < content.length() && content.charAt(shift) == ' ') {
+                shift = shift + 1;
+            }
+        }
+        return shift;
+    }
+
+    /**
+     * Does the line belong to the node?
+     * @param line Line after the first one.
+     * @param indentation Indentation of the first line.
+     * @param item Is the first line a sequence item?
+     * @return True or false.
+     */
+    private boolean belongs(
+        final YamlLine line, final int indentation, final boolean item
+    ) {
+        return line.indentation() > indentation
+            || this.siblings && line.indentation() == indentation
+            && item == line.trimmed().startsWith("-");
+    }
+}
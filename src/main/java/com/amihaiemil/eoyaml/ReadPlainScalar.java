@@ -129,6 +129,20 @@ final class ReadPlainScalar extends BaseScalar {
         }
     }
 
+    @Override
+    public Mark mark() {
+        final Mark mark;
+        if (this.scalar.number() < 0) {
+            mark = null;
+        } else {
+            mark = new ReadMark(
+                this.all, this.scalar, false,
+                ReadMark.valueShift(this.scalar)
+            );
+        }
+        return mark;
+    }
+
     @Override
     public Comment comment() {
         final Comment comment;
@@ -29,9 +29,20 @@ package com.amihaiemil.eoyaml;
 
 import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +53,7 @@ import static com.amihaiemil.eoyaml.YamlLine.UNKNOWN_LINE_NUMBER;
  * document start/end markers are ignored. This is assumed
  * to be a plain YAML mapping.
  * @checkstyle CyclomaticComplexity (300 lines)
+ * @checkstyle ClassFanOutComplexity (1000 lines)
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -55,6 +67,17 @@ final class ReadYamlMapping extends BaseYamlMapping {
         "^-?\\s*(?<key>.+):(|\\s.*)$"
     );
 
+    /**
+     * Optional tag (e.g. !!binary) before a block scalar indicator.
+     */
+    private static final String TAG = "(?:!!?[^ ]+[ ]+)?";
+
+    /**
+     * Merge key. Its value (a mapping or a sequence of mappings) is
+     * merged into this mapping.
+     */
+    private static final String MERGE = "<<";
+
     /**
      * Yaml line just previous to the one where this mapping starts. E.g.
      * <pre>
@@ -129,6 +152,7 @@ final class ReadYamlMapping extends BaseYamlMapping {
     @Override
     public Set<YamlNode> keys() {
         final Set<YamlNode> keys = new LinkedHashSet<>();
+        boolean merge = false;
         YamlLine prev = new YamlLine.NullYamlLine();
         for (final YamlLine line : this.significant) {
             final String trimmed = line.trimmed();
@@ -146,27 +170,214 @@ final class ReadYamlMapping extends BaseYamlMapping {
                 final Matcher matcher = KEY_PATTERN.matcher(trimmed);
                 if (matcher.matches()) {
                     final String key = matcher.group("key");
-                    if (!key.isEmpty()) {
+                    if (MERGE.equals(key)) {
+                        merge = true;
+                    } else if (!key.isEmpty()) {
                         keys.add(new PlainStringScalar(key));
                     }
                 }
             }
             prev = line;
         }
+        if (merge) {
+            for (final YamlMapping merged : this.merged()) {
+                keys.addAll(merged.keys());
+            }
+        }
         return keys;
     }
 
     @Override
     public YamlNode value(final YamlNode key) {
-        final YamlNode value;
+        YamlNode value;
         if(key instanceof Scalar) {
             value = this.valueOfStringKey(((Scalar) key).value());
+            if (value == null && !MERGE.equals(((Scalar) key).value())) {
+                for (final YamlMapping merged : this.merged()) {
+                    value = merged.value(key);
+                    if (value != null) {
+                        break;
+                    }
+                }
+            }
         } else {
             value = this.valueOfNodeKey(key);
         }
         return value;
     }
 
+    /**
+     * Produce all the key:value pairs in one pass over the lines, instead
+     * of looking up every key separately.
+     * @return Entries, in the order in which they are written.
+     */
+    @Override
+    public Collection<Map.Entry<YamlNode, YamlNode>> entries() {
+        final Map<YamlNode, YamlNode> entries = new LinkedHashMap<>();
+        if (this.scan(entries::putIfAbsent)) {
+            for (final YamlMapping merged : this.merged()) {
+                for (final Map.Entry<YamlNode, YamlNode> entry
+                    : merged.entries()) {
+                    entries.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(entries).entrySet();
+    }
+
+    /**
+     * Visit the entries straight from the lines, without collecting them.
+     * Only if there is a merge key are the own keys collected, to know
+     * which of the merged entries are overridden.
+     * @param visitor Visitor.
+     */
+    @Override
+    public void accept(final YamlVisitor visitor) {
+        visitor.visitMappingStart(this);
+        final BiConsumer<YamlNode, YamlNode> visit = (key, value) -> {
+            visitor.visitKey(key);
+            if (value != null) {
+                value.accept(visitor);
+            }
+        };
+        if (this.scan(visit)) {
+            final Set<YamlNode> visited = new HashSet<>();
+            this.scan((key, value) -> visited.add(key));
+            for (final YamlMapping merged : this.merged()) {
+                merged.forEach(
+                    (key, value) -> {
+                        if (visited.add(key)) {
+                            visit.accept(key, value);
+                        }
+                    }
+                );
+            }
+        }
+        visitor.visitMappingEnd(this);
+    }
+
+    /**
+     * Find the values of all the given keys in one pass over the lines.
+     * Every line is matched against the keys exactly like
+     * {@link #value(YamlNode)} does it: a key may be written plain,
+     * "double" or 'single' quoted, the plain one wins, then the first
+     * line. The keys which are not found are then looked up in the
+     * merged mappings, if any.
+     * @param keys String keys.
+     * @return Found values, in the order of the given keys.
+     */
+    @Override
+    public Map<String, YamlNode> values(final Collection<String> keys) {
+        final Set<String> wanted = new HashSet<>(keys);
+        wanted.add(MERGE);
+        final Map<String, Set<String>> unrelaxed =
+            ReadYamlMapping.unrelaxed(wanted);
+        final Map<String, YamlNode> found = new HashMap<>();
+        final Map<String, Integer> quoting = new HashMap<>();
+        for (final YamlLine line : this.significant) {
+            for (final Map.Entry<String, String> lookup
+                : ReadYamlMapping.lookups(line.trimmed(), wanted, unrelaxed)) {
+                final String key = lookup.getKey();
+                final int quoted = ReadYamlMapping.quoting(
+                    key, lookup.getValue()
+                );
+                if (quoted < quoting.getOrDefault(key, Integer.MAX_VALUE)) {
+                    final YamlNode value = this.valueAt(
+                        line, lookup.getValue()
+                    );
+                    if (value != null) {
+                        found.put(key, value);
+                        quoting.put(key, quoted);
+                    }
+                }
+            }
+        }
+        final Set<String> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(found.keySet());
+        missing.remove(MERGE);
+        if (!missing.isEmpty()) {
+            for (final YamlMapping merged
+                : ReadYamlMapping.merged(found.get(MERGE))) {
+                merged.values(missing).forEach(found::putIfAbsent);
+            }
+        }
+        return ReadYamlMapping.ordered(keys, found);
+    }
+
+    /**
+     * Read the entries written directly in this mapping, the same way
+     * {@link #keys()} and {@link #value(YamlNode)} find them.
+     * @param entries Where the entries are sent, in order.
+     * @return True if this mapping has a merge key, false otherwise.
+     */
+    private boolean scan(final BiConsumer<YamlNode, YamlNode> entries) {
+        boolean merge = false;
+        YamlNode complex = null;
+        YamlLine prev = new YamlLine.NullYamlLine();
+        for (final YamlLine line : this.significant) {
+            final String trimmed = line.trimmed();
+            if (complex != null) {
+                entries.accept(complex, this.complexValue(line, complex));
+                complex = null;
+            } else if ("?".equals(trimmed)) {
+                complex = this.significant.toYamlNode(line);
+                prev = line;
+            } else if (trimmed.contains(":")) {
+                final String written = ReadYamlMapping.writtenKey(line, prev);
+                merge = merge || MERGE.equals(written);
+                if (!written.isEmpty() && !MERGE.equals(written)) {
+                    entries.accept(
+                        new PlainStringScalar(written),
+                        this.valueAt(line, written)
+                    );
+                }
+                if (!trimmed.startsWith(":") && (!trimmed.startsWith("-")
+                    || prev instanceof YamlLine.NullYamlLine)) {
+                    prev = line;
+                }
+            }
+        }
+        return merge;
+    }
+
+    /**
+     * Found values, in the order of the requested keys.
+     * @param keys Requested keys.
+     * @param found Found values.
+     * @return Ordered Map, without the keys which were not found.
+     */
+    private static Map<String, YamlNode> ordered(
+        final Collection<String> keys, final Map<String, YamlNode> found
+    ) {
+        final Map<String, YamlNode> values = new LinkedHashMap<>();
+        for (final String key : keys) {
+            if (found.containsKey(key)) {
+                values.put(key, found.get(key));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Mark mark() {
+        final Iterator<YamlLine> lines = this.significant.iterator();
+        final Mark mark;
+        if (lines.hasNext()) {
+            mark = new ReadMark(this.all, lines.next(), true, 0);
+        } else {
+            mark = null;
+        }
+        return mark;
+    }
+
+    /**
+     * The original lines of this mapping.
+     * @return Verbatim.
+     */
+    Verbatim verbatim() {
+        return new Verbatim(this.previous, this.all);
+    }
+
     @Override
     public Comment comment() {
         boolean documentComment = this.previous.number() < 0;
@@ -212,44 +423,238 @@ final class ReadYamlMapping extends BaseYamlMapping {
      */
     private YamlNode valueOfStringKey(final String key) {
         YamlNode value = null;
-        final String[] keys = new String[] {
+        for(final String tryKey : ReadYamlMapping.variants(key)) {
+            for (final YamlLine line : this.significant) {
+                value = this.valueAt(line, tryKey);
+                if(value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The value found on the given line, if the line has the given key.
+     * @param line Line of this mapping.
+     * @param tryKey Key, as it should be written.
+     * @return YamlNode or null if the line does not have the key.
+     * @checkstyle LineLength (30 lines)
+     */
+    private YamlNode valueAt(final YamlLine line, final String tryKey) {
+        YamlNode value = null;
+        final String trimmed = line.trimmed();
+        final String relaxedKey = relaxed(tryKey);
+        if(trimmed.matches("^-?[ ]*" + Pattern.quote(relaxedKey) + ":")
+            || trimmed.matches("^" + Pattern.quote(relaxedKey) + ":[ ]*" + TAG + ">$")
+            || trimmed.matches("^" + Pattern.quote(relaxedKey) + ":[ ]*" + TAG + "\\|[+-]?$")
+        ) {
+            value = this.significant.toYamlNode(line);
+        } else if (trimmed.matches(relaxedKey + ":[ ]*\\{}")) {
+            value = new EmptyYamlMapping(new ReadYamlMapping(
+                line.number(),
+                this.all.line(line.number()),
+                this.all
+            ));
+        } else if (trimmed.matches(relaxedKey + ":[ ]*\\[]")) {
+            value = new EmptyYamlSequence(new ReadYamlSequence(
+                    this.all.line(line.number()),
+                    this.all
+            ));
+        } else if((trimmed.startsWith(tryKey + ":")
+                || trimmed.startsWith("- " + tryKey + ":"))
+                && trimmed.length() > 1
+        ) {
+            value = this.all.plainOrAlias(line);
+        }
+        return value;
+    }
+
+    /**
+     * Mappings merged into this one with the merge key (&lt;&lt;), in the
+     * order in which they should be looked up.
+     * @return List of YamlMapping, empty if there is no merge key.
+     */
+    private List<YamlMapping> merged() {
+        return ReadYamlMapping.merged(this.valueOfStringKey(MERGE));
+    }
+
+    /**
+     * Mappings merged with the given value of the merge key.
+     * @param value Value of the merge key, null if there is none.
+     * @return List of YamlMapping.
+     */
+    private static List<YamlMapping> merged(final YamlNode value) {
+        final List<YamlMapping> merged = new ArrayList<>();
+        if (value instanceof YamlMapping) {
+            merged.add((YamlMapping) value);
+        } else if (value instanceof YamlSequence) {
+            for (final YamlNode node : (YamlSequence) value) {
+                if (node instanceof YamlMapping) {
+                    merged.add((YamlMapping) node);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The key on the given line, as it is written, the same way
+     * {@link #keys()} finds it.
+     * @param line Line of this mapping.
+     * @param prev Previous line of this mapping.
+     * @return Key or empty String if there is no key on this line.
+     */
+    private static String writtenKey(final YamlLine line, final YamlLine prev) {
+        final String trimmed = line.trimmed();
+        final boolean skip = trimmed.startsWith(":") || "?".equals(trimmed)
+            || trimmed.startsWith("-")
+            && !(prev instanceof YamlLine.NullYamlLine);
+        String key = "";
+        if (!skip) {
+            final Matcher matcher = KEY_PATTERN.matcher(trimmed);
+            if (matcher.matches()) {
+                key = matcher.group("key");
+            }
+        }
+        return key;
+    }
+
+    /**
+     * How is a key written?
+     * @param key Key.
+     * @param variant One of the {@link #variants(String)} of the key.
+     * @return Zero if plain, 1 if double quoted, 2 if single quoted.
+     */
+    private static int quoting(final String key, final String variant) {
+        final int quoting;
+        if (variant.equals(key)) {
+            quoting = 0;
+        } else if (variant.startsWith("\"")) {
+            quoting = 1;
+        } else {
+            quoting = 2;
+        }
+        return quoting;
+    }
+
+    /**
+     * The ways in which a key may be written, in the order in which
+     * they are looked up: plain, "double" and 'single' quoted.
+     * @param key Key.
+     * @return Written keys.
+     */
+    private static String[] variants(final String key) {
+        return new String[] {
             key,
             "\"" + key + "\"",
             "'" + key + "'",
         };
-        for(final String tryKey : keys) {
-            for (final YamlLine line : this.significant) {
-                final String trimmed = line.trimmed();
-                final String relaxedKey = relaxed(tryKey);
-                if(trimmed.matches("^-?[ ]*" + Pattern.quote(relaxedKey) + ":")
-                    || trimmed.matches("^" + Pattern.quote(relaxedKey) + ":[ ]*>$")
-                    || trimmed.matches("^" + Pattern.quote(relaxedKey) + ":[ ]*\\|[+-]?$")
-                ) {
-                    value = this.significant.toYamlNode(line);
-                } else if (trimmed.matches(relaxedKey + ":[ ]*\\{}")) {
-                    value = new EmptyYamlMapping(new ReadYamlMapping(
-                        line.number(),
-                        this.all.line(line.number()),
-                        this.all
-                    ));
-                } else if (trimmed.matches(relaxedKey + ":[ ]*\\[]")) {
-                    value = new EmptyYamlSequence(new ReadYamlSequence(
-                            this.all.line(line.number()),
-                            this.all
-                    ));
-                } else if((trimmed.startsWith(tryKey + ":")
-                        || trimmed.startsWith("- " + tryKey + ":"))
-                        && trimmed.length() > 1
-                ) {
-                    value = new ReadPlainScalar(this.all, line);
-                }
+    }
 
-                if(value != null) {
-                    return value;
+    /**
+     * The keys and their written variants which might be on a line,
+     * according to {@link #valueAt(YamlLine, String)}. These are only
+     * candidates, valueAt decides.
+     * @param trimmed Trimmed line.
+     * @param wanted Wanted keys.
+     * @param unrelaxed Variants of the wanted keys, by their relaxed form.
+     * @return Pairs of key and written variant.
+     */
+    private static List<Map.Entry<String, String>> lookups(
+        final String trimmed, final Set<String> wanted,
+        final Map<String, Set<String>> unrelaxed
+    ) {
+        final Set<String> variants = new LinkedHashSet<>();
+        if (trimmed.endsWith("{}") || trimmed.endsWith("[]")) {
+            for (final String key : wanted) {
+                variants.addAll(Arrays.asList(ReadYamlMapping.variants(key)));
+            }
+        }
+        for (final String written : ReadYamlMapping.writtenKeys(trimmed)) {
+            variants.add(written);
+            variants.addAll(
+                unrelaxed.getOrDefault(written, Collections.emptySet())
+            );
+        }
+        final List<Map.Entry<String, String>> lookups = new ArrayList<>();
+        for (final String variant : variants) {
+            if (wanted.contains(variant)) {
+                lookups.add(new AbstractMap.SimpleEntry<>(variant, variant));
+            }
+            final String unquoted = ReadYamlMapping.unquoted(variant);
+            if (unquoted != null && wanted.contains(unquoted)) {
+                lookups.add(new AbstractMap.SimpleEntry<>(unquoted, variant));
+            }
+        }
+        return lookups;
+    }
+
+    /**
+     * Every text of the line which might be a key: the text before each
+     * colon, from the beginning of the line or after its leading dash
+     * and any of the spaces following it.
+     * @param trimmed Trimmed line.
+     * @return Possible keys, as they are written.
+     */
+    private static Set<String> writtenKeys(final String trimmed) {
+        final Set<String> keys = new HashSet<>();
+        int last = 0;
+        if (trimmed.startsWith("-")) {
+            last = 1;
+            while (last < trimmed.length() && trimmed.charAt(last) == ' ') {
+                last = last + 1;
+            }
+        }
+        for (int from = 0; from <= last; ++from) {
+            int colon = trimmed.indexOf(':', from);
+            while (colon >= 0) {
+                keys.add(trimmed.substring(from, colon));
+                colon = trimmed.indexOf(':', colon + 1);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The wanted keys' variants whose relaxed form is different, by their
+     * relaxed form.
+     * @param wanted Wanted keys.
+     * @return Map of relaxed form to variants.
+     */
+    private static Map<String, Set<String>> unrelaxed(
+        final Set<String> wanted
+    ) {
+        final Map<String, Set<String>> unrelaxed = new HashMap<>();
+        for (final String key : wanted) {
+            for (final String variant : ReadYamlMapping.variants(key)) {
+                final String relaxed = ReadYamlMapping.relaxed(variant);
+                if (!relaxed.equals(variant)) {
+                    unrelaxed.computeIfAbsent(
+                        relaxed, rel -> new HashSet<>()
+                    ).add(variant);
                 }
             }
         }
-        return null;
+        return unrelaxed;
+    }
+
+    /**
+     * The key inside a "double" or 'single' quoted variant.
+     * @param variant Written key.
+     * @return Key or null if the variant is not quoted.
+     */
+    private static String unquoted(final String variant) {
+        final String unquoted;
+        final boolean quoted = variant.startsWith("\"")
+            && variant.endsWith("\"")
+            || variant.startsWith("'") && variant.endsWith("'");
+        if (quoted && variant.length() > 1) {
+            unquoted = variant.substring(1, variant.length() - 1);
+        } else {
+            unquoted = null;
+        }
+        return unquoted;
     }
 
     /**
@@ -258,7 +663,7 @@ final class ReadYamlMapping extends BaseYamlMapping {
      * @param key Provided key.
      * @return Relaxed key for pattern matching.
      */
-    private String relaxed(final String key){
+    private static String relaxed(final String key){
         final String regexEscape;
         if(key.startsWith("\"[") && key.endsWith("]\"")){
             final int openIndex = 1;
@@ -288,27 +693,40 @@ final class ReadYamlMapping extends BaseYamlMapping {
             if("?".equals(trimmed)) {
                 final YamlNode keyNode = this.significant.toYamlNode(line);
                 if(keyNode.equals(key)) {
-                    final YamlLine colonLine = linesIt.next();
-                    if(":".equals(colonLine.trimmed())
-                        || colonLine.trimmed().matches("^\\:[ ]*\\>$")
-                        || colonLine.trimmed().matches("^\\:[ ]*\\|$")
-                    ) {
-                        value = this.significant.toYamlNode(colonLine);
-                    } else if(colonLine.trimmed().startsWith(":")
-                        && (colonLine.trimmed().length() > 1)
-                    ){
-                        value = new ReadPlainScalar(this.all, colonLine);
-                    } else {
-                        throw new YamlReadingException(
-                            "No value found for existing complex key: "
-                          + System.lineSeparator()
-                          + key.toString()
-                        );
-                    }
+                    value = this.complexValue(linesIt.next(), key);
                     break;
                 }
             }
         }
         return value;
     }
+
+    /**
+     * The value of a complex key, written on the line following the key.
+     * @param colonLine Line after the complex key, starting with ':'.
+     * @param key Complex key.
+     * @return YamlNode.
+     */
+    private YamlNode complexValue(
+        final YamlLine colonLine, final YamlNode key
+    ) {
+        final YamlNode value;
+        if(":".equals(colonLine.trimmed())
+            || colonLine.trimmed().matches("^\\:[ ]*\\>$")
+            || colonLine.trimmed().matches("^\\:[ ]*\\|$")
+        ) {
+            value = this.significant.toYamlNode(colonLine);
+        } else if(colonLine.trimmed().startsWith(":")
+            && (colonLine.trimmed().length() > 1)
+        ){
+            value = this.all.plainOrAlias(colonLine);
+        } else {
+            throw new YamlReadingException(
+                "No value found for existing complex key: "
+              + System.lineSeparator()
+              + key.toString()
+            );
+        }
+        return value;
+    }
 }
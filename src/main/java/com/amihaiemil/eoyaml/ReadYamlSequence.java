@@ -28,8 +28,10 @@
 package com.amihaiemil.eoyaml;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * YamlSequence read from somewhere.
@@ -100,11 +102,31 @@ final class ReadYamlSequence extends BaseYamlSequence {
 
     /**
      * Retrieve the values of this sequence.
-     * @checkstyle CyclomaticComplexity (200 lines)
      */
     @Override
     public Collection<YamlNode> values() {
         final List<YamlNode> kids = new LinkedList<>();
+        this.kids(kids::add);
+        return kids;
+    }
+
+    /**
+     * Visit the values straight from the lines, without collecting them.
+     * @param visitor Visitor.
+     */
+    @Override
+    public void accept(final YamlVisitor visitor) {
+        visitor.visitSequenceStart(this);
+        this.kids(kid -> kid.accept(visitor));
+        visitor.visitSequenceEnd(this);
+    }
+
+    /**
+     * Read the values of this sequence, in order.
+     * @param kids Where the values are sent.
+     * @checkstyle CyclomaticComplexity (200 lines)
+     */
+    private void kids(final Consumer<YamlNode> kids) {
         final boolean foldedSequence = this.previous.trimmed().matches(
             "^.*\\|.*\\-$"
         );
@@ -115,15 +137,15 @@ final class ReadYamlSequence extends BaseYamlSequence {
                     || trimmed.endsWith("|")
                     || trimmed.endsWith(">")
                 ) {
-                    kids.add(this.significant.toYamlNode(line));
+                    kids.accept(this.significant.toYamlNode(line));
                 } else if (trimmed.matches("^-[ ]*\\{}")) {
-                    kids.add(new EmptyYamlMapping(new ReadYamlMapping(
+                    kids.accept(new EmptyYamlMapping(new ReadYamlMapping(
                         line.number(),
                         this.all.line(line.number()),
                         this.all
                     )));
                 } else if (trimmed.matches("^-[ ]*\\[]")) {
-                    kids.add(new EmptyYamlSequence(new ReadYamlSequence(
+                    kids.accept(new EmptyYamlSequence(new ReadYamlSequence(
                             this.all.line(line.number()),
                             this.all
                     )));
@@ -135,7 +157,7 @@ final class ReadYamlSequence extends BaseYamlSequence {
                         } else {
                             dashMapPrevious = this.all.line(line.number() - 1);
                         }
-                        kids.add(
+                        kids.accept(
                             new ReadYamlMapping(
                                 line.number() + 1,
                                 dashMapPrevious,
@@ -143,12 +165,31 @@ final class ReadYamlSequence extends BaseYamlSequence {
                             )
                         );
                     } else {
-                        kids.add(new ReadPlainScalar(this.all, line));
+                        kids.accept(this.all.plainOrAlias(line));
                     }
                 }
             }
         }
-        return kids;
+    }
+
+    @Override
+    public Mark mark() {
+        final Iterator<YamlLine> lines = this.significant.iterator();
+        final Mark mark;
+        if (lines.hasNext()) {
+            mark = new ReadMark(this.all, lines.next(), true, 0);
+        } else {
+            mark = null;
+        }
+        return mark;
+    }
+
+    /**
+     * The original lines of this sequence.
+     * @return Verbatim.
+     */
+    Verbatim verbatim() {
+        return new Verbatim(this.previous, this.all);
     }
 
     @Override
@@ -49,6 +49,11 @@ final class ReadYamlStream extends BaseYamlStream {
      */
     private final YamlLines startMarkers;
 
+    /**
+     * Limits to respect while reading the documents.
+     */
+    private final YamlLimits limits;
+
     /**
      * Constructor.
      * @param lines All YAML lines as they are read from the input.
@@ -67,6 +72,7 @@ final class ReadYamlStream extends BaseYamlStream {
             lines,
             line -> line.trimmed().startsWith("%")
         );
+        this.limits = lines.limits();
     }
 
     @Override
@@ -110,7 +116,7 @@ final class ReadYamlStream extends BaseYamlStream {
                 }
             }
         }
-        return new AllYamlLines(yamlDocLines);
+        return new AllYamlLines(yamlDocLines, this.limits);
     }
 
 }
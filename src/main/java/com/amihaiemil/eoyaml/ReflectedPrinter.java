@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Prints Java objects (beans, Maps, Collections, arrays and scalars) as
+ * YAML, straight from the objects, the way {@link RtYamlPrinter} prints
+ * the nodes of a {@link ReflectedYamlDump}. No YamlNode is created: the
+ * getters of every bean class are found once, see {@link ReflectedType}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class ReflectedPrinter {
+
+    /**
+     * Where the YAML is printed.
+     */
+    private final Output output;
+
+    /**
+     * Indentation step.
+     */
+    private final int step;
+
+    /**
+     * Ctor.
+     * @param output Where the YAML is printed.
+     * @param step Indentation step.
+     */
+    ReflectedPrinter(final Output output, final int step) {
+        this.output = output;
+        this.step = step;
+    }
+
+    /**
+     * Print an object as a document of a stream.
+     * @param object Object.
+     * @throws IOException If an I/O problem occurs.
+     */
+    void printDocument(final Object object) throws IOException {
+        this.output.write("---");
+        if (ReflectedPrinter.blank(object)) {
+            this.output.write(" null");
+        } else if (ReflectedType.typeOf(object).kind() == Node.SCALAR) {
+            this.output.newLine();
+            this.output.escaped(String.valueOf(object));
+        } else {
+            this.printNode(object, this.step);
+        }
+    }
+
+    /**
+     * Print an object after a key or a dash: a scalar on the same line,
+     * a sequence or a mapping on the next lines.
+     * @param object Object.
+     * @param indentation Indentation of a sequence or mapping.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printNode(
+        final Object object,
+        final int indentation
+    ) throws IOException {
+        if (ReflectedPrinter.blank(object)) {
+            this.output.write(" null");
+        } else {
+            final ReflectedType type = ReflectedType.typeOf(object);
+            if (type.kind() == Node.SCALAR) {
+                this.output.write(' ');
+                this.output.escaped(String.valueOf(object));
+            } else if (type.kind() == Node.SEQUENCE) {
+                this.printSequence(object, indentation);
+            } else {
+                this.printMapping(object, type, indentation);
+            }
+        }
+    }
+
+    /**
+     * Print a Collection or an array.
+     * @param sequence Collection or array.
+     * @param indentation Indentation of the elements.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printSequence(
+        final Object sequence,
+        final int indentation
+    ) throws IOException {
+        if (sequence instanceof Collection) {
+            final Iterator<?> elements = ((Collection<?>) sequence).iterator();
+            if (!elements.hasNext()) {
+                this.output.write(" []");
+            }
+            while (elements.hasNext()) {
+                this.printElement(elements.next(), indentation);
+            }
+        } else {
+            final int length = Array.getLength(sequence);
+            if (length == 0) {
+                this.output.write(" []");
+            }
+            for (int idx = 0; idx < length; ++idx) {
+                this.printElement(Array.get(sequence, idx), indentation);
+            }
+        }
+    }
+
+    /**
+     * Print a Map or a bean.
+     * @param mapping Map or bean.
+     * @param type Its type.
+     * @param indentation Indentation of the keys.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printMapping(
+        final Object mapping,
+        final ReflectedType type,
+        final int indentation
+    ) throws IOException {
+        if (mapping instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) mapping;
+            if (map.isEmpty()) {
+                this.output.write(" {}");
+            }
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                this.printKey(entry.getKey(), indentation);
+                this.printNode(entry.getValue(), indentation + this.step);
+            }
+        } else {
+            if (type.size() == 0) {
+                this.output.write(" {}");
+            }
+            for (int idx = 0; idx < type.size(); ++idx) {
+                this.printKey(type.key(idx), indentation);
+                this.printNode(
+                    type.value(mapping, idx), indentation + this.step
+                );
+            }
+        }
+    }
+
+    /**
+     * Print an element of a sequence, on a new line.
+     * @param element Element.
+     * @param indentation Indentation of the sequence.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printElement(
+        final Object element,
+        final int indentation
+    ) throws IOException {
+        this.output.newLine();
+        this.output.indent(indentation);
+        this.output.write('-');
+        this.printNode(element, indentation + this.step);
+    }
+
+    /**
+     * Print a key of a mapping, on a new line, followed by ':'. Keys
+     * which are not scalars are printed as complex keys, after '?'.
+     * @param key Key.
+     * @param indentation Indentation of the mapping.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printKey(
+        final Object key,
+        final int indentation
+    ) throws IOException {
+        this.output.newLine();
+        this.output.indent(indentation);
+        if (key == null) {
+            this.output.write("null");
+        } else if (ReflectedType.typeOf(key).kind() == Node.SCALAR) {
+            this.output.escaped(String.valueOf(key));
+        } else {
+            this.output.write('?');
+            this.printNode(key, indentation + this.step);
+            this.output.newLine();
+            this.output.indent(indentation);
+        }
+        this.output.write(':');
+    }
+
+    /**
+     * Is the object printed as null? It is if it is null or if it is an
+     * empty scalar, like an empty ReflectedYamlScalar.
+     * @param object Object.
+     * @return True or false.
+     */
+    private static boolean blank(final Object object) {
+        return object == null
+            || object instanceof String && ((String) object).isEmpty();
+    }
+}
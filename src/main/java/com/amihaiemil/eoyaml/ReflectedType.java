@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a Java class is in YAML: a scalar, a sequence (Collection or array)
+ * or a mapping (Map or bean). The getters of a bean class, which give the
+ * keys and values of its mappings, are looked up only once per class, the
+ * same way {@link ReflectedYamlMapping} looks them up every time.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class ReflectedType {
+
+    /**
+     * Types, per class.
+     */
+    private static final ClassValue<ReflectedType> TYPES =
+        new ClassValue<ReflectedType>() {
+            @Override
+            protected ReflectedType computeValue(final Class<?> type) {
+                return new ReflectedType(type);
+            }
+        };
+
+    /**
+     * Kind of node: SCALAR, SEQUENCE or MAPPING.
+     */
+    private final Node kind;
+
+    /**
+     * Keys of a bean's mapping.
+     */
+    private final String[] keys;
+
+    /**
+     * Getters giving the values of a bean's mapping.
+     */
+    private final Method[] getters;
+
+    /**
+     * Ctor.
+     * @param type Class.
+     */
+    private ReflectedType(final Class<?> type) {
+        final List<Method> found = new ArrayList<>();
+        if (ReflectedYamlDump.SCALAR_TYPES.contains(type)) {
+            this.kind = Node.SCALAR;
+        } else if (Collection.class.isAssignableFrom(type)
+            || type.isArray()) {
+            this.kind = Node.SEQUENCE;
+        } else {
+            this.kind = Node.MAPPING;
+            if (!Map.class.isAssignableFrom(type)) {
+                ReflectedType.getters(type, found);
+            }
+        }
+        this.getters = found.toArray(new Method[0]);
+        this.keys = new String[this.getters.length];
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            this.keys[idx] = new ReflectedYamlMapping.MethodKey(
+                this.getters[idx]
+            ).value();
+        }
+    }
+
+    /**
+     * Type of the given object.
+     * @param object Object, not null.
+     * @return ReflectedType.
+     */
+    static ReflectedType typeOf(final Object object) {
+        return ReflectedType.TYPES.get(object.getClass());
+    }
+
+    /**
+     * Kind of node the objects of this type are.
+     * @return SCALAR, SEQUENCE or MAPPING.
+     */
+    Node kind() {
+        return this.kind;
+    }
+
+    /**
+     * Number of keys of a bean's mapping.
+     * @return Number of getters.
+     */
+    int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Key of a bean's mapping.
+     * @param index Index of the getter.
+     * @return Key.
+     */
+    String key(final int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * Value of a bean's mapping.
+     * @param bean Bean of this type.
+     * @param index Index of the getter.
+     * @return Result of the getter.
+     */
+    Object value(final Object bean, final int index) {
+        try {
+            return this.getters[index].invoke(bean);
+        } catch (final IllegalAccessException iae) {
+            throw new IllegalStateException(iae);
+        } catch (final InvocationTargetException ite) {
+            throw new IllegalStateException(ite);
+        }
+    }
+
+    /**
+     * Find the public getters of a bean class: public methods without
+     * parameters which return something. Getters giving the same key
+     * (e.g. bridge methods) are taken only once.
+     * @param type Bean class.
+     * @param found Where the getters are added.
+     */
+    private static void getters(final Class<?> type, final List<Method> found) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (final Method method : type.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers())
+                && method.getParameterCount() == 0
+                && !method.getReturnType().equals(Void.TYPE)
+                && names.add(new ReflectedYamlMapping.MethodKey(method).value())
+            ) {
+                found.add(method);
+            }
+        }
+    }
+}
@@ -43,7 +43,7 @@ final class ReflectedYamlDump implements YamlDump {
     /**
      * If the value is any of these types, it is a Scalar.
      */
-    private static final List<Class> SCALAR_TYPES = Arrays.asList(
+    static final List<Class> SCALAR_TYPES = Arrays.asList(
         Integer.class, Long.class, Float.class, Double.class, Short.class,
         String.class, Boolean.class, Character.class, Byte.class
     );
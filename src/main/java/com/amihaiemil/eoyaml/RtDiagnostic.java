@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Diagnostic implementation. "Rt" stands for "Runtime".
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class RtDiagnostic implements Diagnostic {
+
+    /**
+     * Kind of the problem.
+     */
+    private final Kind kind;
+
+    /**
+     * Line (count starts from 1).
+     */
+    private final int line;
+
+    /**
+     * Column (count starts from 1).
+     */
+    private final int column;
+
+    /**
+     * Description of the problem.
+     */
+    private final String message;
+
+    /**
+     * Line mentioned in the message of a reading exception.
+     */
+    private static final Pattern LINE = Pattern.compile("line (\\d+)");
+
+    /**
+     * Ctor. The line is the first one mentioned in the message of
+     * the exception, or 0 if there is none. The column is unknown (0).
+     * @param kind Kind of the problem.
+     * @param problem Exception which stopped the reading.
+     */
+    RtDiagnostic(final Kind kind, final RuntimeException problem) {
+        this(
+            kind, RtDiagnostic.lineOf(problem.getMessage()), 0,
+            String.valueOf(problem.getMessage())
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param kind Kind of the problem.
+     * @param line Line (count starts from 1).
+     * @param column Column (count starts from 1).
+     * @param message Description of the problem.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    RtDiagnostic(
+        final Kind kind, final int line, final int column, final String message
+    ) {
+        this.kind = kind;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    @Override
+    public Kind kind() {
+        return this.kind;
+    }
+
+    @Override
+    public int line() {
+        return this.line;
+    }
+
+    @Override
+    public int column() {
+        return this.column;
+    }
+
+    @Override
+    public String message() {
+        return this.message;
+    }
+
+    @Override
+    public String toString() {
+        return this.line + ":" + this.column
+            + " [" + this.kind + "] " + this.message;
+    }
+    /**
+     * First line mentioned in the given message.
+     * @param message Message of a reading exception, may be null.
+     * @return Line number or 0 if the message mentions none.
+     */
+    private static int lineOf(final String message) {
+        int line = 0;
+        if (message != null) {
+            final Matcher matcher = RtDiagnostic.LINE.matcher(message);
+            if (matcher.find()) {
+                line = Integer.parseInt(matcher.group(1));
+            }
+        }
+        return line;
+    }
+}
@@ -27,14 +27,16 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.io.BufferedReader;
+import com.amihaiemil.eoyaml.exceptions.YamlLimitException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.regex.Pattern;
 
 /**
  * Implementation for {@link YamlInput}. "Rt" stands for "Runtime".
@@ -44,17 +46,86 @@ import java.util.stream.Stream;
  */
 final class RtYamlInput implements YamlInput {
 
+    /**
+     * A sequence marker followed by a key:value pair on the same line.
+     */
+    private static final Pattern DASH_MAPPING = Pattern.compile(
+        "^\\s*-.+:\\s.*$"
+    );
+
+    /**
+     * A sequence marker followed by a double-quoted scalar.
+     */
+    private static final Pattern DASH_DOUBLE_QUOTED = Pattern.compile(
+        "^\\s*-\\s*\".*\"$"
+    );
+
+    /**
+     * A sequence marker followed by a single-quoted scalar.
+     */
+    private static final Pattern DASH_SINGLE_QUOTED = Pattern.compile(
+        "^\\s*-\\s*'.*'$"
+    );
+
     /**
      * Source of the input.
      */
-    private final InputStream source;
+    private final Text source;
+
+    /**
+     * Limits to respect while reading.
+     */
+    private final YamlLimits limits;
 
     /**
      * Ctor.
      * @param source Given source.
      */
     RtYamlInput(final InputStream source) {
+        this(source, new YamlLimits());
+    }
+
+    /**
+     * Ctor.
+     * @param source Given source.
+     * @param limits Limits to respect while reading.
+     */
+    RtYamlInput(final InputStream source, final YamlLimits limits) {
+        this(
+            new StreamText(
+                source, limits.max(YamlLimits.Limit.INPUT_BYTES)
+            ),
+            limits
+        );
+    }
+
+    /**
+     * Ctor. The characters are parsed directly, there is no need
+     * to encode them into bytes first.
+     * @param source Given source.
+     */
+    RtYamlInput(final CharSequence source) {
+        this(source, new YamlLimits());
+    }
+
+    /**
+     * Ctor. The characters are parsed directly, there is no need
+     * to encode them into bytes first.
+     * @param source Given source.
+     * @param limits Limits to respect while reading.
+     */
+    RtYamlInput(final CharSequence source, final YamlLimits limits) {
+        this(() -> source, limits);
+    }
+
+    /**
+     * Ctor.
+     * @param source Given source.
+     * @param limits Limits to respect while reading.
+     */
+    RtYamlInput(final Text source, final YamlLimits limits) {
         this.source = source;
+        this.limits = limits;
     }
 
     @Override
@@ -102,63 +173,116 @@ final class RtYamlInput implements YamlInput {
         return new ReadLiteralBlockScalar(this.readInput());
     }
 
+    @Override
+    public List<Diagnostic> diagnose() throws IOException {
+        return new Diagnosis(this.readInput()).problems();
+    }
+
     /**
-     * Read the input's lines.
+     * Read the input's lines. Lines are delimited the same way
+     * BufferedReader.readLine() delimits them: by '\n', '\r' or "\r\n".
      * @return All read YamlLines
      * @throws IOException If something goes wrong while reading the input.
      * @todo #447:60min Refactor solution for #447 by using lines iterators.
      */
     private AllYamlLines readInput() throws IOException {
+        final String text = this.source.read().toString();
+        final LimitsCheck check = new LimitsCheck(this.limits);
+        check.input(text.length());
         final List<YamlLine> lines = new ArrayList<>();
-        try (
-            BufferedReader reader = new BufferedReader(
-                new InputStreamReader(this.source)
-            )
-        ) {
-            String line;
-            int number = 0;
-            while ((line = reader.readLine()) != null) {
-
-                if (this.mappingStartsAtDash(line)) {
-
-                    // if line starts with a sequence ("-") and the first
-                    // key:value is unescaped and on the same line with the
-                    // sequence marker, then split the line by keeping the "-"
-                    // on the same indentation and move the key:value on the
-                    // next line with correct indentation relative to "-".
-                    // see bug:
-                    // https://github.com/decorators-squad/eo-yaml/issues/447
-
-                    final String seqIndent = Stream.iterate(" ", s -> s)
-                        .limit(new RtYamlLine(line, number).indentation())
-                        .reduce((acc, space) -> acc + space)
-                        .orElse("");
-                    final YamlLine sequenceLine = new RtYamlLine(
-                        seqIndent + "-",
-                        number
+        final LineBreaks breaks = new LineBreaks(text);
+        int start = 0;
+        int number = 0;
+        int row = 0;
+        while (start < text.length()) {
+            final int end = breaks.end(start);
+            final int contents = breaks.contents(start, end);
+            if (contents < end) {
+                final String line = text.substring(start, end);
+                if (text.charAt(contents) == '-'
+                    && this.mappingStartsAtDash(line)) {
+                    number = this.splitDashMapping(
+                        line, number, row, start, lines, check
                     );
-                    lines.add(sequenceLine);
-
-                    // 2 spaces offset
-                    final String offset = "  ";
-                    final String keyValueIndent = seqIndent + offset;
-                    final YamlLine keyValueLine = new RtYamlLine(
-                        keyValueIndent + line.split("-", 2)[1].trim(),
-                        ++number
-                    );
-                    if (!keyValueLine.toString().trim().isEmpty()) {
-                        lines.add(keyValueLine);
-                    }
                 } else {
-                    final YamlLine current = new RtYamlLine(line, number);
-                    if (!current.toString().trim().isEmpty()) {
-                        lines.add(current);
-                    }
+                    check.line(line, number);
+                    lines.add(
+                        new RtYamlLine(
+                            line, number, row,
+                            start + RtYamlInput.spaces(line, 0), -1
+                        )
+                    );
                 }
-                number++;
             }
+            number++;
+            row++;
+            start = breaks.next(end);
         }
-        return new AllYamlLines(lines);
+        return new AllYamlLines(lines, this.limits);
+    }
+
+    /**
+     * If line starts with a sequence ("-") and the first key:value is
+     * unescaped and on the same line with the sequence marker, then split
+     * the line by keeping the "-" on the same indentation and move the
+     * key:value on the next line with correct indentation relative to "-".
+     * See bug https://github.com/decorators-squad/eo-yaml/issues/447
+     * @param line Line to split.
+     * @param number Number of the line.
+     * @param row Number of the line in the input.
+     * @param start Offset of the line in the input.
+     * @param lines Read lines, where the split lines are added.
+     * @param check Limits check.
+     * @return Number of the last added line.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private int splitDashMapping(
+        final String line,
+        final int number,
+        final int row,
+        final int start,
+        final List<YamlLine> lines,
+        final LimitsCheck check
+    ) {
+        final String seqIndent = line.substring(
+            0, RtYamlInput.spaces(line, 0)
+        );
+        lines.add(
+            new RtYamlLine(
+                seqIndent + "-", number, row, start + seqIndent.length(), -1
+            )
+        );
+        check.line(seqIndent + "-", number);
+
+        // 2 spaces offset
+        final String keyValueIndent = seqIndent + "  ";
+        final int key = RtYamlInput.spaces(line, seqIndent.length() + 1);
+        final YamlLine keyValueLine = new RtYamlLine(
+            keyValueIndent + line.split("-", 2)[1].trim(),
+            number + 1,
+            row,
+            start + key,
+            key + 1
+        );
+        if (!keyValueLine.toString().trim().isEmpty()) {
+            check.line(keyValueLine.value(), number + 1);
+            lines.add(keyValueLine);
+        }
+        return number + 1;
+    }
+
+    /**
+     * Skip the spaces of a line.
+     * @param line Line.
+     * @param from Index where to start.
+     * @return Index of the first char which is not a space.
+     */
+    private static int spaces(final String line, final int from) {
+        int index = from;
+        while (index < line.length() && line.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
     }
 
     /**
@@ -176,8 +300,155 @@ final class RtYamlInput implements YamlInput {
     private boolean mappingStartsAtDash(final String line){
         //line without indentation.
         final String trimmed = line.trim();
-        final boolean escapedScalar = trimmed.matches("^\\s*-\\s*\".*\"$")
-            || trimmed.matches("^\\s*-\\s*'.*'$");
-        return trimmed.matches("^\\s*-.+:\\s.*$") && !escapedScalar;
+        final boolean escapedScalar =
+            DASH_DOUBLE_QUOTED.matcher(trimmed).matches()
+            || DASH_SINGLE_QUOTED.matcher(trimmed).matches();
+        return DASH_MAPPING.matcher(trimmed).matches() && !escapedScalar;
+    }
+
+    /**
+     * Text of a YAML input. It is read only when the YAML is actually read.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    interface Text {
+
+        /**
+         * Read the whole text.
+         * @return Characters of the input.
+         * @throws IOException If the text cannot be read.
+         */
+        CharSequence read() throws IOException;
+    }
+
+    /**
+     * Text read from an InputStream. The char buffer used while reading is
+     * kept per thread and reused between reads, so parsing many small
+     * inputs on the same thread does not allocate a new one every time.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    static final class StreamText implements Text {
+
+        /**
+         * Reusable read buffer, one per thread.
+         */
+        private static final ThreadLocal<char[]> BUFFER =
+            ThreadLocal.withInitial(() -> new char[8192]);
+
+        /**
+         * The stream.
+         */
+        private final InputStream stream;
+
+        /**
+         * Maximum number of bytes to read.
+         */
+        private final long max;
+
+        /**
+         * Ctor.
+         * @param stream InputStream to read.
+         */
+        StreamText(final InputStream stream) {
+            this(stream, Long.MAX_VALUE);
+        }
+
+        /**
+         * Ctor.
+         * @param stream InputStream to read.
+         * @param max Maximum number of bytes to read. If the stream
+         *  has more, reading fails as soon as the limit is passed.
+         */
+        StreamText(final InputStream stream, final long max) {
+            this.stream = stream;
+            this.max = max;
+        }
+
+        @Override
+        public CharSequence read() throws IOException {
+            final StringBuilder text = new StringBuilder();
+            final char[] buffer = BUFFER.get();
+            final InputStream bytes;
+            if (this.max == Long.MAX_VALUE) {
+                bytes = this.stream;
+            } else {
+                bytes = new Bounded(this.stream, this.max);
+            }
+            try (Reader reader = new InputStreamReader(bytes)) {
+                int read = reader.read(buffer);
+                while (read != -1) {
+                    text.append(buffer, 0, read);
+                    read = reader.read(buffer);
+                }
+            }
+            return text;
+        }
+    }
+
+    /**
+     * InputStream which fails as soon as more than a given number of
+     * bytes is read from it.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    static final class Bounded extends FilterInputStream {
+
+        /**
+         * Maximum number of bytes.
+         */
+        private final long max;
+
+        /**
+         * Bytes read so far.
+         */
+        private long count;
+
+        /**
+         * Ctor.
+         * @param stream Decorated InputStream.
+         * @param max Maximum number of bytes.
+         */
+        Bounded(final InputStream stream, final long max) {
+            super(stream);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read != -1) {
+                this.counted(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(
+            final byte[] bytes, final int off, final int len
+        ) throws IOException {
+            final int read = super.read(bytes, off, len);
+            if (read > 0) {
+                this.counted(read);
+            }
+            return read;
+        }
+
+        /**
+         * Count the read bytes.
+         * @param read Number of bytes just read.
+         */
+        private void counted(final int read) {
+            this.count = this.count + read;
+            if (this.count > this.max) {
+                throw new YamlLimitException(
+                    YamlLimits.Limit.INPUT_BYTES,
+                    "Input has more than " + this.max + " bytes."
+                );
+            }
+        }
     }
 }
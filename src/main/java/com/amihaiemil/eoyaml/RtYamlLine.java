@@ -47,14 +47,52 @@ final class RtYamlLine implements YamlLine {
      */
     private int number;
 
+    /**
+     * Number of the line in the input.
+     */
+    private final int row;
+
+    /**
+     * Offset of the first char after indentation in the input.
+     */
+    private final int offset;
+
+    /**
+     * Column of the first char after indentation in the input.
+     */
+    private final int column;
+
     /**
      * Ctor.
      * @param value Contents of this line.
      * @param number Number of the line.
      */
     RtYamlLine(final String value, final int number) {
+        this(value, number, number, -1, -1);
+    }
+
+    /**
+     * Ctor.
+     * @param value Contents of this line.
+     * @param number Number of the line.
+     * @param row Number of the line in the input.
+     * @param offset Offset of the first char after indentation in the input.
+     * @param column Column of the first char after indentation in the input,
+     *  -1 if it is the same as in the value.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    RtYamlLine(
+        final String value,
+        final int number,
+        final int row,
+        final int offset,
+        final int column
+    ) {
         this.value = value;
         this.number = number;
+        this.row = row;
+        this.offset = offset;
+        this.column = column;
     }
 
     @Override
@@ -76,6 +114,27 @@ final class RtYamlLine implements YamlLine {
         return index;
     }
 
+    @Override
+    public int row() {
+        return this.row;
+    }
+
+    @Override
+    public int offset() {
+        return this.offset;
+    }
+
+    @Override
+    public int column() {
+        final int col;
+        if (this.column < 0) {
+            col = this.indentation() + 1;
+        } else {
+            col = this.column;
+        }
+        return col;
+    }
+
     @Override
     public String toString() {
         return this.value;
@@ -82,6 +82,11 @@ final class RtYamlMapping extends BaseYamlMapping {
         return this.mappings.get(key);
     }
 
+    @Override
+    public Collection<Map.Entry<YamlNode, YamlNode>> entries() {
+        return Collections.unmodifiableMap(this.mappings).entrySet();
+    }
+
     @Override
     public Comment comment() {
         return this.comment;
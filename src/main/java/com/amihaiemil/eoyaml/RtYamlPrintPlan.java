@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * YamlPrintPlan compiled by printing the template once, with
+ * {@link RtYamlPrinter}, after every scalar value was replaced with a
+ * marker. The printed text is split at the markers, into the constant
+ * parts which are printed between the values.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class RtYamlPrintPlan implements YamlPrintPlan {
+
+    /**
+     * Marker printed instead of every value (a Unicode noncharacter,
+     * never quoted by the printer).
+     */
+    private static final char MARKER = '\uFDD0';
+
+    /**
+     * Constant text printed before every value and after the last one.
+     */
+    private final String[] constants;
+
+    /**
+     * Constant text printed after every value which is null or empty, for
+     * which the printer leaves out the inline comment.
+     */
+    private final String[] afterNull;
+
+    /**
+     * Line separator.
+     */
+    private final String separator;
+
+    /**
+     * Are the values printed in canonical form?
+     */
+    private final boolean canonical;
+
+    /**
+     * Ctor.
+     * @param template Template mapping or sequence.
+     * @param settings Printing options.
+     */
+    RtYamlPrintPlan(
+        final YamlNode template,
+        final RtYamlPrinterBuilder settings
+    ) {
+        if (!(template instanceof YamlMapping)
+            && !(template instanceof YamlSequence)) {
+            throw new IllegalArgumentException(
+                "The template must be a YamlMapping or a YamlSequence."
+            );
+        }
+        this.separator = settings.separator();
+        this.canonical = settings.printsCanonical();
+        final List<String> inline = new ArrayList<>();
+        final YamlNode slotted = RtYamlPrintPlan.slotted(
+            template, inline, settings.printsComments()
+        );
+        this.constants = RtYamlPrintPlan.split(
+            RtYamlPrintPlan.printed(slotted, settings), inline.size()
+        );
+        this.afterNull = new String[inline.size()];
+        for (int idx = 0; idx < inline.size(); ++idx) {
+            this.afterNull[idx] = this.constants[idx + 1].substring(
+                inline.get(idx).length()
+            );
+        }
+    }
+
+    @Override
+    public int slots() {
+        return this.afterNull.length;
+    }
+
+    @Override
+    public void print(final Writer destination, final List<String> values)
+        throws IOException {
+        if (values.size() != this.afterNull.length) {
+            throw new IllegalArgumentException(
+                "Expected " + this.afterNull.length + " values, but got "
+                + values.size()
+            );
+        }
+        final Output output = new Output(destination, this.separator);
+        output.write(this.constants[0]);
+        for (int idx = 0; idx < this.afterNull.length; ++idx) {
+            final String value = values.get(idx);
+            if (value == null || value.isEmpty()) {
+                output.write("null");
+                output.write(this.afterNull[idx]);
+            } else if (this.canonical) {
+                output.canonical(value);
+                output.write(this.constants[idx + 1]);
+            } else {
+                output.escaped(value);
+                output.write(this.constants[idx + 1]);
+            }
+        }
+    }
+
+    /**
+     * Print the template, with its slots.
+     * @param slotted Template, with slots instead of scalars.
+     * @param settings Printing options.
+     * @return Printed template.
+     */
+    private static String printed(
+        final YamlNode slotted,
+        final RtYamlPrinterBuilder settings
+    ) {
+        final StringWriter printed = new StringWriter();
+        try {
+            new RtYamlPrinter(
+                new Output(printed, settings.separator()),
+                settings.flowStyle(0).parallel(null)
+            ).print(slotted);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return printed.toString();
+    }
+
+    /**
+     * Split the printed template at the markers.
+     * @param text Printed template.
+     * @param slots Number of slots.
+     * @return Constant parts, one more than the slots.
+     */
+    private static String[] split(final String text, final int slots) {
+        final String[] constants = new String[slots + 1];
+        int start = 0;
+        for (int idx = 0; idx <= slots; ++idx) {
+            int end = text.indexOf(RtYamlPrintPlan.MARKER, start);
+            if (end < 0 && idx < slots || end >= 0 && idx == slots) {
+                throw new IllegalArgumentException(
+                    "The template cannot be compiled: a key or comment "
+                    + "contains U+FDD0 or a scalar has no ScalarComment."
+                );
+            }
+            if (end < 0) {
+                end = text.length();
+            }
+            constants[idx] = text.substring(start, end);
+            start = end + 1;
+        }
+        return constants;
+    }
+
+    /**
+     * Copy of the given node, with every scalar replaced by a slot.
+     * Empty mappings and sequences are left as they are.
+     * @param node Node.
+     * @param inline Inline comments of the slots, as printed.
+     * @param comments Are comments printed?
+     * @return YamlNode.
+     */
+    private static YamlNode slotted(
+        final YamlNode node,
+        final List<String> inline,
+        final boolean comments
+    ) {
+        final YamlNode slotted;
+        if (node instanceof Scalar) {
+            slotted = new Slot((Scalar) node);
+            inline.add(RtYamlPrintPlan.inline((Scalar) node, comments));
+        } else if (node == null || node.isEmpty()) {
+            slotted = node;
+        } else if (node instanceof YamlSequence) {
+            final List<YamlNode> values = new ArrayList<>();
+            for (final YamlNode value : node.asSequence().values()) {
+                values.add(RtYamlPrintPlan.slotted(value, inline, comments));
+            }
+            slotted = new RtYamlSequence(values, node.comment().value());
+        } else if (node instanceof YamlMapping) {
+            final Map<YamlNode, YamlNode> entries = new LinkedHashMap<>();
+            for (final Map.Entry<YamlNode, YamlNode> entry
+                : node.asMapping().entries()) {
+                entries.put(
+                    entry.getKey(),
+                    RtYamlPrintPlan.slotted(entry.getValue(), inline, comments)
+                );
+            }
+            slotted = new RtYamlMapping(entries, node.comment().value());
+        } else {
+            throw new IllegalArgumentException(
+                "A template cannot contain YamlStreams."
+            );
+        }
+        return slotted;
+    }
+
+    /**
+     * The inline comment of a scalar, as printed after its value.
+     * @param scalar Scalar.
+     * @param comments Are comments printed?
+     * @return Printed inline comment, or empty.
+     */
+    private static String inline(final Scalar scalar, final boolean comments) {
+        String printed = "";
+        if (comments && scalar.comment() instanceof ScalarComment) {
+            final String value = ((ScalarComment) scalar.comment())
+                .inline().value();
+            if (!value.isEmpty()) {
+                printed = " # " + value;
+            }
+        }
+        return printed;
+    }
+
+    /**
+     * Scalar of the template, printed as a marker.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Slot extends BaseScalar {
+
+        /**
+         * Scalar of the template.
+         */
+        private final Scalar original;
+
+        /**
+         * Ctor.
+         * @param original Scalar of the template.
+         */
+        Slot(final Scalar original) {
+            this.original = original;
+        }
+
+        @Override
+        public String value() {
+            return String.valueOf(RtYamlPrintPlan.MARKER);
+        }
+
+        @Override
+        public Comment comment() {
+            return this.original.comment();
+        }
+    }
+}
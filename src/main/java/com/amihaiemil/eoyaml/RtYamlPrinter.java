@@ -28,12 +28,23 @@
 package com.amihaiemil.eoyaml;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Base implementation of YamlPrinter. "Rt" stands for "Runtime".
+ * Everything is written straight to the {@link Output}, without
+ * intermediate Strings.
  * @checkstyle ExecutableStatementCount (400 lines)
  * @checkstyle CyclomaticComplexity (400 lines)
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -43,43 +54,70 @@ import java.util.List;
 final class RtYamlPrinter implements YamlPrinter {
 
     /**
-     * Writer where the given YAML will be printed.
+     * Least number of children printed by a parallel task.
      */
-    private final Writer writer;
+    static final int CHUNK = 256;
+
+    /**
+     * Where the given YAML will be printed.
+     */
+    private final Output output;
+
+    /**
+     * Options of this printer.
+     */
+    private final RtYamlPrinterBuilder settings;
 
     /**
      * Constructor.
      * @param writer Destination writer.
      */
     RtYamlPrinter(final Writer writer) {
-        this.writer = writer;
+        this(new Output(writer), new RtYamlPrinterBuilder());
+    }
+
+    /**
+     * Constructor.
+     * @param output Where the YAML will be printed.
+     * @param settings Options of this printer.
+     */
+    RtYamlPrinter(
+        final Output output,
+        final RtYamlPrinterBuilder settings
+    ) {
+        this.output = output;
+        this.settings = settings;
     }
 
     @Override
     public void print(final YamlNode node) throws IOException  {
         try {
             if (node instanceof Scalar) {
-                this.writer.append("---").append(System.lineSeparator());
-                this.printPossibleComment(node, "");
+                this.output.write("---");
+                this.output.newLine();
+                this.printPossibleComment(node, 0);
                 this.printScalar((Scalar) node, 0);
-                this.writer.append(System.lineSeparator()).append("...");
+                this.output.newLine();
+                this.output.write("...");
             } else if (node instanceof YamlSequence) {
-                boolean documentComment = this.printPossibleComment(node, "");
+                boolean documentComment = this.printPossibleComment(node, 0);
                 if(documentComment) {
-                    this.writer.append("---").append(System.lineSeparator());
+                    this.output.write("---");
+                    this.output.newLine();
                 }
                 this.printSequence((YamlSequence) node, 0);
             } else if (node instanceof YamlMapping) {
-                boolean documentComment = this.printPossibleComment(node, "");
+                boolean documentComment = this.printPossibleComment(node, 0);
                 if(documentComment) {
-                    this.writer.append("---").append(System.lineSeparator());
+                    this.output.write("---");
+                    this.output.newLine();
                 }
                 this.printMapping((YamlMapping) node, 0);
             } else if (node instanceof YamlStream) {
                 this.printStream((YamlStream) node, 0);
             }
         } finally {
-            this.writer.close();
+            this.output.close();
         }
     }
 
@@ -93,24 +131,9 @@ final class RtYamlPrinter implements YamlPrinter {
         final YamlStream stream,
         final int indentation
     ) throws IOException {
-        final String newLine = System.lineSeparator();
-        int spaces = indentation;
-        final StringBuilder indent = new StringBuilder();
-        while (spaces > 0) {
-            indent.append(" ");
-            spaces--;
-        }
-        final Iterator<YamlNode> valuesIt = stream.values().iterator();
-        while(valuesIt.hasNext()) {
-            final YamlNode document = valuesIt.next();
-            this.writer
-                .append(indent)
-                .append("---");
-            this.printNode(document, true, indentation + 2);
-            if(valuesIt.hasNext()) {
-                this.writer.append(newLine);
-            }
-        }
+        this.printAll(
+            stream.values(), indentation, RtYamlPrinter::printDocument
+        );
     }
 
     /**
@@ -123,45 +146,16 @@ final class RtYamlPrinter implements YamlPrinter {
         final YamlMapping mapping,
         final int indentation
     ) throws IOException {
-        final String newLine = System.lineSeparator();
-        int spaces = indentation;
-        final StringBuilder alignment = new StringBuilder();
-        while (spaces > 0) {
-            alignment.append(" ");
-            spaces--;
-        }
-        final Iterator<YamlNode> keysIt = mapping.keys().iterator();
-        while(keysIt.hasNext()) {
-            final YamlNode key = keysIt.next();
-            final YamlNode value = mapping.value(key);
-            this.printPossibleComment(value, alignment.toString());
-            this.writer.append(alignment);
-            if(key instanceof Scalar) {
-                this.writer.append(
-                    this.indent(
-                        new Escaped((Scalar) key).value(),
-                        0
-                    )
-                );
-                this.writer
-                    .append(":");
-            } else {
-                this.writer
-                    .append("?");
-                this.printNode(key, true, indentation + 2);
-                this.writer.append(newLine)
-                    .append(alignment)
-                    .append(":");
-            }
-            if (value instanceof Scalar) {
-                this.printNode(value, false, indentation);
-            } else  {
-                this.printNode(value, true, indentation + 2);
-            }
-            if(keysIt.hasNext()) {
-                this.writer.append(newLine);
-            }
+        final Collection<Map.Entry<YamlNode, YamlNode>> entries;
+        if (this.settings.printsCanonical()) {
+            final List<Map.Entry<YamlNode, YamlNode>> sorted =
+                new ArrayList<>(mapping.entries());
+            sorted.sort(RtYamlPrinter::canonicalOrder);
+            entries = sorted;
+        } else {
+            entries = mapping.entries();
         }
+        this.printAll(entries, indentation, RtYamlPrinter::printEntry);
     }
 
     /**
@@ -174,28 +168,153 @@ final class RtYamlPrinter implements YamlPrinter {
         final YamlSequence sequence,
         final int indentation
     ) throws IOException {
-        final String newLine = System.lineSeparator();
-        int spaces = indentation;
-        final StringBuilder alignment = new StringBuilder();
-        while (spaces > 0) {
-            alignment.append(" ");
-            spaces--;
-        }
-        final Iterator<YamlNode> valuesIt = sequence.values().iterator();
-        while(valuesIt.hasNext()) {
-            final YamlNode node = valuesIt.next();
-            this.printPossibleComment(node, alignment.toString());
-            this.writer
-                .append(alignment)
-                .append("-");
-            if (node instanceof Scalar) {
-                this.printNode(node, false, 0);
-            } else  {
-                this.printNode(node, true, indentation + 2);
+        this.printAll(
+            sequence.values(), indentation, RtYamlPrinter::printElement
+        );
+    }
+
+    /**
+     * Print the documents of a stream, the entries of a mapping or the
+     * elements of a sequence, one per line. If there is a pool and
+     * there are many children, they are printed in chunks, in parallel.
+     * @param children Children.
+     * @param indentation Level of indentation of the children.
+     * @param child How a child is printed.
+     * @param <T> Type of the children.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private <T> void printAll(
+        final Collection<T> children,
+        final int indentation,
+        final Child<T> child
+    ) throws IOException {
+        if (this.settings.forkJoinPool() != null
+            && children.size() >= 2 * RtYamlPrinter.CHUNK) {
+            this.printParallel(new ArrayList<>(children), indentation, child);
+        } else {
+            final Iterator<T> childrenIt = children.iterator();
+            while(childrenIt.hasNext()) {
+                child.print(this, childrenIt.next(), indentation);
+                if(childrenIt.hasNext()) {
+                    this.output.newLine();
+                }
             }
-            if(valuesIt.hasNext()) {
-                this.writer.append(newLine);
+        }
+    }
+
+    /**
+     * Print the children in chunks, each one into its own buffer, on the
+     * pool. The buffers are written in order, so the output is the same
+     * as the one of the sequential printing.
+     * @param children Children.
+     * @param indentation Level of indentation of the children.
+     * @param child How a child is printed.
+     * @param <T> Type of the children.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private <T> void printParallel(
+        final List<T> children,
+        final int indentation,
+        final Child<T> child
+    ) throws IOException {
+        final ForkJoinPool pool = this.settings.forkJoinPool();
+        final int size = children.size();
+        final int chunks = Math.min(
+            size / RtYamlPrinter.CHUNK, pool.getParallelism() * 4
+        );
+        final List<ForkJoinTask<String>> tasks = new ArrayList<>(chunks);
+        for (int idx = 0; idx < chunks; ++idx) {
+            final List<T> chunk = children.subList(
+                (int) ((long) size * idx / chunks),
+                (int) ((long) size * (idx + 1) / chunks)
+            );
+            tasks.add(
+                pool.submit(
+                    () -> {
+                        final StringWriter buffer = new StringWriter();
+                        new RtYamlPrinter(
+                            this.output.sibling(buffer),
+                            this.settings.parallel(null)
+                        ).printAll(chunk, indentation, child);
+                        return buffer.toString();
+                    }
+                )
+            );
+        }
+        for (int idx = 0; idx < chunks; ++idx) {
+            if (idx > 0) {
+                this.output.newLine();
             }
+            this.output.write(RtYamlPrinter.joined(tasks.get(idx)));
+        }
+    }
+
+    /**
+     * Print a document of a stream.
+     * @param document Document.
+     * @param indentation Level of indentation of the stream.
+     * @throws IOException If an I/O problem occurs.
+     */
+    void printDocument(
+        final YamlNode document,
+        final int indentation
+    ) throws IOException {
+        this.output.indent(indentation);
+        this.output.write("---");
+        this.printNode(document, true, this.nested(indentation));
+    }
+
+    /**
+     * Print an entry of a mapping.
+     * @param entry Key and value.
+     * @param indentation Level of indentation of the mapping.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printEntry(
+        final Map.Entry<YamlNode, YamlNode> entry,
+        final int indentation
+    ) throws IOException {
+        final YamlNode key = entry.getKey();
+        final YamlNode value = entry.getValue();
+        this.printPossibleComment(value, indentation);
+        this.output.indent(indentation);
+        if(key instanceof Scalar && this.settings.printsCanonical()) {
+            this.output.canonical(RtYamlPrinter.canonicalKey((Scalar) key));
+            this.output.write(':');
+        } else if(key instanceof Scalar) {
+            this.output.escaped(((Scalar) key).value());
+            this.output.write(':');
+        } else {
+            this.output.write('?');
+            this.printNode(key, true, this.nested(indentation));
+            this.output.newLine();
+            this.output.indent(indentation);
+            this.output.write(':');
+        }
+        if (value instanceof Scalar) {
+            this.printNode(value, false, indentation);
+        } else  {
+            this.printNode(value, true, this.nested(indentation));
+        }
+    }
+
+    /**
+     * Print an element of a sequence.
+     * @param node Element.
+     * @param indentation Level of indentation of the sequence.
+     * @throws IOException If an I/O problem occurs.
+     */
+    private void printElement(
+        final YamlNode node,
+        final int indentation
+    ) throws IOException {
+        this.printPossibleComment(node, indentation);
+        this.output.indent(indentation);
+        this.output.write('-');
+        if (node instanceof Scalar) {
+            this.printNode(node, false, 0);
+        } else  {
+            this.printNode(node, true, this.nested(indentation));
         }
     }
 
@@ -209,53 +328,40 @@ final class RtYamlPrinter implements YamlPrinter {
         final Scalar scalar,
         final int indentation
     ) throws IOException {
-        if (scalar instanceof BaseFoldedScalar) {
-            final BaseFoldedScalar foldedScalar = (BaseFoldedScalar) scalar;
-            this.writer.append(">");
-            if(!scalar.comment().value().isEmpty()) {
-                this.writer.append(" # ").append(scalar.comment().value());
-            }
-            this.writer.append(System.lineSeparator());
-            final List<String> unfolded = foldedScalar.unfolded();
+        if (this.settings.printsCanonical()) {
+            this.output.canonical(scalar.value());
+        } else if (RtYamlPrinter.folded(scalar)) {
+            this.output.write('>');
+            this.printBlockComment(scalar);
+            this.output.newLine();
+            final List<String> unfolded = RtYamlPrinter.unfolded(scalar);
             for(int idx = 0; idx < unfolded.size(); idx++) {
-                this.writer.append(
-                    this.indent(
-                        unfolded.get(idx).trim(),
-                        indentation + 2
-                    )
+                this.output.lines(
+                    unfolded.get(idx).trim(),
+                    this.nested(indentation),
+                    "",
+                    false
                 );
                 if(idx < unfolded.size() - 1) {
-                    this.writer.append(System.lineSeparator());
+                    this.output.newLine();
                 }
             }
-        } else if (scalar instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
-                || scalar instanceof ReadLiteralBlockScalar
-        ) {
-            this.writer.append("|");
-            if(!scalar.comment().value().isEmpty()) {
-                this.writer.append(" # ").append(scalar.comment().value());
-            }
-            this.writer
-                .append(System.lineSeparator())
-                .append(
-                    this.indent(scalar.value(), indentation + 2)
-                );
+        } else if (RtYamlPrinter.literal(scalar)) {
+            this.output.write('|');
+            this.printBlockComment(scalar);
+            this.output.newLine();
+            this.output.lines(
+                scalar.value(), this.nested(indentation), "", false
+            );
+        } else if (!this.settings.printsComments()) {
+            this.output.escaped(scalar.value());
         } else {
             final Comment comment = scalar.comment();
             if(comment instanceof ScalarComment) {
-                this.writer.append(
-                    this.indent(
-                        new Escaped(scalar).value(),
-                        0
-                    )
+                this.output.escaped(scalar.value());
+                this.printInlineComment(
+                    ((ScalarComment) comment).inline().value()
                 );
-                final ScalarComment scalarComment = (ScalarComment) comment;
-
-                if(!scalarComment.inline().value().isEmpty()) {
-                    this.writer.append(" # ").append(
-                        scalarComment.inline().value()
-                    );
-                }
             }
         }
     }
@@ -275,17 +381,18 @@ final class RtYamlPrinter implements YamlPrinter {
     ) throws IOException {
         if (node == null || node.isEmpty()) {
             if (node instanceof EmptyYamlSequence) {
-                this.writer.append(" ").append("[]");
+                this.output.write(" []");
             } else if (node instanceof EmptyYamlMapping) {
-                this.writer.append(" ").append("{}");
+                this.output.write(" {}");
             } else {
-                this.writer.append(" ").append("null");
+                this.output.write(" null");
             }
-        } else {
+        } else if (!onNewLine || !this.copied(node, indentation)
+            && !this.flowed(node)) {
             if (onNewLine) {
-                this.writer.append(System.lineSeparator());
+                this.output.newLine();
             } else {
-                this.writer.append(" ");
+                this.output.write(' ');
             }
             if (node instanceof Scalar) {
                 this.printScalar((Scalar) node, indentation);
@@ -299,21 +406,202 @@ final class RtYamlPrinter implements YamlPrinter {
         }
     }
 
+    /**
+     * Print a sequence or mapping of scalars in flow style, on the current
+     * line, if it is small enough.
+     * @param node YAML Node to print.
+     * @return True if the node was printed, false otherwise.
+     * @throws IOException If any I/O error occurs.
+     */
+    private boolean flowed(final YamlNode node) throws IOException {
+        final int limit = this.settings.flowLimit();
+        List<YamlNode> scalars = Collections.emptyList();
+        if (limit > 0 && node instanceof YamlSequence) {
+            scalars = this.flowItems((YamlSequence) node, limit);
+            this.printFlow(scalars, '[', ']');
+        } else if (limit > 0 && node instanceof YamlMapping) {
+            scalars = this.flowEntries((YamlMapping) node, limit);
+            this.printFlow(scalars, '{', '}');
+        }
+        return !scalars.isEmpty();
+    }
+
+    /**
+     * Items of a sequence which can be printed in flow style: at most
+     * limit scalars.
+     * @param sequence YamlSequence.
+     * @param limit Maximum number of items.
+     * @return The items or an empty list if the sequence is not
+     *  printed in flow style.
+     */
+    private List<YamlNode> flowItems(
+        final YamlSequence sequence, final int limit
+    ) {
+        final Collection<YamlNode> values = sequence.values();
+        boolean flow = !values.isEmpty() && values.size() <= limit;
+        for (final YamlNode value : values) {
+            if (!flow) {
+                break;
+            }
+            flow = this.flowable(value);
+        }
+        final List<YamlNode> items;
+        if (flow) {
+            items = new ArrayList<>(values);
+        } else {
+            items = Collections.emptyList();
+        }
+        return items;
+    }
+
+    /**
+     * Keys and values of a mapping which can be printed in flow style:
+     * at most limit pairs of scalars. Every second node is a value.
+     * @param mapping YamlMapping.
+     * @param limit Maximum number of pairs.
+     * @return The keys and values or an empty list if the mapping
+     *  is not printed in flow style.
+     */
+    private List<YamlNode> flowEntries(
+        final YamlMapping mapping, final int limit
+    ) {
+        final Collection<Map.Entry<YamlNode, YamlNode>> entries =
+            mapping.entries();
+        boolean flow = !entries.isEmpty() && entries.size() <= limit;
+        for (final Map.Entry<YamlNode, YamlNode> entry : entries) {
+            if (!flow) {
+                break;
+            }
+            flow = this.flowable(entry.getKey())
+                && this.flowable(entry.getValue());
+        }
+        final List<YamlNode> scalars;
+        if (flow) {
+            scalars = new ArrayList<>(entries.size() * 2);
+            for (final Map.Entry<YamlNode, YamlNode> entry : entries) {
+                scalars.add(entry.getKey());
+                scalars.add(entry.getValue());
+            }
+        } else {
+            scalars = Collections.emptyList();
+        }
+        return scalars;
+    }
+
+    /**
+     * Print the given scalars in flow style. Every second one is a value,
+     * in a mapping.
+     * @param scalars Scalars.
+     * @param start Start of the collection.
+     * @param end End of the collection.
+     * @throws IOException If any I/O error occurs.
+     */
+    private void printFlow(
+        final List<YamlNode> scalars,
+        final char start,
+        final char end
+    ) throws IOException {
+        if (!scalars.isEmpty()) {
+            this.output.write(' ');
+            this.output.write(start);
+            for (int idx = 0; idx < scalars.size(); ++idx) {
+                if (end == '}' && idx % 2 == 1) {
+                    this.output.write(": ");
+                } else if (idx > 0) {
+                    this.output.write(", ");
+                }
+                final YamlNode scalar = scalars.get(idx);
+                if (scalar == null || scalar.isEmpty()) {
+                    this.output.write("null");
+                } else {
+                    this.output.flowEscaped(scalar.asScalar().value());
+                }
+            }
+            this.output.write(end);
+        }
+    }
+
+    /**
+     * Can the node be printed in a flow collection? It can if it is
+     * a one-line scalar without comments (unless comments are not printed).
+     * @param node Node.
+     * @return True or false.
+     */
+    private boolean flowable(final YamlNode node) {
+        boolean flowable = node == null;
+        if (node instanceof Scalar && !RtYamlPrinter.folded((Scalar) node)
+            && !RtYamlPrinter.literal((Scalar) node)) {
+            final String value = ((Scalar) node).value();
+            flowable = (value == null || Output.oneLine(value))
+                && (!this.settings.printsComments()
+                    || node.comment().value().isEmpty());
+        }
+        return flowable;
+    }
+
+    /**
+     * Copy the original lines of a read mapping or sequence, if
+     * this printer is verbatim and prints comments.
+     * @param node YAML Node to print.
+     * @param indentation Indentation of the print.
+     * @return True if the node was copied, false otherwise.
+     * @throws IOException If any I/O error occurs.
+     */
+    private boolean copied(
+        final YamlNode node,
+        final int indentation
+    ) throws IOException {
+        final Verbatim source;
+        if (!this.settings.copiesRead() || !this.settings.printsComments()) {
+            source = null;
+        } else if (node instanceof ReadYamlMapping) {
+            source = ((ReadYamlMapping) node).verbatim();
+        } else if (node instanceof ReadYamlSequence) {
+            source = ((ReadYamlSequence) node).verbatim();
+        } else {
+            source = null;
+        }
+        return source != null && source.print(
+            this.output, indentation, this.settings.indentationStep()
+        );
+    }
+
+    /**
+     * Indentation of the nodes nested in a node.
+     * @param indentation Indentation of the node.
+     * @return Indentation of its nested nodes.
+     */
+    private int nested(final int indentation) {
+        return indentation + this.settings.indentationStep();
+    }
+
+    /**
+     * Print the inline comment of a literal or folded block scalar.
+     * @param scalar Block scalar.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void printBlockComment(final Scalar scalar) throws IOException {
+        if (this.settings.printsComments()) {
+            this.printInlineComment(scalar.comment().value());
+        }
+    }
+
     /**
      * Print a comment. Make sure to split the lines if there are more
      * lines separated by NewLine and also add a '# ' in front of each
      * line.
      * @param node Node containing the Comment.
-     * @param alignment Indentation.
+     * @param indentation Indentation.
      * @return True if a comment was printed, false otherwise.
      * @throws IOException If any I/O problem occurs.
      */
     private boolean printPossibleComment(
         final YamlNode node,
-        final String alignment
+        final int indentation
     ) throws IOException {
         boolean printed = false;
-        if(node != null && node.comment() != null) {
+        if(this.settings.printsComments()
+            && node != null && node.comment() != null) {
             final Comment tmpComment;
             if(node.comment() instanceof ScalarComment) {
                 tmpComment = ((ScalarComment) node.comment()).above();
@@ -322,14 +610,7 @@ final class RtYamlPrinter implements YamlPrinter {
             }
             final String com = tmpComment.value();
             if (com.trim().length() != 0) {
-                String[] lines = com.split(System.lineSeparator());
-                for (final String line : lines) {
-                    this.writer
-                            .append(alignment)
-                            .append("# ")
-                            .append(line)
-                            .append(System.lineSeparator());
-                }
+                this.output.comment(com, indentation);
                 printed = true;
             }
         }
@@ -337,71 +618,155 @@ final class RtYamlPrinter implements YamlPrinter {
     }
 
     /**
-     * Indent a given String value. If the String has multiple lines,
-     * they will all be indented together.
-     * @param value String to indent.
-     * @param indentation Indentation level.
-     * @return Indented String.
+     * Print a comment inline with a scalar, if there is one.
+     * @param comment Comment.
+     * @throws IOException If any I/O problem occurs.
      */
-    private String indent(final String value, final int indentation) {
-        StringBuilder alignment = new StringBuilder();
-        int spaces = indentation;
-        while (spaces > 0) {
-            alignment.append(" ");
-            spaces--;
+    private void printInlineComment(final String comment) throws IOException {
+        if (!comment.isEmpty()) {
+            this.output.write(" # ");
+            this.output.write(comment);
         }
-        String[] lines = value.split(System.lineSeparator());
-        StringBuilder printed = new StringBuilder();
-        for(int idx = 0; idx < lines.length; idx++) {
-            printed.append(alignment);
-            printed.append(lines[idx]);
-            if(idx < lines.length - 1) {
-                printed.append(System.lineSeparator());
-            }
+    }
+
+    /**
+     * Is the scalar a literal block scalar?
+     * @param scalar Scalar.
+     * @return True or false.
+     */
+    static boolean literal(final Scalar scalar) {
+        return scalar instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
+            || scalar instanceof ReadLiteralBlockScalar
+            || scalar instanceof TapeScalar && ((TapeScalar) scalar).literal();
+    }
+
+    /**
+     * Is the scalar a folded block scalar?
+     * @param scalar Scalar.
+     * @return True or false.
+     */
+    static boolean folded(final Scalar scalar) {
+        return scalar instanceof BaseFoldedScalar
+            || scalar instanceof TapeScalar && ((TapeScalar) scalar).folded();
+    }
+
+    /**
+     * Lines of a folded block scalar, as they are written.
+     * @param scalar Folded block scalar.
+     * @return List of lines.
+     */
+    static List<String> unfolded(final Scalar scalar) {
+        final List<String> unfolded;
+        if (scalar instanceof BaseFoldedScalar) {
+            unfolded = ((BaseFoldedScalar) scalar).unfolded();
+        } else {
+            unfolded = ((TapeScalar) scalar).unfolded();
         }
-        return printed.toString();
+        return unfolded;
     }
 
     /**
-     * A scalar which escapes its value.
-     * @author Mihai Andronache (amihaiemil@gmail.com)
-     * @version $Id$
-     * @since 4.3.1
+     * Order of the entries of a mapping in canonical form: by key,
+     * scalars first (by their {@link #canonicalKey(Scalar)}), then
+     * sequences, then mappings.
+     * @param first First entry.
+     * @param second Second entry.
+     * @return Negative, zero or positive, as in Comparator.
      */
-    static class Escaped extends BaseScalar {
+    private static int canonicalOrder(
+        final Map.Entry<YamlNode, YamlNode> first,
+        final Map.Entry<YamlNode, YamlNode> second
+    ) {
+        final YamlNode one = first.getKey();
+        final YamlNode two = second.getKey();
+        int result = Integer.compare(
+            RtYamlPrinter.rank(one), RtYamlPrinter.rank(two)
+        );
+        if (result == 0 && one instanceof Scalar) {
+            result = RtYamlPrinter.canonicalKey((Scalar) one).compareTo(
+                RtYamlPrinter.canonicalKey((Scalar) two)
+            );
+        } else if (result == 0) {
+            result = one.compareTo(two);
+        }
+        return result;
+    }
 
-        /**
-         * Original unescaped scalar.
-         */
-        private final Scalar original;
+    /**
+     * Value of a scalar key in canonical form. Read keys keep the quotes
+     * they were written with, so the matching quotes around the value are
+     * left out: 'key', "key" and key are the same key.
+     * @param key Scalar key.
+     * @return Value without the surrounding quotes.
+     */
+    private static String canonicalKey(final Scalar key) {
+        String value = key.value();
+        if (value == null) {
+            value = "";
+        }
+        final int length = value.length();
+        if (length > 1 && (value.charAt(0) == '"' || value.charAt(0) == '\'')
+            && value.charAt(length - 1) == value.charAt(0)) {
+            value = value.substring(1, length - 1);
+        }
+        return value;
+    }
 
-        /**
-         * Ctor.
-         * @param original Unescaped scalar.
-         */
-        Escaped(final Scalar original) {
-            this.original = original;
+    /**
+     * Rank of a key's type in canonical form.
+     * @param key Key.
+     * @return Zero for scalars, 1 for sequences and 2 for anything else.
+     */
+    private static int rank(final YamlNode key) {
+        final int rank;
+        if (key instanceof Scalar) {
+            rank = 0;
+        } else if (key instanceof YamlSequence) {
+            rank = 1;
+        } else {
+            rank = 2;
         }
+        return rank;
+    }
 
-        @Override
-        public String value() {
-            final String value = this.original.value();
-            String escaped = value;
-            boolean quoted = (value.startsWith("'") && value.endsWith("'"))
-                    || (value.startsWith("\"") && value.endsWith("\""));
-            if (!quoted && value.matches(".*[?\\-#:>|$%&{}\\[\\]]+.*|[ ]+")) {
-                if(value.contains("\"")) {
-                    escaped = "'" + value + "'";
-                } else {
-                    escaped = "\"" + value + "\"";
-                }
+    /**
+     * Wait for a chunk printed on the pool.
+     * @param task Task printing the chunk.
+     * @return Printed chunk.
+     * @throws IOException If an I/O problem occurred.
+     */
+    private static String joined(final ForkJoinTask<String> task)
+        throws IOException {
+        try {
+            return task.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(ex.getMessage());
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
             }
-            return escaped;
+            throw new IllegalStateException(ex.getCause());
         }
+    }
 
-        @Override
-        public Comment comment() {
-            return this.original.comment();
-        }
+    /**
+     * How a child of a stream, mapping or sequence is printed.
+     * @param <T> Type of the child.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private interface Child<T> {
+
+        /**
+         * Print the child.
+         * @param printer Printer.
+         * @param child Child.
+         * @param indentation Level of indentation of the child.
+         * @throws IOException If an I/O problem occurs.
+         */
+        void print(RtYamlPrinter printer, T child, int indentation)
+            throws IOException;
     }
 }
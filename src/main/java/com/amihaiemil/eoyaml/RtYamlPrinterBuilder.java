@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of {@link YamlPrinterBuilder}. Its options are also read
+ * by {@link RtYamlPrinter} while printing.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class RtYamlPrinterBuilder implements YamlPrinterBuilder {
+
+    /**
+     * Default number of chars after which a stream writer flushes.
+     */
+    private static final int FLUSH_SIZE = 64 * 1024;
+
+    /**
+     * Default time after which a stream writer flushes.
+     */
+    private static final Duration FLUSH_TIME = Duration.ofSeconds(1);
+
+    /**
+     * Print comments?
+     */
+    private final boolean comments;
+
+    /**
+     * Spaces of every level of indentation.
+     */
+    private final int step;
+
+    /**
+     * Line separator.
+     */
+    private final String separator;
+
+    /**
+     * Maximum number of scalars in a flow collection, 0 if there are none.
+     */
+    private final int flow;
+
+    /**
+     * Copy the original lines of read nodes?
+     */
+    private final boolean copies;
+
+    /**
+     * Pool where big nodes are printed in parallel, null if none.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Chars after which a stream writer flushes.
+     */
+    private final int flushSize;
+
+    /**
+     * Time after which a stream writer flushes.
+     */
+    private final Duration flushInterval;
+
+    /**
+     * Print the canonical form?
+     */
+    private final boolean canonical;
+
+    /**
+     * Ctor with the default options.
+     */
+    RtYamlPrinterBuilder() {
+        this(
+            true, 2, System.lineSeparator(), 0, false, null,
+            RtYamlPrinterBuilder.FLUSH_SIZE, RtYamlPrinterBuilder.FLUSH_TIME,
+            false
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param comments Print comments?
+     * @param step Spaces of every level of indentation.
+     * @param separator Line separator.
+     * @param flow Maximum number of scalars in a flow collection.
+     * @param copies Copy the original lines of read nodes?
+     * @param pool Pool where big nodes are printed in parallel.
+     * @param flushSize Chars after which a stream writer flushes.
+     * @param flushInterval Time after which a stream writer flushes.
+     * @param canonical Print the canonical form?
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private RtYamlPrinterBuilder(
+        final boolean comments, final int step, final String separator,
+        final int flow, final boolean copies, final ForkJoinPool pool,
+        final int flushSize, final Duration flushInterval,
+        final boolean canonical
+    ) {
+        this.comments = comments;
+        this.step = step;
+        this.separator = separator;
+        this.flow = flow;
+        this.copies = copies;
+        this.pool = pool;
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.canonical = canonical;
+    }
+
+    @Override
+    public RtYamlPrinterBuilder skipComments() {
+        return new RtYamlPrinterBuilder(
+            false, this.step, this.separator,
+            this.flow, this.copies, this.pool,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder indentation(final int spaces) {
+        if (spaces < 1) {
+            throw new IllegalArgumentException(
+                "Indentation must be at least 1 space, but it is " + spaces
+            );
+        }
+        return new RtYamlPrinterBuilder(
+            this.comments, spaces, this.separator,
+            this.flow, this.copies, this.pool,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder lineSeparator(final String lines) {
+        if (!"\n".equals(lines) && !"\r\n".equals(lines)
+            && !"\r".equals(lines)) {
+            throw new IllegalArgumentException(
+                "The line separator must be \\n, \\r\\n or \\r."
+            );
+        }
+        return new RtYamlPrinterBuilder(
+            this.comments, this.step, lines,
+            this.flow, this.copies, this.pool,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder flowStyle(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(
+                "The size of flow collections cannot be negative."
+            );
+        }
+        return new RtYamlPrinterBuilder(
+            this.comments, this.step, this.separator,
+            maxSize, this.copies, this.pool,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder verbatim() {
+        return new RtYamlPrinterBuilder(
+            this.comments, this.step, this.separator,
+            this.flow, true, this.pool,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder parallel(final ForkJoinPool forkJoin) {
+        return new RtYamlPrinterBuilder(
+            this.comments, this.step, this.separator,
+            this.flow, this.copies, forkJoin,
+            this.flushSize, this.flushInterval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder flushEvery(
+        final int chars,
+        final Duration interval
+    ) {
+        if (chars < 1 || interval.isNegative()) {
+            throw new IllegalArgumentException(
+                "Flush size must be positive and interval not negative."
+            );
+        }
+        return new RtYamlPrinterBuilder(
+            this.comments, this.step, this.separator,
+            this.flow, this.copies, this.pool,
+            chars, interval, this.canonical
+        );
+    }
+
+    @Override
+    public RtYamlPrinterBuilder canonical() {
+        return new RtYamlPrinterBuilder(
+            false, 2, "\n", 0, false, this.pool,
+            this.flushSize, this.flushInterval, true
+        );
+    }
+
+    @Override
+    public YamlPrintPlan buildPlan(final YamlNode template) {
+        return new RtYamlPrintPlan(template, this);
+    }
+
+    @Override
+    public YamlPrinter build(final Writer destination) {
+        return new RtYamlPrinter(new Output(destination, this.separator), this);
+    }
+
+    @Override
+    public YamlPrinter build(final OutputStream destination) {
+        return this.build(new Utf8Writer(destination));
+    }
+
+    @Override
+    public YamlStreamWriter buildStreamWriter(final Writer destination) {
+        return new RtYamlStreamWriter(destination, this);
+    }
+
+    @Override
+    public YamlStreamWriter buildStreamWriter(
+        final OutputStream destination
+    ) {
+        return this.buildStreamWriter(new Utf8Writer(destination));
+    }
+
+    /**
+     * Print comments?
+     * @return True or false.
+     */
+    boolean printsComments() {
+        return this.comments;
+    }
+
+    /**
+     * Spaces of every level of indentation.
+     * @return Number of spaces.
+     */
+    int indentationStep() {
+        return this.step;
+    }
+
+    /**
+     * Maximum number of scalars in a flow collection.
+     * @return Size, 0 if there are no flow collections.
+     */
+    int flowLimit() {
+        return this.flow;
+    }
+
+    /**
+     * Copy the original lines of read nodes?
+     * @return True or false.
+     */
+    boolean copiesRead() {
+        return this.copies;
+    }
+
+    /**
+     * Print the canonical form?
+     * @return True or false.
+     */
+    boolean printsCanonical() {
+        return this.canonical;
+    }
+
+    /**
+     * Line separator.
+     * @return String.
+     */
+    String separator() {
+        return this.separator;
+    }
+
+    /**
+     * Chars after which a stream writer flushes.
+     * @return Number of chars.
+     */
+    int flushSize() {
+        return this.flushSize;
+    }
+
+    /**
+     * Time after which a stream writer flushes.
+     * @return Duration.
+     */
+    Duration flushInterval() {
+        return this.flushInterval;
+    }
+
+    /**
+     * Pool where big nodes are printed in parallel.
+     * @return ForkJoinPool, null if everything is printed on the
+     *  calling thread.
+     */
+    ForkJoinPool forkJoinPool() {
+        return this.pool;
+    }
+}
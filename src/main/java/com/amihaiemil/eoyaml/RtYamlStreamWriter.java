@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * YamlStreamWriter printing every document with an {@link RtYamlPrinter},
+ * like the documents of a {@link YamlStream}. Nothing is kept between
+ * documents, except the printer and its buffers.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class RtYamlStreamWriter implements YamlStreamWriter {
+
+    /**
+     * Destination, counting the written chars.
+     */
+    private final Counted destination;
+
+    /**
+     * Output over the destination.
+     */
+    private final Output output;
+
+    /**
+     * Printer of the documents.
+     */
+    private final RtYamlPrinter printer;
+
+    /**
+     * Printer of the dumped objects.
+     */
+    private final ReflectedPrinter dumper;
+
+    /**
+     * Options, including the flush policy.
+     */
+    private final RtYamlPrinterBuilder settings;
+
+    /**
+     * Number of written documents.
+     */
+    private long documents;
+
+    /**
+     * Time of the last flush, in nanoseconds.
+     */
+    private long flushed;
+
+    /**
+     * Is this writer closed?
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param destination Where the documents are printed.
+     * @param settings Printing options.
+     */
+    RtYamlStreamWriter(
+        final Writer destination,
+        final RtYamlPrinterBuilder settings
+    ) {
+        this.destination = new Counted(destination);
+        this.output = new Output(this.destination, settings.separator());
+        this.printer = new RtYamlPrinter(this.output, settings);
+        this.dumper = new ReflectedPrinter(
+            this.output, settings.indentationStep()
+        );
+        this.settings = settings;
+        this.flushed = System.nanoTime();
+    }
+
+    @Override
+    public YamlStreamWriter write(final YamlNode document)
+        throws IOException {
+        if (document instanceof YamlStream) {
+            throw new IllegalArgumentException(
+                "A document cannot be a stream, use writeAll(...) instead."
+            );
+        }
+        this.start();
+        this.printer.printDocument(document, 0);
+        this.end();
+        return this;
+    }
+
+    @Override
+    public YamlStreamWriter dump(final Object object) throws IOException {
+        this.start();
+        this.dumper.printDocument(object);
+        this.end();
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+        this.destination.count = 0;
+        this.flushed = System.nanoTime();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.output.close();
+        }
+    }
+
+    /**
+     * Start a new document, on a new line if it is not the first one.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void start() throws IOException {
+        if (this.closed) {
+            throw new IllegalStateException("This writer is closed.");
+        }
+        if (this.documents > 0) {
+            this.output.newLine();
+        }
+    }
+
+    /**
+     * End a document, flushing the destination if enough chars were
+     * written or enough time passed since the last flush.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void end() throws IOException {
+        this.documents = this.documents + 1;
+        final long now = System.nanoTime();
+        if (this.destination.count >= this.settings.flushSize()
+            || now - this.flushed >= this.settings.flushInterval().toNanos()) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Writer counting the chars written since the last flush.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Counted extends Writer {
+
+        /**
+         * Original writer.
+         */
+        private final Writer original;
+
+        /**
+         * Chars written since the last flush.
+         */
+        private long count;
+
+        /**
+         * Ctor.
+         * @param original Original writer.
+         */
+        Counted(final Writer original) {
+            this.original = original;
+        }
+
+        @Override
+        public void write(final int chr) throws IOException {
+            this.original.write(chr);
+            this.count = this.count + 1;
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len)
+            throws IOException {
+            this.original.write(str, off, len);
+            this.count = this.count + len;
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len)
+            throws IOException {
+            this.original.write(cbuf, off, len);
+            this.count = this.count + len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.original.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.original.close();
+        }
+    }
+}
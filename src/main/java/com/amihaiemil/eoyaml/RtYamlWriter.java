@@ -0,0 +1,506 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * YamlWriter writing to an {@link Output}, following the same rules as
+ * {@link RtYamlPrinter}. Only the open mappings and sequences are kept
+ * in memory, one small {@link Level} each.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class RtYamlWriter implements YamlWriter {
+
+    /**
+     * Style of a plain scalar, which has no indicator.
+     */
+    private static final char PLAIN = 0;
+
+    /**
+     * Where the YAML is written.
+     */
+    private final Output output;
+
+    /**
+     * Open mappings and sequences, the innermost first.
+     */
+    private final Deque<Level> levels;
+
+    /**
+     * Comment of the next node.
+     */
+    private String comment;
+
+    /**
+     * Inline comment of the next scalar.
+     */
+    private String inline;
+
+    /**
+     * Number of started documents.
+     */
+    private int documents;
+
+    /**
+     * Can a root node be written?
+     */
+    private boolean root;
+
+    /**
+     * Ctor.
+     * @param output Where the YAML is written.
+     */
+    RtYamlWriter(final Output output) {
+        this.output = output;
+        this.levels = new ArrayDeque<>();
+        this.comment = "";
+        this.inline = "";
+        this.root = true;
+    }
+
+    @Override
+    public YamlWriter document() throws IOException {
+        if (!this.levels.isEmpty()) {
+            throw new IllegalStateException(
+                "A new document can start only after the previous one ended."
+            );
+        }
+        if (this.documents == 0 && !this.root) {
+            throw new IllegalStateException(
+                "The root node was already written outside of a document."
+            );
+        }
+        if (this.documents > 0) {
+            this.output.newLine();
+        }
+        this.output.write("---");
+        this.documents = this.documents + 1;
+        this.root = true;
+        return this;
+    }
+
+    @Override
+    public YamlWriter beginMapping() throws IOException {
+        this.levels.push(this.begin(true));
+        return this;
+    }
+
+    @Override
+    public YamlWriter beginSequence() throws IOException {
+        this.levels.push(this.begin(false));
+        return this;
+    }
+
+    @Override
+    public YamlWriter key(final String key) throws IOException {
+        final Level level = this.levels.peek();
+        if (level == null || !level.mapping || level.awaiting) {
+            throw new IllegalStateException(
+                "A key can only be written in a mapping, after a value."
+            );
+        }
+        this.child(level);
+        this.output.escaped(key);
+        this.output.write(':');
+        level.awaiting = true;
+        return this;
+    }
+
+    @Override
+    public YamlWriter scalar(final String value) throws IOException {
+        return this.write(value, PLAIN);
+    }
+
+    @Override
+    public YamlWriter literal(final String value) throws IOException {
+        return this.write(value, '|');
+    }
+
+    @Override
+    public YamlWriter folded(final String value) throws IOException {
+        return this.write(value, '>');
+    }
+
+    @Override
+    public YamlWriter end() throws IOException {
+        final Level level = this.levels.poll();
+        if (level == null || level.awaiting) {
+            throw new IllegalStateException(
+                "There is no mapping or sequence to end here."
+            );
+        }
+        if (level.count == 0 && level.lead) {
+            if (level.mapping) {
+                this.output.write(" {}");
+            } else {
+                this.output.write(" []");
+            }
+        }
+        final Level parent = this.levels.peek();
+        if (parent != null) {
+            this.ended(parent);
+        }
+        return this;
+    }
+
+    @Override
+    public YamlWriter comment(final String text) throws IOException {
+        if (this.comment.isEmpty()) {
+            this.comment = text;
+        } else {
+            this.comment = this.comment + System.lineSeparator() + text;
+        }
+        return this;
+    }
+
+    @Override
+    public YamlWriter inlineComment(final String text) throws IOException {
+        this.inline = text;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            while (!this.levels.isEmpty()) {
+                final Level level = this.levels.peek();
+                if (level.awaiting) {
+                    this.scalar(null);
+                }
+                this.end();
+            }
+        } finally {
+            this.output.close();
+        }
+    }
+
+    /**
+     * Write a scalar (as the root node, the value of the current key or
+     * the next element of the current sequence).
+     * @param value Value of the scalar.
+     * @param style Indicator of a block scalar or PLAIN.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private YamlWriter write(final String value, final char style)
+        throws IOException {
+        final Level level = this.levels.peek();
+        if (level == null) {
+            this.rootScalar(value, style);
+        } else {
+            this.value(level);
+            if (value == null || value.isEmpty()) {
+                this.output.write(" null");
+            } else {
+                this.output.write(' ');
+                this.text(value, style, level.indentation + 2);
+            }
+            this.ended(level);
+        }
+        this.inline = "";
+        return this;
+    }
+
+    /**
+     * Write the value of a scalar with its inline comment, if it has one.
+     * @param value Value of the scalar, not empty.
+     * @param style Indicator of a block scalar or PLAIN.
+     * @param indentation Indentation of the lines of a block scalar.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void text(final String value, final char style,
+        final int indentation) throws IOException {
+        if (style == PLAIN) {
+            this.output.escaped(value);
+            this.inlined();
+        } else {
+            this.output.write(style);
+            this.inlined();
+            this.output.newLine();
+            this.output.lines(value, indentation, "", false);
+        }
+    }
+
+    /**
+     * Write the inline comment, if there is one.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void inlined() throws IOException {
+        if (!this.inline.isEmpty()) {
+            this.output.write(" # ");
+            this.output.write(this.inline);
+        }
+    }
+
+    /**
+     * Start a mapping or sequence.
+     * @param mapping Is it a mapping?
+     * @return Level of the new node.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private Level begin(final boolean mapping) throws IOException {
+        this.inline = "";
+        final Level parent = this.levels.peek();
+        final Level level;
+        if (parent != null) {
+            this.value(parent);
+            level = new Level(mapping, parent.indentation + 2, true);
+        } else if (this.documents > 0) {
+            this.rootAllowed();
+            this.comment = "";
+            level = new Level(mapping, 2, true);
+        } else {
+            this.rootAllowed();
+            if (!this.comment.trim().isEmpty()) {
+                this.output.comment(this.comment, 0);
+                this.output.write("---");
+                this.output.newLine();
+            }
+            this.comment = "";
+            level = new Level(mapping, 0, false);
+        }
+        return level;
+    }
+
+    /**
+     * Write a scalar as the root node.
+     * @param value Value of the scalar.
+     * @param style Indicator of a block scalar or PLAIN.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void rootScalar(final String value, final char style)
+        throws IOException {
+        this.rootAllowed();
+        final String text;
+        if (value == null) {
+            text = "";
+        } else {
+            text = value;
+        }
+        if (this.documents > 0 && text.isEmpty()) {
+            this.output.write(" null");
+        } else if (this.documents > 0) {
+            this.output.newLine();
+            this.text(text, style, 4);
+        } else {
+            this.output.write("---");
+            this.output.newLine();
+            if (!this.comment.trim().isEmpty()) {
+                this.output.comment(this.comment, 0);
+            }
+            this.text(text, style, 2);
+            this.output.newLine();
+            this.output.write("...");
+        }
+        this.comment = "";
+    }
+
+    /**
+     * Make sure a root node can be written now.
+     */
+    private void rootAllowed() {
+        if (!this.root) {
+            throw new IllegalStateException(
+                "The root node was already written, use document() to "
+                + "write more documents."
+            );
+        }
+        this.root = false;
+    }
+
+    /**
+     * Get ready to write a value in the given level: after a key of
+     * a mapping or as the next element of a sequence.
+     * @param level Current level.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void value(final Level level) throws IOException {
+        if (level.mapping && !level.awaiting) {
+            throw new IllegalStateException(
+                "A value in a mapping has to follow a key."
+            );
+        }
+        if (!level.mapping) {
+            this.child(level);
+            this.output.write('-');
+            level.count = level.count + 1;
+        }
+    }
+
+    /**
+     * A value was ended in the given level.
+     * @param level Current level.
+     */
+    private void ended(final Level level) {
+        if (level.mapping) {
+            level.awaiting = false;
+            level.count = level.count + 1;
+        }
+    }
+
+    /**
+     * Start a new line for a key or element in the given level, with its
+     * comment, if there is one.
+     * @param level Current level.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void child(final Level level) throws IOException {
+        if (level.count > 0 || level.lead) {
+            this.output.newLine();
+        }
+        if (!this.comment.trim().isEmpty()) {
+            this.output.comment(this.comment, level.indentation);
+        }
+        this.comment = "";
+        this.output.indent(level.indentation);
+    }
+
+    /**
+     * Write the comment of the given node, if it has one.
+     * @param writer Writer.
+     * @param node Node.
+     * @throws IOException If any I/O problem occurs.
+     */
+    static void commentOf(final YamlWriter writer, final YamlNode node)
+        throws IOException {
+        if (node != null) {
+            final Comment comment = node.comment();
+            final String value;
+            if (comment instanceof ScalarComment) {
+                value = ((ScalarComment) comment).above().value();
+            } else if (comment == null) {
+                value = "";
+            } else {
+                value = comment.value();
+            }
+            if (!value.trim().isEmpty()) {
+                writer.comment(value);
+            }
+        }
+    }
+
+    /**
+     * Write the given scalar in its own style, with its inline comment,
+     * the same way {@link RtYamlPrinter} prints it.
+     * @param writer Writer.
+     * @param scalar Scalar.
+     * @throws IOException If any I/O problem occurs.
+     */
+    static void scalarOf(final YamlWriter writer, final Scalar scalar)
+        throws IOException {
+        final Comment comment = scalar.comment();
+        if (RtYamlPrinter.folded(scalar)) {
+            final StringBuilder value = new StringBuilder();
+            for (final String line : RtYamlPrinter.unfolded(scalar)) {
+                if (value.length() > 0) {
+                    value.append(System.lineSeparator());
+                }
+                value.append(line.trim());
+            }
+            writer.inlineComment(RtYamlWriter.text(comment))
+                .folded(value.toString());
+        } else if (RtYamlPrinter.literal(scalar)) {
+            writer.inlineComment(RtYamlWriter.text(comment))
+                .literal(scalar.value());
+        } else {
+            if (comment instanceof ScalarComment) {
+                writer.inlineComment(
+                    ((ScalarComment) comment).inline().value()
+                );
+            }
+            writer.scalar(scalar.value());
+        }
+    }
+
+    /**
+     * Text of a comment.
+     * @param comment Comment or null.
+     * @return Text, empty if there is no comment.
+     */
+    private static String text(final Comment comment) {
+        final String text;
+        if (comment == null) {
+            text = "";
+        } else {
+            text = comment.value();
+        }
+        return text;
+    }
+
+    /**
+     * An open mapping or sequence.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Level {
+
+        /**
+         * Is it a mapping (or a sequence)?
+         */
+        private final boolean mapping;
+
+        /**
+         * Indentation of its keys or elements.
+         */
+        private final int indentation;
+
+        /**
+         * Does its first key or element start on a new line?
+         */
+        private final boolean lead;
+
+        /**
+         * Number of written entries or elements.
+         */
+        private int count;
+
+        /**
+         * Was a key written, whose value did not end yet?
+         */
+        private boolean awaiting;
+
+        /**
+         * Ctor.
+         * @param mapping Is it a mapping (or a sequence)?
+         * @param indentation Indentation of its keys or elements.
+         * @param lead Does its first key or element start on a new line?
+         */
+        Level(final boolean mapping, final int indentation,
+            final boolean lead) {
+            this.mapping = mapping;
+            this.indentation = indentation;
+            this.lead = lead;
+        }
+    }
+}
@@ -27,6 +27,11 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
 /**
  * Yaml Scalar.
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -46,4 +51,79 @@ public interface Scalar extends YamlNode {
      *  supposed to be.
      */
     String value();
+
+    /**
+     * View of this scalar's value. Read block scalars return a lazy view
+     * over their lines, which does not build the whole value unless
+     * toString() is called.
+     * @return CharSequence, empty if the value is null.
+     */
+    default CharSequence chars() {
+        final String value = this.value();
+        final CharSequence chars;
+        if (value == null) {
+            chars = "";
+        } else {
+            chars = value;
+        }
+        return chars;
+    }
+
+    /**
+     * Open a Reader over this scalar's value. Use it to stream large
+     * block scalars (certificates, scripts etc) without building
+     * their whole value first.
+     * @return Reader, over nothing if the value is null.
+     */
+    default Reader openReader() {
+        return new StringReader(this.chars().toString());
+    }
+
+    /**
+     * Decode the base64 value of a !!binary scalar. The bytes are decoded
+     * directly from {@link #chars()}, skipping line breaks, indentation
+     * and the !!binary tag. The scalar must be tagged: plain scalars
+     * have the tag in their value (e.g. "key: !!binary aGk="), read block
+     * scalars on the line where they start (e.g. "key: !!binary |").
+     * @return Decoded bytes.
+     * @throws com.amihaiemil.eoyaml.exceptions.YamlReadingException
+     *  If the scalar is not tagged !!binary or the value is not valid
+     *  base64.
+     */
+    default byte[] bytes() {
+        final Base64Chars encoded = Base64Chars.binary(this);
+        final byte[] bytes = new byte[encoded.size()];
+        encoded.decode(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Decode the base64 value of a !!binary scalar into a new, direct,
+     * ByteBuffer, ready to be read. See {@link #bytes()}.
+     * @return ByteBuffer with the decoded bytes.
+     * @throws com.amihaiemil.eoyaml.exceptions.YamlReadingException
+     *  If the scalar is not tagged !!binary or the value is not valid
+     *  base64.
+     */
+    default ByteBuffer asByteBuffer() {
+        final Base64Chars encoded = Base64Chars.binary(this);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.size());
+        ((Buffer) encoded.decode(buffer)).flip();
+        return buffer;
+    }
+
+    /**
+     * Decode the base64 value of a !!binary scalar into the given
+     * ByteBuffer, starting at its current position. See {@link #bytes()}.
+     * @param target Heap or direct ByteBuffer where to write the bytes.
+     * @return The target, positioned after the last decoded byte.
+     * @throws com.amihaiemil.eoyaml.exceptions.YamlReadingException
+     *  If the scalar is not tagged !!binary or the value is not valid
+     *  base64.
+     * @throws java.nio.BufferOverflowException If the target does not
+     *  have enough space left.
+     */
+    default ByteBuffer asByteBuffer(final ByteBuffer target) {
+        return Base64Chars.binary(this).decode(target);
+    }
 }
@@ -180,6 +180,21 @@ final class Skip implements YamlLines {
             return this.current.indentation();
         }
 
+        @Override
+        public int row() {
+            return this.current.row();
+        }
+
+        @Override
+        public int offset() {
+            return this.current.offset();
+        }
+
+        @Override
+        public int column() {
+            return this.current.column();
+        }
+
         /**
          * Previous line. Usually a skip {@link Line}
          * @return YamlLine.
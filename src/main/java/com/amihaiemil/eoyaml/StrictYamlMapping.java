@@ -27,6 +27,8 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -64,6 +66,11 @@ public final class StrictYamlMapping extends BaseYamlMapping {
         return this.decorated.keys();
     }
 
+    @Override
+    public Collection<Map.Entry<YamlNode, YamlNode>> entries() {
+        return this.decorated.entries();
+    }
+
     @Override
     public YamlNode value(final YamlNode key) {
         YamlNode found = this.decorated.value(key);
@@ -75,6 +82,16 @@ public final class StrictYamlMapping extends BaseYamlMapping {
         return found;
     }
 
+    @Override
+    public Mark mark() {
+        return this.decorated.mark();
+    }
+
+    @Override
+    public void accept(final YamlVisitor visitor) {
+        this.decorated.accept(visitor);
+    }
+
     @Override
     public Comment comment() {
         return this.decorated.comment();
@@ -142,6 +142,16 @@ public final class StrictYamlSequence extends BaseYamlSequence {
         return found;
     }
 
+    @Override
+    public Mark mark() {
+        return this.decorated.mark();
+    }
+
+    @Override
+    public void accept(final YamlVisitor visitor) {
+        this.decorated.accept(visitor);
+    }
+
     @Override
     public Comment comment() {
         return this.decorated.comment();
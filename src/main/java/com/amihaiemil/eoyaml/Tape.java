@@ -0,0 +1,364 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact representation of a YAML tree, in the spirit of a JSON "tape":
+ * the nodes are laid out depth-first in a few parallel arrays and all
+ * the scalars share one char buffer. Every node costs 13 bytes (kind,
+ * child count or scalar length, end of its subtree and offset of its
+ * scalar) plus the chars of its value; the YamlNodes handed out
+ * by {@link #node(int)} are flyweights over these arrays.<br><br>
+ *
+ * The children of a node follow it directly; the children of a mapping
+ * are its keys and values, alternating. A folded block scalar is
+ * followed, inside its subtree, by its unfolded lines, one scalar each,
+ * so it can be printed the way it was written. Comments are not kept.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Tape {
+
+    /**
+     * A mapping.
+     */
+    static final byte MAPPING = 0;
+
+    /**
+     * A sequence.
+     */
+    static final byte SEQUENCE = 1;
+
+    /**
+     * A scalar.
+     */
+    static final byte SCALAR = 2;
+
+    /**
+     * A literal block scalar.
+     */
+    static final byte LITERAL = 3;
+
+    /**
+     * A missing (null) value.
+     */
+    static final byte NULL = 4;
+
+    /**
+     * A folded block scalar.
+     */
+    static final byte FOLDED = 5;
+
+    /**
+     * Kind of every node.
+     */
+    private byte[] kinds;
+
+    /**
+     * Number of children of a mapping or sequence; length of a scalar,
+     * -1 if the scalar's value is null.
+     */
+    private int[] counts;
+
+    /**
+     * Index just after the subtree of every node (index of its next
+     * sibling, if it has one).
+     */
+    private int[] ends;
+
+    /**
+     * Offset of every scalar in the chars buffer.
+     */
+    private int[] offsets;
+
+    /**
+     * Chars of all the scalars.
+     */
+    private char[] chars;
+
+    /**
+     * Number of nodes.
+     */
+    private int size;
+
+    /**
+     * Number of used chars.
+     */
+    private int length;
+
+    /**
+     * Ctor.
+     * @param root Root of the tree to lay out (mapping, sequence or scalar).
+     */
+    Tape(final YamlNode root) {
+        this.kinds = new byte[16];
+        this.counts = new int[16];
+        this.ends = new int[16];
+        this.offsets = new int[16];
+        this.chars = new char[256];
+        this.append(root);
+        this.kinds = Arrays.copyOf(this.kinds, this.size);
+        this.counts = Arrays.copyOf(this.counts, this.size);
+        this.ends = Arrays.copyOf(this.ends, this.size);
+        this.offsets = Arrays.copyOf(this.offsets, this.size);
+        this.chars = Arrays.copyOf(this.chars, this.length);
+    }
+
+    /**
+     * Number of nodes on this tape.
+     * @return Integer.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Kind of the node at the given index.
+     * @param index Index of the node.
+     * @return One of the kind constants.
+     */
+    byte kind(final int index) {
+        return this.kinds[index];
+    }
+
+    /**
+     * Number of children of the mapping or sequence at the given index.
+     * @param index Index of the node.
+     * @return Integer.
+     */
+    int count(final int index) {
+        return this.counts[index];
+    }
+
+    /**
+     * Index just after the subtree of the given node.
+     * @param index Index of the node.
+     * @return Integer.
+     */
+    int end(final int index) {
+        return this.ends[index];
+    }
+
+    /**
+     * Value of the scalar at the given index.
+     * @param index Index of the scalar.
+     * @return String or null, if the scalar's value is null.
+     */
+    String value(final int index) {
+        final String value;
+        if (this.counts[index] < 0) {
+            value = null;
+        } else {
+            value = new String(
+                this.chars, this.offsets[index], this.counts[index]
+            );
+        }
+        return value;
+    }
+
+    /**
+     * Chars of the scalar at the given index, without copying them.
+     * @param index Index of the scalar.
+     * @return CharSequence, empty if the scalar's value is null.
+     */
+    CharSequence chars(final int index) {
+        return CharBuffer.wrap(
+            this.chars, this.offsets[index], Math.max(this.counts[index], 0)
+        ).asReadOnlyBuffer();
+    }
+
+    /**
+     * Does the scalar at the given index have the given value? Nothing is
+     * allocated to answer.
+     * @param index Index of the scalar.
+     * @param value Value.
+     * @return True or false.
+     */
+    boolean matches(final int index, final String value) {
+        boolean matches = this.kinds[index] == SCALAR
+            || this.kinds[index] == LITERAL
+            || this.kinds[index] == FOLDED;
+        if (matches && this.counts[index] == value.length()) {
+            final int offset = this.offsets[index];
+            for (int idx = 0; matches && idx < value.length(); ++idx) {
+                matches = this.chars[offset + idx] == value.charAt(idx);
+            }
+        } else {
+            matches = false;
+        }
+        return matches;
+    }
+
+    /**
+     * Flyweight YamlNode over the node at the given index.
+     * @param index Index of the node.
+     * @return YamlNode or null, if the node is a missing value.
+     */
+    YamlNode node(final int index) {
+        final YamlNode node;
+        final byte kind = this.kinds[index];
+        if (kind == MAPPING && this.counts[index] == 0) {
+            node = new EmptyYamlMapping(new TapeYamlMapping(this, index));
+        } else if (kind == MAPPING) {
+            node = new TapeYamlMapping(this, index);
+        } else if (kind == SEQUENCE && this.counts[index] == 0) {
+            node = new EmptyYamlSequence(new TapeYamlSequence(this, index));
+        } else if (kind == SEQUENCE) {
+            node = new TapeYamlSequence(this, index);
+        } else if (kind == NULL) {
+            node = null;
+        } else {
+            node = new TapeScalar(this, index);
+        }
+        return node;
+    }
+
+    /**
+     * Append the given node, with its subtree.
+     * @param node YamlNode or null.
+     */
+    private void append(final YamlNode node) {
+        final int index = this.next();
+        if (node == null) {
+            this.kinds[index] = NULL;
+        } else if (node.type() == Node.SCALAR) {
+            this.scalar(index, node.asScalar());
+        } else if (node.type() == Node.MAPPING) {
+            this.kinds[index] = MAPPING;
+            int count = 0;
+            for (final Map.Entry<YamlNode, YamlNode> entry
+                : node.asMapping().entries()) {
+                this.append(entry.getKey());
+                this.append(entry.getValue());
+                count += 2;
+            }
+            this.counts[index] = count;
+        } else if (node.type() == Node.SEQUENCE) {
+            this.kinds[index] = SEQUENCE;
+            int count = 0;
+            for (final YamlNode value : node.asSequence().values()) {
+                this.append(value);
+                ++count;
+            }
+            this.counts[index] = count;
+        } else {
+            throw new IllegalArgumentException(
+                "Only mappings, sequences and scalars can be laid out on "
+                + "a tape, not streams."
+            );
+        }
+        this.ends[index] = this.size;
+    }
+
+    /**
+     * Copy the value of the given scalar to the chars buffer. The unfolded
+     * lines of a folded scalar follow it.
+     * @param index Index of the scalar.
+     * @param scalar Scalar.
+     */
+    private void scalar(final int index, final Scalar scalar) {
+        this.kinds[index] = Tape.kind(scalar);
+        this.value(index, scalar.value());
+        if (this.kinds[index] == FOLDED) {
+            for (final String line : RtYamlPrinter.unfolded(scalar)) {
+                final int unfolded = this.next();
+                this.kinds[unfolded] = SCALAR;
+                this.value(unfolded, line);
+                this.ends[unfolded] = this.size;
+            }
+        }
+    }
+
+    /**
+     * Copy a scalar's value to the chars buffer.
+     * @param index Index of the scalar.
+     * @param value Value or null.
+     */
+    private void value(final int index, final String value) {
+        this.offsets[index] = this.length;
+        if (value == null) {
+            this.counts[index] = -1;
+        } else {
+            this.reserve(value.length());
+            value.getChars(0, value.length(), this.chars, this.length);
+            this.counts[index] = value.length();
+            this.length += value.length();
+        }
+    }
+
+    /**
+     * Kind of the given scalar.
+     * @param scalar Scalar.
+     * @return LITERAL, FOLDED or SCALAR.
+     */
+    private static byte kind(final Scalar scalar) {
+        final byte kind;
+        if (RtYamlPrinter.literal(scalar)) {
+            kind = LITERAL;
+        } else if (RtYamlPrinter.folded(scalar)) {
+            kind = FOLDED;
+        } else {
+            kind = SCALAR;
+        }
+        return kind;
+    }
+
+    /**
+     * Reserve the index of a new node, growing the arrays if needed.
+     * @return Index of the new node.
+     */
+    private int next() {
+        if (this.size == this.kinds.length) {
+            final int grown = this.size * 2;
+            this.kinds = Arrays.copyOf(this.kinds, grown);
+            this.counts = Arrays.copyOf(this.counts, grown);
+            this.ends = Arrays.copyOf(this.ends, grown);
+            this.offsets = Arrays.copyOf(this.offsets, grown);
+        }
+        final int index = this.size;
+        this.size = index + 1;
+        return index;
+    }
+
+    /**
+     * Make room for more chars.
+     * @param more Number of chars to be added.
+     */
+    private void reserve(final int more) {
+        if (this.length + more > this.chars.length) {
+            this.chars = Arrays.copyOf(
+                this.chars, Math.max(this.chars.length * 2, this.length + more)
+            );
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scalar on a {@link Tape}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class TapeScalar extends BaseScalar {
+
+    /**
+     * Tape.
+     */
+    private final Tape tape;
+
+    /**
+     * Index of this scalar on the tape.
+     */
+    private final int index;
+
+    /**
+     * Ctor.
+     * @param tape Tape.
+     * @param index Index of this scalar on the tape.
+     */
+    TapeScalar(final Tape tape, final int index) {
+        this.tape = tape;
+        this.index = index;
+    }
+
+    @Override
+    public String value() {
+        return this.tape.value(this.index);
+    }
+
+    @Override
+    public CharSequence chars() {
+        return this.tape.chars(this.index);
+    }
+
+    @Override
+    public Comment comment() {
+        return new Concatenated(
+            new BuiltComment(this, ""),
+            new InlineComment(new BuiltComment(this, ""))
+        );
+    }
+
+    /**
+     * Was this scalar a literal block scalar?
+     * @return True or false.
+     */
+    boolean literal() {
+        return this.tape.kind(this.index) == Tape.LITERAL;
+    }
+
+    /**
+     * Was this scalar a folded block scalar?
+     * @return True or false.
+     */
+    boolean folded() {
+        return this.tape.kind(this.index) == Tape.FOLDED;
+    }
+
+    /**
+     * Lines of this folded block scalar, as they were written.
+     * @return List of lines, empty if this scalar was not folded.
+     */
+    List<String> unfolded() {
+        final List<String> unfolded = new ArrayList<>();
+        for (int idx = this.index + 1; idx < this.tape.end(this.index);
+            ++idx) {
+            unfolded.add(this.tape.value(idx));
+        }
+        return unfolded;
+    }
+}
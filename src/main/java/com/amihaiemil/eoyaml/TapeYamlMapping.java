@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * YamlMapping on a {@link Tape}. Nothing is materialized: the keys
+ * and values are looked up on the tape every time.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class TapeYamlMapping extends BaseYamlMapping {
+
+    /**
+     * Tape.
+     */
+    private final Tape tape;
+
+    /**
+     * Index of this mapping on the tape.
+     */
+    private final int index;
+
+    /**
+     * Ctor.
+     * @param tape Tape.
+     * @param index Index of this mapping on the tape.
+     */
+    TapeYamlMapping(final Tape tape, final int index) {
+        this.tape = tape;
+        this.index = index;
+    }
+
+    @Override
+    public Set<YamlNode> keys() {
+        final Set<YamlNode> keys = new LinkedHashSet<>();
+        int child = this.index + 1;
+        for (int idx = 0; idx < this.tape.count(this.index); idx += 2) {
+            keys.add(this.tape.node(child));
+            child = this.tape.end(this.tape.end(child));
+        }
+        return keys;
+    }
+
+    @Override
+    public YamlNode value(final YamlNode key) {
+        YamlNode value = null;
+        int child = this.index + 1;
+        for (int idx = 0; idx < this.tape.count(this.index); idx += 2) {
+            final int next = this.tape.end(child);
+            final boolean found;
+            if (key instanceof Scalar) {
+                found = this.tape.matches(child, ((Scalar) key).value());
+            } else {
+                found = key != null && key.equals(this.tape.node(child));
+            }
+            if (found) {
+                value = this.tape.node(next);
+                break;
+            }
+            child = this.tape.end(next);
+        }
+        return value;
+    }
+
+    @Override
+    public Collection<Map.Entry<YamlNode, YamlNode>> entries() {
+        final List<Map.Entry<YamlNode, YamlNode>> entries = new ArrayList<>(
+            this.tape.count(this.index) / 2
+        );
+        int child = this.index + 1;
+        for (int idx = 0; idx < this.tape.count(this.index); idx += 2) {
+            final int next = this.tape.end(child);
+            entries.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    this.tape.node(child), this.tape.node(next)
+                )
+            );
+            child = this.tape.end(next);
+        }
+        return entries;
+    }
+
+    @Override
+    public void accept(final YamlVisitor visitor) {
+        visitor.visitMappingStart(this);
+        int child = this.index + 1;
+        for (int idx = 0; idx < this.tape.count(this.index); idx += 2) {
+            final int next = this.tape.end(child);
+            visitor.visitKey(this.tape.node(child));
+            final YamlNode value = this.tape.node(next);
+            if (value != null) {
+                value.accept(visitor);
+            }
+            child = this.tape.end(next);
+        }
+        visitor.visitMappingEnd(this);
+    }
+
+    @Override
+    public Comment comment() {
+        return new BuiltComment(this, "");
+    }
+}
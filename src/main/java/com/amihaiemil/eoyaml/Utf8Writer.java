@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writer encoding UTF-8 straight into a reusable byte buffer, which is
+ * written to the underlying OutputStream in large chunks. ASCII chars,
+ * which make most of any YAML, are copied one byte each in a tight loop.
+ * Malformed surrogates are replaced with '?', just like
+ * {@link String#getBytes(java.nio.charset.Charset)} does.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Utf8Writer extends Writer {
+
+    /**
+     * Size of the buffers.
+     */
+    private static final int SIZE = 8192;
+
+    /**
+     * Bytes needed to encode any char (a '?' for a lone high surrogate
+     * followed by 3 bytes).
+     */
+    private static final int MAX = 4;
+
+    /**
+     * Where the bytes go.
+     */
+    private final OutputStream out;
+
+    /**
+     * Encoded bytes, not written yet.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Chars copied from Strings before encoding.
+     */
+    private final char[] chars;
+
+    /**
+     * Number of encoded bytes in the buffer.
+     */
+    private int count;
+
+    /**
+     * High surrogate waiting for its low surrogate, 0 if there is none.
+     */
+    private char high;
+
+    /**
+     * Ctor.
+     * @param out Where the bytes go.
+     */
+    Utf8Writer(final OutputStream out) {
+        this.out = out;
+        this.bytes = new byte[Utf8Writer.SIZE];
+        this.chars = new char[Utf8Writer.SIZE];
+    }
+
+    @Override
+    public void write(final int character) throws IOException {
+        this.room();
+        this.encode((char) character);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len)
+        throws IOException {
+        int idx = off;
+        final int end = off + len;
+        while (idx < end) {
+            final int chunk = Math.min(end - idx, this.chars.length);
+            str.getChars(idx, idx + chunk, this.chars, 0);
+            this.write(this.chars, 0, chunk);
+            idx = idx + chunk;
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len)
+        throws IOException {
+        int idx = off;
+        final int end = off + len;
+        while (idx < end) {
+            this.room();
+            if (this.high == 0) {
+                final int limit = Math.min(
+                    end, idx + this.bytes.length - this.count
+                );
+                while (idx < limit && cbuf[idx] < 0x80) {
+                    this.bytes[this.count] = (byte) cbuf[idx];
+                    this.count = this.count + 1;
+                    idx = idx + 1;
+                }
+            }
+            if (idx < end && (cbuf[idx] >= 0x80 || this.high != 0)) {
+                this.room();
+                this.encode(cbuf[idx]);
+                idx = idx + 1;
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.drain();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.high != 0) {
+                this.room();
+                this.put('?');
+                this.high = 0;
+            }
+            this.drain();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Encode one char. There has to be room for {@link #MAX} bytes.
+     * @param character Char.
+     */
+    private void encode(final char character) {
+        boolean pair = false;
+        if (this.high != 0) {
+            if (Character.isLowSurrogate(character)) {
+                this.codePoint(Character.toCodePoint(this.high, character));
+                pair = true;
+            } else {
+                this.put('?');
+            }
+            this.high = 0;
+        }
+        if (!pair) {
+            this.single(character);
+        }
+    }
+
+    /**
+     * Encode a char which is not the second of a surrogate pair.
+     * @param character Char.
+     */
+    private void single(final char character) {
+        if (character < 0x80) {
+            this.put(character);
+        } else if (character < 0x800) {
+            this.put(0xC0 | character >> 6);
+            this.put(0x80 | character & 0x3F);
+        } else if (Character.isHighSurrogate(character)) {
+            this.high = character;
+        } else if (Character.isLowSurrogate(character)) {
+            this.put('?');
+        } else {
+            this.put(0xE0 | character >> 12);
+            this.put(0x80 | character >> 6 & 0x3F);
+            this.put(0x80 | character & 0x3F);
+        }
+    }
+
+    /**
+     * Encode a supplementary code point, on 4 bytes.
+     * @param point Code point.
+     */
+    private void codePoint(final int point) {
+        this.put(0xF0 | point >> 18);
+        this.put(0x80 | point >> 12 & 0x3F);
+        this.put(0x80 | point >> 6 & 0x3F);
+        this.put(0x80 | point & 0x3F);
+    }
+
+    /**
+     * Put a byte in the buffer.
+     * @param value Byte.
+     */
+    private void put(final int value) {
+        this.bytes[this.count] = (byte) value;
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Make sure there is room for any char in the buffer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void room() throws IOException {
+        if (this.bytes.length - this.count < Utf8Writer.MAX) {
+            this.drain();
+        }
+    }
+
+    /**
+     * Write the buffered bytes to the OutputStream.
+     * @throws IOException If any I/O problem occurs.
+     */
+    private void drain() throws IOException {
+        if (this.count > 0) {
+            this.out.write(this.bytes, 0, this.count);
+            this.count = 0;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The original lines of a read mapping or sequence, which can be copied
+ * as they are, re-indented, instead of printing the node again key by key.
+ * Read nodes are never changed, so their lines are always up-to-date.
+ * The lines are copied only if the node starts on the line after
+ * its key or dash and it has no anchors or aliases (these may point
+ * outside of it) and if its lines are nested with the printer's
+ * indentation step. Comments at the end of the node are left out, since
+ * they are the comments of the next node.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+final class Verbatim {
+
+    /**
+     * Line just before the node.
+     */
+    private final YamlLine previous;
+
+    /**
+     * All the lines of the document.
+     */
+    private final AllYamlLines all;
+
+    /**
+     * Ctor.
+     * @param previous Line just before the node.
+     * @param all All the lines of the document.
+     */
+    Verbatim(final YamlLine previous, final AllYamlLines all) {
+        this.previous = previous;
+        this.all = all;
+    }
+
+    /**
+     * Print the lines of the node, each on a new line, with the given
+     * indentation.
+     * @param output Output.
+     * @param indentation Indentation of the first line.
+     * @param step Indentation step of the printer.
+     * @return True if the lines were printed, false if the node has to be
+     *  printed normally.
+     * @throws IOException If any I/O problem occurs.
+     */
+    boolean print(final Output output, final int indentation,
+        final int step) throws IOException {
+        final List<YamlLine> lines = this.lines();
+        final boolean copied = !lines.isEmpty()
+            && Verbatim.stepped(lines, step);
+        if (copied) {
+            int base = 0;
+            for (final YamlLine line : lines) {
+                if (!line.trimmed().startsWith("#")) {
+                    base = line.indentation();
+                    break;
+                }
+            }
+            for (final YamlLine line : lines) {
+                final int spaces = line.indentation();
+                output.newLine();
+                output.indent(indentation + spaces - Math.min(base, spaces));
+                output.write(line.value().substring(spaces));
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Are the given lines nested with the given indentation step? Every
+     * line which is indented more than the one before it has to be
+     * indented exactly one step more. Comments do not count.
+     * @param lines Lines.
+     * @param step Indentation step.
+     * @return True or false.
+     */
+    private static boolean stepped(final List<YamlLine> lines,
+        final int step) {
+        boolean stepped = true;
+        int previous = -1;
+        for (final YamlLine line : lines) {
+            if (!line.trimmed().startsWith("#")) {
+                final int spaces = line.indentation();
+                stepped = stepped
+                    && (previous < 0 || spaces <= previous
+                    || spaces - previous == step);
+                previous = spaces;
+            }
+        }
+        return stepped;
+    }
+
+    /**
+     * The lines of the node.
+     * @return Lines, empty if the node cannot be copied.
+     */
+    List<YamlLine> lines() {
+        final List<YamlLine> lines = new ArrayList<>();
+        final String start = this.previous.trimmed();
+        if ((start.endsWith(":") || "-".equals(start))
+            && !Verbatim.anchored(this.previous)) {
+            final Iterator<YamlLine> after = this.after();
+            int significant = 0;
+            while (after.hasNext()) {
+                final YamlLine line = after.next();
+                final String trimmed = line.trimmed();
+                if (trimmed.startsWith("#")) {
+                    lines.add(line);
+                } else if (line.indentation() <= this.previous.indentation()
+                    || trimmed.startsWith("---")
+                    || trimmed.startsWith("...")) {
+                    break;
+                } else if (Verbatim.anchored(line)) {
+                    significant = 0;
+                    break;
+                } else {
+                    lines.add(line);
+                    significant = lines.size();
+                }
+            }
+            lines.subList(significant, lines.size()).clear();
+        }
+        return lines;
+    }
+
+    /**
+     * Iterate over the lines after the previous one. If the lines
+     * are in a random access list, the first one is found by binary search.
+     * @return Iterator.
+     */
+    private Iterator<YamlLine> after() {
+        final Collection<YamlLine> original = this.all.original();
+        final Iterator<YamlLine> after;
+        if (original instanceof List && original instanceof RandomAccess) {
+            final List<YamlLine> list = (List<YamlLine>) original;
+            int low = 0;
+            int high = list.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (list.get(mid).number() <= this.previous.number()) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            after = list.subList(low, list.size()).iterator();
+        } else {
+            final List<YamlLine> list = new ArrayList<>();
+            for (final YamlLine line : original) {
+                if (line.number() > this.previous.number()) {
+                    list.add(line);
+                }
+            }
+            after = list.iterator();
+        }
+        return after;
+    }
+
+    /**
+     * Might the line have an anchor or an alias?
+     * @param line Line.
+     * @return True or false.
+     */
+    private static boolean anchored(final YamlLine line) {
+        final String value = line.value();
+        return value.indexOf('&') >= 0 || value.indexOf('*') >= 0;
+    }
+}
@@ -30,12 +30,16 @@ package com.amihaiemil.eoyaml;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Yaml.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
+ * @checkstyle ClassFanOutComplexity (1000 lines)
  * @todo #231:60min Wiki documentation is needed for YAML mappings from JSON.
  *  (fromJsonObject() and fromJsonArray()).
  */
@@ -94,6 +98,14 @@ public final class Yaml {
         return new RtYamlStreamBuilder();
     }
 
+    /**
+     * Create a mutable, NOT thread-safe, {@link YamlStreamBuilder}.
+     * @return Builder of YamlStream.
+     */
+    public static YamlStreamBuilder createMutableYamlStreamBuilder() {
+        return new MutableYamlStreamBuilder();
+    }
+
     /**
      * Create a {@link YamlInput} from a File.
      * @return YamlInput, reader of Yaml.
@@ -112,7 +124,17 @@ public final class Yaml {
      * @return YamlInput, reader of Yaml.
      */
     public static YamlInput createYamlInput(final String input) {
-        return Yaml.createYamlInput(new ByteArrayInputStream(input.getBytes()));
+        return Yaml.createYamlInput((CharSequence) input);
+    }
+
+    /**
+     * Create a {@link YamlInput} from a CharSequence. The characters are
+     * parsed directly, without being encoded to bytes and decoded back.
+     * @param input CharSequence to read from.
+     * @return YamlInput, reader of Yaml.
+     */
+    public static YamlInput createYamlInput(final CharSequence input) {
+        return new RtYamlInput(input);
     }
 
     /**
@@ -124,6 +146,46 @@ public final class Yaml {
         return new RtYamlInput(input);
     }
 
+    /**
+     * Create a {@link YamlInput} from a File, which will respect the
+     * given limits while reading.
+     * @param input File to read from.
+     * @param limits Limits to respect while reading.
+     * @return YamlInput, reader of Yaml.
+     * @throws FileNotFoundException If the file is not found.
+     */
+    public static YamlInput createYamlInput(
+        final File input, final YamlLimits limits
+    ) throws FileNotFoundException {
+        return Yaml.createYamlInput(new FileInputStream(input), limits);
+    }
+
+    /**
+     * Create a {@link YamlInput} from a CharSequence, which will respect the
+     * given limits while reading.
+     * @param input CharSequence to read from.
+     * @param limits Limits to respect while reading.
+     * @return YamlInput, reader of Yaml.
+     */
+    public static YamlInput createYamlInput(
+        final CharSequence input, final YamlLimits limits
+    ) {
+        return new RtYamlInput(input, limits);
+    }
+
+    /**
+     * Create a {@link YamlInput} from an InputStream, which will respect the
+     * given limits while reading.
+     * @param input InputStream to read from.
+     * @param limits Limits to respect while reading.
+     * @return YamlInput, reader of Yaml.
+     */
+    public static YamlInput createYamlInput(
+        final InputStream input, final YamlLimits limits
+    ) {
+        return new RtYamlInput(input, limits);
+    }
+
     /**
      * Create a YamlPrinter to write a YamlNode somewhere. If you want to
      * print a YamlNode to String, just use YamlNode.toString() -- it is a
@@ -141,6 +203,150 @@ public final class Yaml {
         return new RtYamlPrinter(destination);
     }
 
+    /**
+     * Create a YamlStreamWriter, which prints documents, one by one,
+     * to the destination, until it is closed.
+     * @param destination Writer where the documents will be printed.
+     * @return YamlStreamWriter.
+     */
+    public static YamlStreamWriter createYamlStreamWriter(
+        final Writer destination
+    ) {
+        return Yaml.createYamlPrinterBuilder().buildStreamWriter(destination);
+    }
+
+    /**
+     * Create a YamlStreamWriter, which prints UTF-8 encoded documents,
+     * one by one, to the destination, until it is closed.
+     * @param destination OutputStream where the documents will be printed.
+     * @return YamlStreamWriter.
+     */
+    public static YamlStreamWriter createYamlStreamWriter(
+        final OutputStream destination
+    ) {
+        return Yaml.createYamlPrinterBuilder().buildStreamWriter(destination);
+    }
+
+    /**
+     * Compile the given template into a plan which prints documents of
+     * the same shape, given only their values.
+     * @param template YamlMapping or YamlSequence.
+     * @return YamlPrintPlan.
+     */
+    public static YamlPrintPlan createYamlPrintPlan(final YamlNode template) {
+        return Yaml.createYamlPrinterBuilder().buildPlan(template);
+    }
+
+    /**
+     * Create a builder of a YamlPrinter with custom options (e.g. no
+     * comments, a different indentation or flow style for small
+     * collections of scalars).
+     * @return YamlPrinterBuilder.
+     */
+    public static YamlPrinterBuilder createYamlPrinterBuilder() {
+        return new RtYamlPrinterBuilder();
+    }
+
+    /**
+     * Create a YamlPrinter which copies the original lines of the
+     * read mappings and sequences (re-indented), instead of printing
+     * them again key by key. Only the nodes which were added or
+     * changed are printed normally. Use it to save big, read YAML files
+     * after small changes (e.g. with MergedYamlMapping):
+     * <pre>
+     *   final YamlMapping read = Yaml.createYamlInput(file).readYamlMapping();
+     *   final YamlMapping changed = new MergedYamlMapping(read, ...);
+     *   Yaml.createVerbatimYamlPrinter(writer).print(changed);
+     * </pre>
+     * The copied lines keep their original quotes and comments. A read
+     * node is copied only if its lines are nested with the indentation
+     * step of the printer (2 spaces); otherwise it is printed normally.
+     * @param destination Writer where the YamlNode will be printed.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createVerbatimYamlPrinter(
+        final Writer destination
+    ) {
+        return Yaml.createYamlPrinterBuilder().verbatim().build(destination);
+    }
+
+    /**
+     * Create a YamlPrinter which prints the documents of big streams and
+     * the children of big mappings and sequences in parallel, in chunks,
+     * on the common ForkJoinPool. The output is the same as the one of
+     * {@link #createYamlPrinter(Writer)}.
+     * @param destination Writer where the YamlNode will be printed.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createParallelYamlPrinter(
+        final Writer destination
+    ) {
+        return Yaml.createParallelYamlPrinter(
+            destination, ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Create a YamlPrinter which prints the documents of big streams and
+     * the children of big mappings and sequences in parallel, in chunks,
+     * on the given ForkJoinPool. The output is the same as the one of
+     * {@link #createYamlPrinter(Writer)}.
+     * @param destination Writer where the YamlNode will be printed.
+     * @param pool Pool where the chunks are printed.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createParallelYamlPrinter(
+        final Writer destination,
+        final ForkJoinPool pool
+    ) {
+        return Yaml.createYamlPrinterBuilder().parallel(pool)
+            .build(destination);
+    }
+
+    /**
+     * Create a YamlPrinter, to print UTF-8 encoded YAML straight into
+     * the given OutputStream, without an intermediate Writer.
+     * @param destination OutputStream where the YamlNode will be printed.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createYamlPrinter(
+        final OutputStream destination
+    ) {
+        return Yaml.createYamlPrinterBuilder().build(destination);
+    }
+
+    /**
+     * Create a YamlPrinter, to print UTF-8 encoded YAML straight into
+     * the given (blocking) channel, e.g. a FileChannel.
+     * @param destination Channel where the YamlNode will be printed.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createYamlPrinter(
+        final WritableByteChannel destination
+    ) {
+        return Yaml.createYamlPrinter(Channels.newOutputStream(destination));
+    }
+
+    /**
+     * Create a YamlWriter, to write YAML as it goes, without building
+     * a tree first.
+     * @param destination Writer where the YAML will be written.
+     * @return YamlWriter.
+     */
+    public static YamlWriter createYamlWriter(final Writer destination) {
+        return new RtYamlWriter(new Output(destination));
+    }
+
+    /**
+     * Create a YamlWriter, to write UTF-8 encoded YAML as it goes,
+     * without building a tree first.
+     * @param destination OutputStream where the YAML will be written.
+     * @return YamlWriter.
+     */
+    public static YamlWriter createYamlWriter(final OutputStream destination) {
+        return Yaml.createYamlWriter(new Utf8Writer(destination));
+    }
+
     /**
      * Create a YAML dump to represent the given object as YAML.
      * @param object Object to dump.
@@ -27,7 +27,11 @@
  */
 package com.amihaiemil.eoyaml;
 
+import com.amihaiemil.eoyaml.exceptions.YamlIndentationException;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Yaml input.
@@ -51,6 +55,42 @@ public interface YamlInput {
      */
     YamlSequence readYamlSequence() throws IOException;
 
+    /**
+     * Read the given input as a Yaml mapping, creating the nodes
+     * with the given {@link NodeFactory}.
+     * @param factory Factory of the nodes.
+     * @return YamlMapping created by the factory.
+     * @throws IOException if the input cannot be read for some reason
+     */
+    default YamlMapping readYamlMapping(final NodeFactory factory)
+        throws IOException {
+        return new FactoryNodes(factory).mapping(this.readYamlMapping());
+    }
+
+    /**
+     * Read the given input as a Yaml sequence, creating the nodes
+     * with the given {@link NodeFactory}.
+     * @param factory Factory of the nodes.
+     * @return YamlSequence created by the factory.
+     * @throws IOException if the input cannot be read for some reason
+     */
+    default YamlSequence readYamlSequence(final NodeFactory factory)
+        throws IOException {
+        return new FactoryNodes(factory).sequence(this.readYamlSequence());
+    }
+
+    /**
+     * Read the given input as a Yaml stream, creating the documents'
+     * nodes with the given {@link NodeFactory}.
+     * @param factory Factory of the nodes.
+     * @return YamlStream of documents created by the factory.
+     * @throws IOException if the input cannot be read for some reason
+     */
+    default YamlStream readYamlStream(final NodeFactory factory)
+        throws IOException {
+        return new FactoryNodes(factory).stream(this.readYamlStream());
+    }
+
     /**
      * Read the given input as a Yaml stream.
      * @return Read YamlStream.
@@ -58,6 +98,28 @@ public interface YamlInput {
      */
     YamlStream readYamlStream() throws IOException;
 
+    /**
+     * Read the given input as a compact YAML mapping: the whole document
+     * is laid out in a few arrays and one char buffer, instead of a tree
+     * of objects. Use it for big documents which are kept in memory.
+     * Comments are not kept.
+     * @return Read YamlMapping.
+     * @throws IOException If the input cannot be read for some reason.
+     */
+    default YamlMapping readCompactYamlMapping() throws IOException {
+        return new Tape(this.readYamlMapping()).node(0).asMapping();
+    }
+
+    /**
+     * Read the given input as a compact YAML sequence, see
+     * {@link #readCompactYamlMapping()}.
+     * @return Read YamlSequence.
+     * @throws IOException If the input cannot be read for some reason.
+     */
+    default YamlSequence readCompactYamlSequence() throws IOException {
+        return new Tape(this.readYamlSequence()).node(0).asSequence();
+    }
+
     /**
      * Read the given input as a plain scalar. e.g.
      * <pre>
@@ -99,4 +161,36 @@ public interface YamlInput {
      * @throws IOException if the input cannot be read for some reason
      */
     Scalar readLiteralBlockScalar() throws IOException;
+
+    /**
+     * Go over the whole input once and collect all the indentation,
+     * structure and duplicate key problems, instead of failing at the
+     * first one like the read methods do. Useful for linting.
+     * The default implementation reads the whole stream and reports
+     * only the first problem, as a single Diagnostic: the one of the
+     * {@link YamlIndentationException} or {@link YamlReadingException}
+     * which stopped the reading. Its line is 0 if the message of the
+     * exception does not tell it, and its column is always 0. The YamlInputs
+     * created by {@link Yaml#createYamlInput(String)} and its siblings
+     * know the lines of their input and report all the problems.
+     * @return Found problems, in the order of the lines; empty if
+     *  there are none.
+     * @throws IOException if the input cannot be read for some reason
+     */
+    default List<Diagnostic> diagnose() throws IOException {
+        List<Diagnostic> problems;
+        try {
+            this.readYamlStream().toString();
+            problems = Collections.emptyList();
+        } catch (final YamlIndentationException ex) {
+            problems = Collections.singletonList(
+                new RtDiagnostic(Diagnostic.Kind.INDENTATION, ex)
+            );
+        } catch (final YamlReadingException ex) {
+            problems = Collections.singletonList(
+                new RtDiagnostic(Diagnostic.Kind.STRUCTURE, ex)
+            );
+        }
+        return problems;
+    }
 }
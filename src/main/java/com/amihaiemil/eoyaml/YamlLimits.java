@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limits respected when reading YAML. Use them when reading YAML which
+ * comes from untrusted sources:
+ * <pre>
+ *   final YamlMapping read = Yaml.createYamlInput(
+ *       input,
+ *       new YamlLimits()
+ *           .with(YamlLimits.Limit.INPUT_BYTES, 1024 * 1024)
+ *           .with(YamlLimits.Limit.DEPTH, 64)
+ *           .with(YamlLimits.Limit.ALIAS_EXPANSION, 1000)
+ *   ).readYamlMapping();
+ * </pre>
+ * All the limits except {@link Limit#ALIAS_EXPANSION} are checked while
+ * the input is first read, before any node is returned.
+ * This class is immutable and thread-safe.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class YamlLimits {
+
+    /**
+     * Limits which are not the default ones.
+     */
+    private final Map<Limit, Long> values;
+
+    /**
+     * Default limits.
+     */
+    public YamlLimits() {
+        this(new EnumMap<>(Limit.class));
+    }
+
+    /**
+     * Constructor.
+     * @param values Limits which are not the default ones.
+     */
+    private YamlLimits(final Map<Limit, Long> values) {
+        this.values = values;
+    }
+
+    /**
+     * Change a limit.
+     * @param limit Limit to change.
+     * @param max Maximum allowed value.
+     * @return New YamlLimits.
+     */
+    public YamlLimits with(final Limit limit, final long max) {
+        final Map<Limit, Long> changed = new EnumMap<>(Limit.class);
+        changed.putAll(this.values);
+        changed.put(limit, max);
+        return new YamlLimits(changed);
+    }
+
+    /**
+     * Maximum allowed value for a limit.
+     * @param limit Limit.
+     * @return Maximum allowed value.
+     */
+    public long max(final Limit limit) {
+        return this.values.getOrDefault(limit, limit.byDefault);
+    }
+
+    /**
+     * The limits. Exceeding any of them while reading results in a
+     * {@link com.amihaiemil.eoyaml.exceptions.YamlLimitException}.
+     * Except for {@link #ALIAS_EXPANSION}, there is no limit by default.
+     */
+    public enum Limit {
+
+        /**
+         * Maximum size of the input. Bytes are counted for InputStreams and
+         * Files, chars for CharSequences.
+         */
+        INPUT_BYTES(Long.MAX_VALUE),
+
+        /**
+         * Maximum number of chars on a line.
+         */
+        LINE_LENGTH(Long.MAX_VALUE),
+
+        /**
+         * Maximum nesting depth (number of indentation levels).
+         */
+        DEPTH(Long.MAX_VALUE),
+
+        /**
+         * Maximum number of keys in a mapping.
+         */
+        KEYS(Long.MAX_VALUE),
+
+        /**
+         * Maximum number of chars in a scalar. For block scalars, all
+         * the lines are counted.
+         */
+        SCALAR_LENGTH(Long.MAX_VALUE),
+
+        /**
+         * Maximum number of documents in a stream.
+         */
+        DOCUMENTS(Long.MAX_VALUE),
+
+        /**
+         * Maximum number of lines an alias can expand to, counting the
+         * lines of aliases nested within the anchored node as well. This
+         * protects against "billion laughs" YAML. Aliases are never
+         * copied, they all point to the same anchored node, but the
+         * expanded YAML still has to be walked when printing or comparing.
+         */
+        ALIAS_EXPANSION(100_000L);
+
+        /**
+         * Default value.
+         */
+        private final long byDefault;
+
+        /**
+         * Constructor.
+         * @param byDefault Default value.
+         */
+        Limit(final long byDefault) {
+            this.byDefault = byDefault;
+        }
+    }
+}
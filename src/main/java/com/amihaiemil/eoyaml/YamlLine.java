@@ -75,7 +75,7 @@ interface YamlLine extends Comparable<YamlLine> {
             }
             i++;
         }
-        return trimmed.trim();
+        return Anchors.unanchored(trimmed.trim());
     }
 
     /**
@@ -85,17 +85,27 @@ interface YamlLine extends Comparable<YamlLine> {
      * @return String line contents.
      */
     default String contents(final int previousIndent) {
-        String contents;
+        return this.value().substring(this.contentsStart(previousIndent));
+    }
+
+    /**
+     * Index where the contents of this line start, relative
+     * to the previous line's indentation.
+     * @param previousIndent Indentation of the previous line.
+     * @return Index in the value of this line.
+     */
+    default int contentsStart(final int previousIndent) {
+        final int start;
         int indentation = indentation();
         if (indentation == 0 && previousIndent <= 0) {
-            contents = this.value();
+            start = 0;
         } else if (indentation > previousIndent) {
-            contents = this.value().substring(previousIndent + 2);
+            start = previousIndent + 2;
         } else {
             throw new YamlReadingException("Literal must be indented "
                 + "at least 2 spaces from previous element.");
         }
-        return contents;
+        return start;
     }
 
     /**
@@ -140,6 +150,34 @@ interface YamlLine extends Comparable<YamlLine> {
      */
     int indentation();
 
+    /**
+     * Number of the line in the input (count starts from 0). It differs
+     * from {@link #number()} after lines which we split in two, such as
+     * "- key: value".
+     * @return Integer.
+     */
+    default int row() {
+        return this.number();
+    }
+
+    /**
+     * Number of chars from the beginning of the input until the first
+     * char of this line after the indentation.
+     * @return Integer or -1 if unknown.
+     */
+    default int offset() {
+        return -1;
+    }
+
+    /**
+     * Column of the first char of this line after the indentation, as it
+     * is in the input (count starts from 1).
+     * @return Integer.
+     */
+    default int column() {
+        return this.indentation() + 1;
+    }
+
     /**
      * Do the following line(s) require a deeper indentation than this line's?
      * @return True or false
@@ -31,6 +31,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * A Yaml mapping.
@@ -62,11 +63,59 @@ public interface YamlMapping extends YamlNode {
      */
     default Collection<YamlNode> values() {
         final List<YamlNode> values = new LinkedList<>();
+        for(final Map.Entry<YamlNode, YamlNode> entry : this.entries()) {
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Fetch the key:value pairs of this mapping, in order. Prefer this
+     * to iterating over {@link #keys()} and calling {@link #value(YamlNode)}
+     * for each key: implementations may produce all the pairs at once
+     * (e.g. the mappings read from an input do so in one pass).
+     * @return Collection of key:value entries.
+     */
+    default Collection<Map.Entry<YamlNode, YamlNode>> entries() {
+        final List<Map.Entry<YamlNode, YamlNode>> entries = new ArrayList<>();
         for(final YamlNode key : this.keys()) {
-            values.add(this.value(key));
+            entries.add(
+                new AbstractMap.SimpleImmutableEntry<>(key, this.value(key))
+            );
+        }
+        return entries;
+    }
+
+    /**
+     * Perform the given action on every key:value pair of this mapping,
+     * in order.
+     * @param action Action taking the key and the value.
+     */
+    default void forEach(final BiConsumer<YamlNode, YamlNode> action) {
+        for(final Map.Entry<YamlNode, YamlNode> entry : this.entries()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Fetch the values of several String keys at once. Implementations
+     * may find all of them in a single pass (e.g. the mappings read from
+     * an input do so), instead of looking up every key separately.
+     * @param keys String keys.
+     * @return Map of the found values by key, in the order of the given
+     *  keys. Missing keys are not in the Map.
+     */
+    default Map<String, YamlNode> values(final Collection<String> keys) {
+        final Map<String, YamlNode> values = new LinkedHashMap<>();
+        for (final String key : keys) {
+            final YamlNode value = this.value(key);
+            if (value != null) {
+                values.put(key, value);
+            }
         }
         return values;
     }
+
     /**
      * Get the Yaml mapping associated with the given key.
      * @param key String key
@@ -51,12 +51,55 @@ public interface YamlNode extends Comparable<YamlNode> {
      */
     Comment comment();
 
+    /**
+     * Position of this node in the input it was read from.
+     * @return Mark or null, if this node was not read from an input.
+     */
+    default Mark mark() {
+        return null;
+    }
+
     /**
      * Type of the node.
      * @return Node type.
      */
     Node type();
 
+    /**
+     * Traverse this node depth-first with the given visitor. The documents
+     * of a stream are visited one after the other.
+     * @param visitor Visitor.
+     */
+    default void accept(final YamlVisitor visitor) {
+        final Node type = this.type();
+        if (type == Node.SCALAR) {
+            visitor.visitScalar(this.asScalar());
+        } else if (type == Node.MAPPING) {
+            final YamlMapping mapping = this.asMapping();
+            visitor.visitMappingStart(mapping);
+            mapping.forEach(
+                (key, value) -> {
+                    visitor.visitKey(key);
+                    if (value != null) {
+                        value.accept(visitor);
+                    }
+                }
+            );
+            visitor.visitMappingEnd(mapping);
+        } else if (type == Node.SEQUENCE) {
+            final YamlSequence sequence = this.asSequence();
+            visitor.visitSequenceStart(sequence);
+            for (final YamlNode value : sequence.values()) {
+                value.accept(visitor);
+            }
+            visitor.visitSequenceEnd(sequence);
+        } else {
+            for (final YamlNode document : this.asStream().values()) {
+                document.accept(visitor);
+            }
+        }
+    }
+
     /**
      * Gives a String value of the node.
      * @return String value of the node.
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compiled template, which prints documents of the same shape (same
+ * keys, same nesting, same comments) given only their scalar values.
+ * The keys, indentation, dashes and comments of the template are
+ * computed once, so printing a document is mostly copying Strings:
+ * <pre>
+ *   final YamlPrintPlan plan = Yaml.createYamlPrintPlan(
+ *       Yaml.createYamlMappingBuilder()
+ *           .add("name", "")
+ *           .add("address", Yaml.createYamlMappingBuilder()
+ *               .add("city", "")
+ *               .add("zip", "")
+ *               .build())
+ *           .build()
+ *   );
+ *   plan.print(writer, "Mihai", "Bucharest", "012345");
+ * </pre>
+ * Every scalar value of the template is a slot, even if it is a key's
+ * value or an element of a sequence. The values are given in the order
+ * in which the template is printed (depth-first) and they are printed
+ * like plain scalars: quoted if needed (in canonical form, if the plan
+ * was built with {@link YamlPrinterBuilder#canonical()}), null if null
+ * or empty. The result is the same as printing, with a
+ * {@link YamlPrinter}, the template with its values replaced.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface YamlPrintPlan {
+
+    /**
+     * Number of values of a document.
+     * @return Number of slots.
+     */
+    int slots();
+
+    /**
+     * Print a document with the given values. The destination is
+     * not closed, so many documents can be printed to it, one after
+     * another.
+     * @param destination Writer where the document will be printed.
+     * @param values Values, as many as {@link #slots()}.
+     * @throws IOException If any I/O problem occurs.
+     */
+    void print(Writer destination, List<String> values) throws IOException;
+
+    /**
+     * Print a document with the given values. The destination is
+     * not closed.
+     * @param destination Writer where the document will be printed.
+     * @param values Values, as many as {@link #slots()}.
+     * @throws IOException If any I/O problem occurs.
+     */
+    default void print(final Writer destination, final String... values)
+        throws IOException {
+        this.print(destination, Arrays.asList(values));
+    }
+}
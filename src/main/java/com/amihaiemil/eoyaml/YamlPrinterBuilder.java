@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builder of a {@link YamlPrinter} with custom options. Every method
+ * returns a new builder, the original one is not changed. Example:
+ * <pre>
+ *   final YamlPrinter printer = Yaml.createYamlPrinterBuilder()
+ *       .skipComments()
+ *       .indentation(4)
+ *       .lineSeparator("\n")
+ *       .flowStyle(8)
+ *       .build(writer);
+ * </pre>
+ * By default, the printer prints the comments, indents with 2 spaces,
+ * uses the system's line separator and prints only in block style.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface YamlPrinterBuilder {
+
+    /**
+     * Do not print comments. The nodes' comments are not even looked up.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder skipComments();
+
+    /**
+     * Indent nested nodes with the given number of spaces.
+     * @param spaces Number of spaces, at least 1.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder indentation(int spaces);
+
+    /**
+     * Separate lines with the given separator (e.g. "\n"), instead of the
+     * system's line separator.
+     * @param separator Line separator.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder lineSeparator(String separator);
+
+    /**
+     * Print sequences and mappings of at most the given number of
+     * one-line scalars (with no comments, if comments are printed)
+     * in flow style: [a, b, c] and {k: v, k2: v2}. Note that eo-yaml
+     * itself does not read flow collections yet, so use this option
+     * only for YAML consumed by other tools.
+     * @param maxSize Maximum number of scalars, 0 to print only in
+     *  block style.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder flowStyle(int maxSize);
+
+    /**
+     * Copy the original lines of the read mappings and sequences,
+     * instead of printing them again. The lines are copied only if
+     * comments are printed and if they are nested with the indentation
+     * step of the printer, otherwise the nodes are printed normally. See
+     * {@link Yaml#createVerbatimYamlPrinter(Writer)}.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder verbatim();
+
+    /**
+     * Print big streams, mappings and sequences in parallel, on the given
+     * pool. See {@link Yaml#createParallelYamlPrinter(Writer, ForkJoinPool)}.
+     * @param pool ForkJoinPool.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder parallel(ForkJoinPool pool);
+
+    /**
+     * How often a {@link YamlStreamWriter} flushes its destination: after
+     * the document which reaches the given number of written chars or
+     * the given time since the last flush. By default, it flushes every
+     * 64K chars or every second. Printers close (so flush) their
+     * destination after every print anyway.
+     * @param chars Number of chars, at least 1.
+     * @param interval Time since the last flush.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder flushEvery(int chars, Duration interval);
+
+    /**
+     * Print the canonical form, the same for any two equal nodes: keys
+     * sorted, no comments, 2 spaces of indentation, "\n" as line separator,
+     * block style and every scalar printed either plain, or double-quoted
+     * with JSON-like escapes (if it would need quotes, has more lines or
+     * leading or trailing whitespace). Options set after this one change
+     * the canonical form. See also
+     * {@link com.amihaiemil.eoyaml.extensions.YamlDigest}.
+     * @return YamlPrinterBuilder.
+     */
+    YamlPrinterBuilder canonical();
+
+    /**
+     * Build the YamlPrinter.
+     * @param destination Writer where the YAML will be printed.
+     * @return YamlPrinter.
+     */
+    YamlPrinter build(Writer destination);
+
+    /**
+     * Build the YamlPrinter, printing UTF-8 encoded YAML.
+     * @param destination OutputStream where the YAML will be printed.
+     * @return YamlPrinter.
+     */
+    YamlPrinter build(OutputStream destination);
+
+    /**
+     * Build a YamlStreamWriter, which prints documents with these options
+     * to the destination, which stays open until the writer is closed.
+     * @param destination Writer where the documents will be printed.
+     * @return YamlStreamWriter.
+     */
+    YamlStreamWriter buildStreamWriter(Writer destination);
+
+    /**
+     * Build a YamlStreamWriter, which prints UTF-8 encoded documents with
+     * these options to the destination, which stays open until the writer
+     * is closed.
+     * @param destination OutputStream where the documents will be printed.
+     * @return YamlStreamWriter.
+     */
+    YamlStreamWriter buildStreamWriter(OutputStream destination);
+
+    /**
+     * Compile the given template into a plan, which prints documents of
+     * the same shape, with these options, given only their scalar values.
+     * Flow style and parallel printing do not apply to plans.
+     * @param template YamlMapping or YamlSequence.
+     * @return YamlPrintPlan.
+     */
+    YamlPrintPlan buildPlan(YamlNode template);
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes documents, one by one, to a destination which stays open until
+ * this writer is closed. The result is the same as printing a
+ * {@link YamlStream} of all the documents, but the documents don't have
+ * to be kept in memory:
+ * <pre>
+ *   try (YamlStreamWriter docs = Yaml.createYamlStreamWriter(out)) {
+ *       for (final Manifest manifest : manifests) {
+ *           docs.write(manifest.toYaml());
+ *       }
+ *   }
+ * </pre>
+ * The destination is flushed from time to time, see
+ * {@link YamlPrinterBuilder#flushEvery(int, java.time.Duration)}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface YamlStreamWriter extends Closeable, Flushable {
+
+    /**
+     * Write a document.
+     * @param document YamlNode.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlStreamWriter write(YamlNode document) throws IOException;
+
+    /**
+     * Write a Java object (bean, Map, Collection, array or scalar) as a
+     * document: the YAML of {@link Yaml#createYamlDump(Object)}, but
+     * printed straight from the object's getters, without creating any
+     * YamlNode. The getters of each class are looked up only once, so
+     * use it to dump many objects of the same classes, e.g. DTOs.
+     * Only the indentation and line separator options apply, the
+     * object is always printed in block style.
+     * @param object Object.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlStreamWriter dump(Object object) throws IOException;
+
+    /**
+     * Write all the given documents.
+     * @param documents Documents.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    default YamlStreamWriter writeAll(
+        final Iterator<? extends YamlNode> documents
+    ) throws IOException {
+        while (documents.hasNext()) {
+            this.write(documents.next());
+        }
+        return this;
+    }
+
+    /**
+     * Write all the given documents, in order.
+     * @param documents Documents.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    default YamlStreamWriter writeAll(
+        final Stream<? extends YamlNode> documents
+    ) throws IOException {
+        return this.writeAll(documents.sequential().iterator());
+    }
+}
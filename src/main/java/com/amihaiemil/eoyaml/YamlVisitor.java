@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * Visitor of a YAML tree, see {@link YamlNode#accept(YamlVisitor)}. The
+ * nodes are visited depth-first, in the order in which they are written.
+ * All methods do nothing by default, override only the ones you need.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface YamlVisitor {
+
+    /**
+     * A mapping starts. Its keys and values follow, then
+     * {@link #visitMappingEnd(YamlMapping)}.
+     * @param mapping Visited mapping.
+     */
+    default void visitMappingStart(final YamlMapping mapping) {
+    }
+
+    /**
+     * A key of the current mapping. Its value is visited right after.
+     * The key itself is not traversed; call key.accept(this) if you
+     * need to look into a complex (mapping or sequence) key.
+     * @param key Key.
+     */
+    default void visitKey(final YamlNode key) {
+    }
+
+    /**
+     * A mapping ends.
+     * @param mapping Visited mapping.
+     */
+    default void visitMappingEnd(final YamlMapping mapping) {
+    }
+
+    /**
+     * A sequence starts. Its values follow, then
+     * {@link #visitSequenceEnd(YamlSequence)}.
+     * @param sequence Visited sequence.
+     */
+    default void visitSequenceStart(final YamlSequence sequence) {
+    }
+
+    /**
+     * A sequence ends.
+     * @param sequence Visited sequence.
+     */
+    default void visitSequenceEnd(final YamlSequence sequence) {
+    }
+
+    /**
+     * A scalar (a value or an element of a sequence).
+     * @param scalar Visited scalar.
+     */
+    default void visitScalar(final Scalar scalar) {
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes YAML as it goes, without building a tree first. The output is
+ * the same as the one of {@link YamlPrinter}: same indentation, same
+ * quoting and same comments. Only the nodes which are still open are
+ * kept in memory, so it can write any number of entries. Example:
+ * <pre>
+ *   try (YamlWriter yaml = Yaml.createYamlWriter(writer)) {
+ *       yaml.beginMapping()
+ *           .key("name").scalar("eo-yaml")
+ *           .comment("Who wrote it")
+ *           .key("authors").beginSequence()
+ *               .scalar("amihaiemil")
+ *           .end()
+ *       .end();
+ *   }
+ * </pre>
+ * Every call writes immediately to the underlying Writer or
+ * OutputStream. A call that makes no sense where it is made (e.g. a
+ * key inside a sequence) throws an IllegalStateException.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public interface YamlWriter extends Closeable {
+
+    /**
+     * Start a new document of a stream. If this is never called, only
+     * one root node can be written.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter document() throws IOException;
+
+    /**
+     * Start a mapping (as the root node, the value of the current key or
+     * the next element of the current sequence).
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter beginMapping() throws IOException;
+
+    /**
+     * Start a sequence (as the root node, the value of the current key or
+     * the next element of the current sequence).
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter beginSequence() throws IOException;
+
+    /**
+     * Write a key of the current mapping. Its value has to follow.
+     * @param key Key.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter key(String key) throws IOException;
+
+    /**
+     * Write a scalar (as the root node, the value of the current key or
+     * the next element of the current sequence).
+     * @param value Value of the scalar, null or empty is printed as null.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter scalar(String value) throws IOException;
+
+    /**
+     * Write a literal block scalar (as the root node, the value of the
+     * current key or the next element of the current sequence). Its lines
+     * are kept as they are.
+     * @param value Value of the scalar, null or empty is printed as null.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter literal(String value) throws IOException;
+
+    /**
+     * Write a folded block scalar (as the root node, the value of the
+     * current key or the next element of the current sequence). Every line
+     * of the value is printed on its own line, to be folded when read.
+     * @param value Value of the scalar, null or empty is printed as null.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter folded(String value) throws IOException;
+
+    /**
+     * End the current mapping or sequence.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter end() throws IOException;
+
+    /**
+     * Comment the next key, element or root node. It is printed above it.
+     * @param comment Comment, it may have more lines.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter comment(String comment) throws IOException;
+
+    /**
+     * Comment the next scalar inline. It is printed after its value, or
+     * after the indicator of a block scalar.
+     * @param comment Comment, on one line.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    YamlWriter inlineComment(String comment) throws IOException;
+
+    /**
+     * Write a key with its scalar value.
+     * @param key Key.
+     * @param value Value of the scalar.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    default YamlWriter entry(final String key, final String value)
+        throws IOException {
+        return this.key(key).scalar(value);
+    }
+
+    /**
+     * Write a whole node (e.g. a record built with the builders), where
+     * a scalar could be written. Keys have to be scalars; only
+     * the comments of the mappings' values and the sequences' elements,
+     * and the inline comments of the scalars, are written.
+     * @param node YamlNode.
+     * @return This writer.
+     * @throws IOException If any I/O problem occurs.
+     */
+    default YamlWriter node(final YamlNode node) throws IOException {
+        if (node == null) {
+            this.scalar(null);
+        } else if (node.type() == Node.MAPPING) {
+            this.beginMapping();
+            for (final Map.Entry<YamlNode, YamlNode> entry
+                : node.asMapping().entries()) {
+                RtYamlWriter.commentOf(this, entry.getValue());
+                this.key(entry.getKey().asScalar().value());
+                this.node(entry.getValue());
+            }
+            this.end();
+        } else if (node.type() == Node.SEQUENCE) {
+            this.beginSequence();
+            for (final YamlNode value : node.asSequence().values()) {
+                RtYamlWriter.commentOf(this, value);
+                this.node(value);
+            }
+            this.end();
+        } else if (node.type() == Node.SCALAR) {
+            RtYamlWriter.scalarOf(this, node.asScalar());
+        } else {
+            throw new IllegalArgumentException(
+                "Use document() to write the documents of a stream."
+            );
+        }
+        return this;
+    }
+
+    /**
+     * Close this writer and the underlying Writer or OutputStream. The
+     * mappings and sequences which are still open are ended first.
+     * @throws IOException If any I/O problem occurs.
+     */
+    @Override
+    void close() throws IOException;
+}
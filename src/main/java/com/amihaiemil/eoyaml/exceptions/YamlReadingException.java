@@ -33,7 +33,7 @@ package com.amihaiemil.eoyaml.exceptions;
  * @version $Id$
  * @since 3.1.5
  */
-public final class YamlReadingException extends RuntimeException {
+public class YamlReadingException extends RuntimeException {
  
     /**
      * Constructor without parameters.
@@ -0,0 +1,521 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Scalar;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import com.amihaiemil.eoyaml.YamlStream;
+import com.amihaiemil.eoyaml.YamlStreamBuilder;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Resolves include directives across YAML files. A scalar such as
+ * <pre>
+ *   database: !include db/settings.yml
+ * </pre>
+ * is replaced by the YAML node read from the referenced file (a path
+ * relative to the including file, which must be inside the base
+ * directory). Referenced files are read concurrently, on the given
+ * Executor, and each file is parsed and spliced only once per
+ * resolution, no matter how many times it is included. Cyclic includes
+ * and files outside of the base directory are reported with a
+ * {@link YamlReadingException}. Use it like this:
+ * <pre>
+ *   final YamlMapping config = new IncludeResolver(Paths.get("config"))
+ *       .resolve("platform.yml")
+ *       .asMapping();
+ * </pre>
+ * By default, the files are read on virtual threads, if the JVM offers
+ * them, or on the common ForkJoinPool otherwise.
+ * @checkstyle ClassFanOutComplexity (500 lines)
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class IncludeResolver {
+
+    /**
+     * Default tag of the include directive.
+     */
+    public static final String INCLUDE = "!include";
+
+    /**
+     * Default executor.
+     */
+    private static final Executor DEFAULT = IncludeResolver.executor();
+
+    /**
+     * Directory against which the paths are resolved.
+     */
+    private final Path base;
+
+    /**
+     * Tag of the include directive.
+     */
+    private final String tag;
+
+    /**
+     * Executor on which the files are read.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructor. The includes are marked with the {@link #INCLUDE} tag.
+     * @param base Directory against which the paths are resolved.
+     */
+    public IncludeResolver(final Path base) {
+        this(base, INCLUDE);
+    }
+
+    /**
+     * Constructor.
+     * @param base Directory against which the paths are resolved.
+     * @param tag Tag of the include directive (e.g. "!include").
+     */
+    public IncludeResolver(final Path base, final String tag) {
+        this(base, tag, DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     * @param base Directory against which the paths are resolved.
+     * @param tag Tag of the include directive (e.g. "!include").
+     * @param executor Executor on which the files are read.
+     */
+    public IncludeResolver(
+        final Path base, final String tag, final Executor executor
+    ) {
+        this.base = base;
+        this.tag = tag + " ";
+        this.executor = executor;
+    }
+
+    /**
+     * Read the given file and resolve all of its includes, recursively.
+     * @param file Path of the file, relative to the base directory.
+     * @return YamlNode with all the includes spliced in. If the file
+     *  contains more than one document, it is a YamlStream.
+     * @throws IOException If any of the files cannot be read.
+     * @throws YamlReadingException If the includes are cyclic or if a
+     *  file is outside of the base directory.
+     */
+    public YamlNode resolve(final String file) throws IOException {
+        final Resolution resolution = new Resolution();
+        final Path path = resolution.target(this.base, file);
+        this.await(resolution.discovered(path));
+        return resolution.spliced(path, new ArrayList<>());
+    }
+
+    /**
+     * Resolve the includes of an already read YAML node. Paths are
+     * relative to the base directory.
+     * @param node YamlNode.
+     * @return YamlNode with all the includes spliced in.
+     * @throws IOException If any of the files cannot be read.
+     * @throws YamlReadingException If the includes are cyclic or if a
+     *  file is outside of the base directory.
+     */
+    public YamlNode resolve(final YamlNode node) throws IOException {
+        final Resolution resolution = new Resolution();
+        this.await(resolution.discovered(node, this.base));
+        return resolution.spliced(node, this.base, new ArrayList<>());
+    }
+
+    /**
+     * Wait for the files to be read.
+     * @param future Future reading.
+     * @throws IOException If any of the files could not be read.
+     */
+    private void await(final CompletableFuture<Void> future)
+        throws IOException {
+        try {
+            future.join();
+        } catch (final CompletionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Virtual threads executor, if available, or the common ForkJoinPool.
+     * @return Executor.
+     */
+    private static Executor executor() {
+        Executor executor;
+        try {
+            executor = (Executor) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            executor = ForkJoinPool.commonPool();
+        }
+        return executor;
+    }
+
+    /**
+     * One resolution. First, all the reachable files are read and parsed,
+     * concurrently. Then the includes are spliced in, each file only once,
+     * no matter how many files include it.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private final class Resolution {
+
+        /**
+         * Files parsed so far, by absolute path.
+         */
+        private final Map<Path, CompletableFuture<YamlNode>> parsed =
+            new ConcurrentHashMap<>();
+
+        /**
+         * Files with all their includes spliced in, by absolute path.
+         */
+        private final Map<Path, YamlNode> resolved = new HashMap<>();
+
+        /**
+         * Read a file and, recursively, all the files it includes. Every
+         * file is read only once.
+         * @param path Absolute path of the file.
+         * @return Future which completes when all the files were read.
+         */
+        CompletableFuture<Void> discovered(final Path path) {
+            final CompletableFuture<YamlNode> fresh = new CompletableFuture<>();
+            final CompletableFuture<Void> result;
+            if (this.parsed.putIfAbsent(path, fresh) == null) {
+                result = CompletableFuture.supplyAsync(
+                    () -> this.read(path), IncludeResolver.this.executor
+                ).whenComplete(
+                    (node, error) -> {
+                        if (error == null) {
+                            fresh.complete(node);
+                        } else {
+                            fresh.completeExceptionally(error);
+                        }
+                    }
+                ).thenCompose(node -> this.discovered(node, path.getParent()));
+            } else {
+                result = CompletableFuture.completedFuture(null);
+            }
+            return result;
+        }
+
+        /**
+         * Read all the files included by a YamlNode, recursively.
+         * @param node YamlNode.
+         * @param dir Directory against which the included paths are resolved.
+         * @return Future which completes when all the files were read.
+         */
+        CompletableFuture<Void> discovered(
+            final YamlNode node, final Path dir
+        ) {
+            final List<CompletableFuture<Void>> files = new ArrayList<>();
+            for (final String include : this.includes(node)) {
+                files.add(this.discovered(this.target(dir, include)));
+            }
+            return CompletableFuture.allOf(
+                files.toArray(new CompletableFuture<?>[0])
+            );
+        }
+
+        /**
+         * A file with all its includes spliced in. It is spliced only
+         * once, the result is shared by all the including files.
+         * @param path Absolute path of the file.
+         * @param chain Files including this one, from the root.
+         * @return YamlNode.
+         */
+        YamlNode spliced(final Path path, final List<Path> chain) {
+            final List<Path> including = new ArrayList<>(chain);
+            including.add(path);
+            if (chain.contains(path)) {
+                throw new YamlReadingException("Cyclic include: " + including);
+            }
+            YamlNode spliced = this.resolved.get(path);
+            if (spliced == null) {
+                spliced = this.spliced(
+                    this.parsed.get(path).join(), path.getParent(), including
+                );
+                this.resolved.put(path, spliced);
+            }
+            return spliced;
+        }
+
+        /**
+         * Splice the included files into a YamlNode.
+         * @param node YamlNode.
+         * @param dir Directory against which the included paths are resolved.
+         * @param chain Files including this node, from the root.
+         * @return YamlNode, with the includes spliced in.
+         */
+        YamlNode spliced(
+            final YamlNode node, final Path dir, final List<Path> chain
+        ) {
+            final Map<String, YamlNode> includes = new LinkedHashMap<>();
+            for (final String include : this.includes(node)) {
+                includes.put(
+                    include, this.spliced(this.target(dir, include), chain)
+                );
+            }
+            return this.rebuilt(node, includes);
+        }
+
+        /**
+         * Absolute path of an included file. It must be inside the base
+         * directory, so included files cannot read any other file on disk.
+         * @param dir Directory of the including file.
+         * @param include Included path or include directive.
+         * @return Absolute, normalized, path.
+         */
+        Path target(final Path dir, final String include) {
+            final String file;
+            if (this.isInclude(include)) {
+                file = include.substring(IncludeResolver.this.tag.length())
+                    .trim();
+            } else {
+                file = include;
+            }
+            final Path root = IncludeResolver.this.base
+                .toAbsolutePath().normalize();
+            final Path path = dir.toAbsolutePath().resolve(file).normalize();
+            if (!path.startsWith(root)) {
+                throw new YamlReadingException(
+                    "Included file " + file + " is outside of " + root
+                );
+            }
+            return path;
+        }
+
+        /**
+         * Find all the include directives in a YamlNode.
+         * @param node YamlNode.
+         * @return Include directives, without duplicates.
+         */
+        private Set<String> includes(final YamlNode node) {
+            final Set<String> includes = new LinkedHashSet<>();
+            this.collect(node, includes);
+            return includes;
+        }
+
+        /**
+         * Read a YAML file.
+         * @param path Path of the file.
+         * @return The single document in the file or the whole
+         *  YamlStream, if there are more documents.
+         */
+        private YamlNode read(final Path path) {
+            try {
+                final YamlStream stream = Yaml
+                    .createYamlInput(path.toFile())
+                    .readYamlStream();
+                final Collection<YamlNode> documents = stream.values();
+                final YamlNode node;
+                if (documents.size() == 1) {
+                    node = documents.iterator().next();
+                } else {
+                    node = stream;
+                }
+                return node;
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Find all the include directives in a YamlNode.
+         * @param node YamlNode.
+         * @param includes Where to collect the directives.
+         */
+        private void collect(
+            final YamlNode node,
+            final Set<String> includes
+        ) {
+            if (node instanceof Scalar) {
+                final String value = ((Scalar) node).value();
+                if (this.isInclude(value)) {
+                    includes.add(value);
+                }
+            } else if (node instanceof YamlMapping) {
+                for (final YamlNode value : ((YamlMapping) node).values()) {
+                    this.collect(value, includes);
+                }
+            } else if (node instanceof YamlSequence) {
+                for (final YamlNode value : ((YamlSequence) node).values()) {
+                    this.collect(value, includes);
+                }
+            } else if (node instanceof YamlStream) {
+                for (final YamlNode value : ((YamlStream) node).values()) {
+                    this.collect(value, includes);
+                }
+            }
+        }
+
+        /**
+         * Rebuild a YamlNode with the resolved includes spliced in.
+         * Subtrees without includes are not rebuilt.
+         * @param node YamlNode.
+         * @param includes Resolved includes.
+         * @return YamlNode.
+         */
+        private YamlNode rebuilt(
+            final YamlNode node,
+            final Map<String, YamlNode> includes
+        ) {
+            YamlNode rebuilt = node;
+            if (!includes.isEmpty()) {
+                if (node instanceof Scalar) {
+                    final String value = ((Scalar) node).value();
+                    if (this.isInclude(value)) {
+                        rebuilt = includes.get(value);
+                    }
+                } else if (node instanceof YamlMapping) {
+                    rebuilt = this.mapping((YamlMapping) node, includes);
+                } else if (node instanceof YamlSequence) {
+                    rebuilt = this.sequence((YamlSequence) node, includes);
+                } else if (node instanceof YamlStream) {
+                    rebuilt = this.stream((YamlStream) node, includes);
+                }
+            }
+            return rebuilt;
+        }
+
+        /**
+         * Rebuild a YamlMapping with the resolved includes spliced in.
+         * @param mapping YamlMapping.
+         * @param includes Resolved includes.
+         * @return The same mapping, if it does not contain includes, or
+         *  a new, built, one.
+         */
+        private YamlNode mapping(
+            final YamlMapping mapping,
+            final Map<String, YamlNode> includes
+        ) {
+            boolean changed = false;
+            final YamlMappingBuilder builder =
+                Yaml.createMutableYamlMappingBuilder();
+            for (final Map.Entry<YamlNode, YamlNode> entry
+                : mapping.entries()) {
+                final YamlNode key = entry.getKey();
+                final YamlNode value = entry.getValue();
+                final YamlNode spliced = this.rebuilt(value, includes);
+                changed = changed || spliced != value;
+                builder.add(key, spliced);
+            }
+            final YamlNode rebuilt;
+            if (changed) {
+                rebuilt = builder.build(mapping.comment().value());
+            } else {
+                rebuilt = mapping;
+            }
+            return rebuilt;
+        }
+
+        /**
+         * Rebuild a YamlSequence with the resolved includes spliced in.
+         * @param sequence YamlSequence.
+         * @param includes Resolved includes.
+         * @return The same sequence, if it does not contain includes, or
+         *  a new, built, one.
+         */
+        private YamlNode sequence(
+            final YamlSequence sequence,
+            final Map<String, YamlNode> includes
+        ) {
+            boolean changed = false;
+            final YamlSequenceBuilder builder =
+                Yaml.createMutableYamlSequenceBuilder();
+            for (final YamlNode value : sequence.values()) {
+                final YamlNode spliced = this.rebuilt(value, includes);
+                changed = changed || spliced != value;
+                builder.add(spliced);
+            }
+            final YamlNode rebuilt;
+            if (changed) {
+                rebuilt = builder.build(sequence.comment().value());
+            } else {
+                rebuilt = sequence;
+            }
+            return rebuilt;
+        }
+
+        /**
+         * Rebuild a YamlStream with the resolved includes spliced in.
+         * @param stream YamlStream.
+         * @param includes Resolved includes.
+         * @return A new, built, YamlStream.
+         */
+        private YamlNode stream(
+            final YamlStream stream,
+            final Map<String, YamlNode> includes
+        ) {
+            final YamlStreamBuilder builder =
+                Yaml.createMutableYamlStreamBuilder();
+            for (final YamlNode document : stream.values()) {
+                builder.add(this.rebuilt(document, includes));
+            }
+            return builder.build();
+        }
+
+        /**
+         * Is this scalar value an include directive?
+         * @param value Value of a scalar.
+         * @return True or false.
+         */
+        private boolean isInclude(final String value) {
+            return value != null
+                && value.startsWith(IncludeResolver.this.tag);
+        }
+    }
+}
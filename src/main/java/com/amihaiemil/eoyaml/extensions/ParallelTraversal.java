@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Node;
+import com.amihaiemil.eoyaml.Scalar;
+import com.amihaiemil.eoyaml.YamlNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a (CPU-heavy) task on every scalar of a YAML tree, in parallel,
+ * and merges the results. E.g. counting the scalars which look like
+ * secrets:
+ * <pre>
+ *   final long secrets = new ParallelTraversal&lt;&gt;(
+ *       scalar -&gt; SECRET.matcher(scalar.value()).find() ? 1L : 0L,
+ *       0L,
+ *       Long::sum
+ *   ).traverse(yaml);
+ * </pre>
+ * The work is split on a ForkJoinPool: every mapping, sequence or
+ * stream is a separate task and their children are split in chunks of
+ * at most <b>threshold</b> siblings. The scalars are the values of the
+ * mappings and the elements of the sequences; keys are not traversed.
+ * <br><br>
+ * The results are merged in the order of the nodes, so the merge
+ * function only needs to be associative. Both read and built nodes can
+ * be traversed, the task itself must be thread-safe.
+ * @param <R> Type of the result.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class ParallelTraversal<R> {
+
+    /**
+     * Default maximum number of siblings handled by one task.
+     */
+    public static final int THRESHOLD = 64;
+
+    /**
+     * Task run on every scalar.
+     */
+    private final Function<Scalar, R> task;
+
+    /**
+     * Result of an empty tree; identity of the merge function.
+     */
+    private final R identity;
+
+    /**
+     * Function merging two results.
+     */
+    private final BinaryOperator<R> merge;
+
+    /**
+     * Maximum number of siblings handled by one task.
+     */
+    private final int threshold;
+
+    /**
+     * Pool running the tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor. Chunks of {@link #THRESHOLD} siblings are run on the
+     * common ForkJoinPool.
+     * @param task Task run on every scalar.
+     * @param identity Result of an empty tree.
+     * @param merge Associative function merging two results.
+     */
+    public ParallelTraversal(
+        final Function<Scalar, R> task,
+        final R identity,
+        final BinaryOperator<R> merge
+    ) {
+        this(task, identity, merge, THRESHOLD);
+    }
+
+    /**
+     * Constructor. The tasks are run on the common ForkJoinPool.
+     * @param task Task run on every scalar.
+     * @param identity Result of an empty tree.
+     * @param merge Associative function merging two results.
+     * @param threshold Maximum number of siblings handled by one task.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    public ParallelTraversal(
+        final Function<Scalar, R> task,
+        final R identity,
+        final BinaryOperator<R> merge,
+        final int threshold
+    ) {
+        this(task, identity, merge, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     * @param task Task run on every scalar.
+     * @param identity Result of an empty tree.
+     * @param merge Associative function merging two results.
+     * @param threshold Maximum number of siblings handled by one task.
+     * @param pool Pool running the tasks.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    public ParallelTraversal(
+        final Function<Scalar, R> task,
+        final R identity,
+        final BinaryOperator<R> merge,
+        final int threshold,
+        final ForkJoinPool pool
+    ) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException(
+                "Threshold must be positive, but it is " + threshold
+            );
+        }
+        this.task = task;
+        this.identity = identity;
+        this.merge = merge;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Traverse the given node.
+     * @param node YamlNode.
+     * @return Merged result of the task run on all the scalars.
+     */
+    public R traverse(final YamlNode node) {
+        return this.pool.invoke(
+            new Chunk(Collections.singletonList(node), 0, 1)
+        );
+    }
+
+    /**
+     * Children of a mapping, sequence or stream.
+     * @param node Node which is not a scalar.
+     * @return List of YamlNode.
+     */
+    private static List<YamlNode> children(final YamlNode node) {
+        final List<YamlNode> children;
+        if (node.type() == Node.MAPPING) {
+            children = new ArrayList<>(node.asMapping().values());
+        } else if (node.type() == Node.SEQUENCE) {
+            children = new ArrayList<>(node.asSequence().values());
+        } else {
+            children = new ArrayList<>(node.asStream().values());
+        }
+        return children;
+    }
+
+    /**
+     * Task handling a chunk of sibling nodes.
+     */
+    private final class Chunk extends RecursiveTask<R> {
+
+        /**
+         * Serial version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Sibling nodes.
+         */
+        private final List<YamlNode> nodes;
+
+        /**
+         * First node of this chunk (inclusive).
+         */
+        private final int from;
+
+        /**
+         * End of this chunk (exclusive).
+         */
+        private final int until;
+
+        /**
+         * Constructor.
+         * @param nodes Sibling nodes.
+         * @param from First node of this chunk (inclusive).
+         * @param until End of this chunk (exclusive).
+         */
+        Chunk(final List<YamlNode> nodes, final int from, final int until) {
+            super();
+            this.nodes = nodes;
+            this.from = from;
+            this.until = until;
+        }
+
+        @Override
+        protected R compute() {
+            final R result;
+            if (this.until - this.from > ParallelTraversal.this.threshold) {
+                final int middle = (this.from + this.until) >>> 1;
+                final Chunk left = new Chunk(this.nodes, this.from, middle);
+                left.fork();
+                final R right = new Chunk(
+                    this.nodes, middle, this.until
+                ).compute();
+                result = ParallelTraversal.this.merge.apply(
+                    left.join(), right
+                );
+            } else {
+                result = this.leaves();
+            }
+            return result;
+        }
+
+        /**
+         * Run the task on the scalars of this chunk and fork a new
+         * {@link Subtree} for every other node.
+         * @return Merged result, in the order of the nodes.
+         */
+        private R leaves() {
+            final List<Supplier<R>> parts = new ArrayList<>();
+            for (int idx = this.from; idx < this.until; ++idx) {
+                final YamlNode node = this.nodes.get(idx);
+                if (node != null && node.type() == Node.SCALAR) {
+                    final R part = ParallelTraversal.this.task.apply(
+                        node.asScalar()
+                    );
+                    parts.add(() -> part);
+                } else if (node != null) {
+                    final Subtree subtree = new Subtree(node);
+                    subtree.fork();
+                    parts.add(subtree::join);
+                }
+            }
+            R result = ParallelTraversal.this.identity;
+            for (final Supplier<R> part : parts) {
+                result = ParallelTraversal.this.merge.apply(
+                    result, part.get()
+                );
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Task handling a mapping, sequence or stream. Its children are read
+     * in this task, not in the parent's.
+     */
+    private final class Subtree extends RecursiveTask<R> {
+
+        /**
+         * Serial version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Mapping, sequence or stream.
+         */
+        private final YamlNode node;
+
+        /**
+         * Constructor.
+         * @param node Mapping, sequence or stream.
+         */
+        Subtree(final YamlNode node) {
+            super();
+            this.node = node;
+        }
+
+        @Override
+        protected R compute() {
+            final List<YamlNode> children = ParallelTraversal.children(
+                this.node
+            );
+            return new Chunk(children, 0, children.size()).compute();
+        }
+    }
+}
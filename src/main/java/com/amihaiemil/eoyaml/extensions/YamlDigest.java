@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlNode;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Digest (hash) of a YamlNode's content: the digest of its canonical form
+ * (see {@link com.amihaiemil.eoyaml.YamlPrinterBuilder#canonical()}),
+ * encoded as UTF-8. Two nodes with the same content have the same digest,
+ * no matter the order of their keys or their comments. The canonical form
+ * is streamed into the digest, it is never built as a String:
+ * <pre>
+ *   final String before = new YamlDigest(deployed).hex();
+ *   final String after = new YamlDigest(generated).hex();
+ *   if (!before.equals(after)) {
+ *       //configuration drift
+ *   }
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class YamlDigest {
+
+    /**
+     * Hexadecimal digits.
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Node to digest.
+     */
+    private final YamlNode node;
+
+    /**
+     * Name of the MessageDigest algorithm.
+     */
+    private final String algorithm;
+
+    /**
+     * Constructor. The digest is SHA-256.
+     * @param node Node to digest.
+     */
+    public YamlDigest(final YamlNode node) {
+        this(node, "SHA-256");
+    }
+
+    /**
+     * Constructor.
+     * @param node Node to digest.
+     * @param algorithm Name of the MessageDigest algorithm (e.g. "SHA-256",
+     *  "SHA-1", "MD5").
+     */
+    public YamlDigest(final YamlNode node, final String algorithm) {
+        this.node = node;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * The digest.
+     * @return Bytes of the digest.
+     * @throws IOException If the node cannot be read.
+     */
+    public byte[] bytes() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(this.algorithm);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+        Yaml.createYamlPrinterBuilder()
+            .canonical()
+            .build(new Digesting(digest))
+            .print(this.node);
+        return digest.digest();
+    }
+
+    /**
+     * The digest, as a lowercase hexadecimal String.
+     * @return Hexadecimal digest.
+     * @throws IOException If the node cannot be read.
+     */
+    public String hex() throws IOException {
+        final byte[] bytes = this.bytes();
+        final char[] hex = new char[bytes.length * 2];
+        for (int idx = 0; idx < bytes.length; ++idx) {
+            hex[idx * 2] = HEX[(bytes[idx] >> 4) & 0xF];
+            hex[idx * 2 + 1] = HEX[bytes[idx] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * OutputStream updating a MessageDigest with the written bytes.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Digesting extends OutputStream {
+
+        /**
+         * Digest.
+         */
+        private final MessageDigest digest;
+
+        /**
+         * Ctor.
+         * @param digest Digest.
+         */
+        Digesting(final MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(final int value) {
+            this.digest.update((byte) value);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) {
+            this.digest.update(bytes, off, len);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Anchors}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class AnchorsTest {
+
+    /**
+     * Anchors are found only at the start of a node, never within
+     * quotes or comments.
+     */
+    @Test
+    public void findsAnchors() {
+        MatcherAssert.assertThat(
+            Anchors.anchor("key: &base"), Matchers.equalTo("base")
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("- &item value"), Matchers.equalTo("item")
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("&root"), Matchers.equalTo("root")
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("key: \"&quoted\""), Matchers.isEmptyString()
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("key: a &b"), Matchers.isEmptyString()
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("key: value # &comment"), Matchers.isEmptyString()
+        );
+        MatcherAssert.assertThat(
+            Anchors.anchor("salt&pepper: &"), Matchers.isEmptyString()
+        );
+    }
+
+    /**
+     * Anchors are removed from the lines' text.
+     */
+    @Test
+    public void removesAnchors() {
+        MatcherAssert.assertThat(
+            Anchors.unanchored("key: &base"), Matchers.equalTo("key:")
+        );
+        MatcherAssert.assertThat(
+            Anchors.unanchored("- &item value"),
+            Matchers.equalTo("- value")
+        );
+        MatcherAssert.assertThat(
+            Anchors.unanchored("key: 'a &b'"),
+            Matchers.equalTo("key: 'a &b'")
+        );
+        MatcherAssert.assertThat(
+            new RtYamlLine("  key: &anchor value # comment", 0).trimmed(),
+            Matchers.equalTo("key: value")
+        );
+    }
+
+    /**
+     * Aliases are recognized as a node or within a flow sequence.
+     */
+    @Test
+    public void findsAliases() {
+        MatcherAssert.assertThat(
+            Anchors.alias("key: *base"), Matchers.equalTo("base")
+        );
+        MatcherAssert.assertThat(
+            Anchors.alias("- *item"), Matchers.equalTo("item")
+        );
+        MatcherAssert.assertThat(
+            Anchors.alias("key: 2 * 3"), Matchers.isEmptyString()
+        );
+        MatcherAssert.assertThat(
+            Anchors.flowAliases("<<: [*one, *two]"),
+            Matchers.contains("one", "two")
+        );
+        MatcherAssert.assertThat(
+            Anchors.flowAliases("key: [*one, two]"), Matchers.empty()
+        );
+    }
+
+    /**
+     * All the aliases point to the same, anchored, node instance.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void aliasesShareAnchoredNode() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "base: &base\n"
+            + "  host: localhost\n"
+            + "  port: 8080\n"
+            + "first: *base\n"
+            + "second: *base\n"
+            + "name: &name server\n"
+            + "names:\n"
+            + "  - *name\n"
+            + "  - other\n"
+        ).readYamlMapping();
+        final YamlMapping base = read.yamlMapping("base");
+        MatcherAssert.assertThat(
+            base.string("host"), Matchers.equalTo("localhost")
+        );
+        MatcherAssert.assertThat(
+            read.yamlMapping("first"), Matchers.sameInstance(base)
+        );
+        MatcherAssert.assertThat(
+            read.yamlMapping("second"), Matchers.sameInstance(base)
+        );
+        MatcherAssert.assertThat(
+            read.string("name"), Matchers.equalTo("server")
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("names").string(0), Matchers.equalTo("server")
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("names").values().iterator().next(),
+            Matchers.sameInstance(read.value("name"))
+        );
+    }
+
+    /**
+     * Merge keys overlay the merged mappings: own keys win, the others
+     * are looked up in the merged mappings, in order.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void mergesMappings() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "defaults: &defaults\n"
+            + "  adapter: postgres\n"
+            + "  port: 5432\n"
+            + "extra: &extra\n"
+            + "  pool: 5\n"
+            + "  port: 1\n"
+            + "development:\n"
+            + "  <<: [*defaults, *extra]\n"
+            + "  port: 6543\n"
+            + "test:\n"
+            + "  <<: *extra\n"
+        ).readYamlMapping();
+        final YamlMapping dev = read.yamlMapping("development");
+        MatcherAssert.assertThat(dev.string("port"), Matchers.equalTo("6543"));
+        MatcherAssert.assertThat(
+            dev.string("adapter"), Matchers.equalTo("postgres")
+        );
+        MatcherAssert.assertThat(dev.string("pool"), Matchers.equalTo("5"));
+        MatcherAssert.assertThat(dev.keys(), Matchers.hasSize(3));
+        MatcherAssert.assertThat(
+            read.yamlMapping("test").string("pool"), Matchers.equalTo("5")
+        );
+        MatcherAssert.assertThat(
+            read.yamlMapping("test").keys(), Matchers.hasSize(2)
+        );
+    }
+
+    /**
+     * Aliases expanding to more lines than allowed are rejected.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void rejectsTooLargeExpansion() throws IOException {
+        final StringBuilder yaml = new StringBuilder("a: &a\n");
+        for (int idx = 0; idx < 10; ++idx) {
+            yaml.append("  - laugh\n");
+        }
+        yaml.append("b: &b\n");
+        for (int idx = 0; idx < 10; ++idx) {
+            yaml.append("  - *a\n");
+        }
+        yaml.append("c: &c\n");
+        for (int idx = 0; idx < 10; ++idx) {
+            yaml.append("  - *b\n");
+        }
+        yaml.append("d: *c\n");
+        final YamlMapping read = Yaml.createYamlInput(
+            yaml,
+            new YamlLimits().with(YamlLimits.Limit.ALIAS_EXPANSION, 1000)
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.yamlSequence("c").yamlSequence(0).yamlSequence(0).string(0),
+            Matchers.equalTo("laugh")
+        );
+        read.value("d");
+    }
+
+    /**
+     * An alias to an unknown anchor cannot be read.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void rejectsUnknownAnchor() throws IOException {
+        Yaml.createYamlInput("a: *missing\nb: &missing value\n")
+            .readYamlMapping().value("a");
+    }
+
+    /**
+     * An anchor cannot contain an alias to itself.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void rejectsRecursiveAnchor() throws IOException {
+        Yaml.createYamlInput("a: &a\n  - *a\nb: *a\n")
+            .readYamlMapping().value("b");
+    }
+}
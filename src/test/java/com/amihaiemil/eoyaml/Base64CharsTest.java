@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Base64Chars}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class Base64CharsTest {
+
+    /**
+     * Base64Chars decodes the same as java.util.Base64, skipping
+     * whitespace and the tag.
+     */
+    @Test
+    public void decodesLikeJdk() {
+        for (int size = 0; size < 10; ++size) {
+            final byte[] bytes = new byte[size];
+            for (int idx = 0; idx < size; ++idx) {
+                bytes[idx] = (byte) (idx * 37 - 100);
+            }
+            final String encoded = Base64.getEncoder().encodeToString(bytes);
+            final Base64Chars chars = new Base64Chars(
+                "!!binary " + encoded.replaceAll("(.{3})", "$1\n  ")
+            );
+            MatcherAssert.assertThat(chars.size(), Matchers.is(size));
+            final ByteBuffer target = ByteBuffer.allocate(size);
+            chars.decode(target);
+            MatcherAssert.assertThat(target.array(), Matchers.equalTo(bytes));
+        }
+    }
+
+    /**
+     * Read !!binary scalars can be decoded into bytes and buffers.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void decodesBinaryScalars() throws IOException {
+        final byte[] expected = "eo-yaml binary content, long enough"
+            .getBytes(StandardCharsets.UTF_8);
+        final String encoded = Base64.getEncoder().encodeToString(expected);
+        final YamlMapping read = Yaml.createYamlInput(
+            "block: !!binary |\n"
+            + "  " + encoded.substring(0, 20) + "\n"
+            + "  " + encoded.substring(20) + "\n"
+            + "plain: !!binary " + encoded + "\n"
+        ).readYamlMapping();
+        final Scalar block = read.value("block").asScalar();
+        MatcherAssert.assertThat(block.bytes(), Matchers.equalTo(expected));
+        final ByteBuffer direct = block.asByteBuffer();
+        MatcherAssert.assertThat(direct.isDirect(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            direct.remaining(), Matchers.is(expected.length)
+        );
+        final ByteBuffer target = ByteBuffer.allocate(expected.length + 2);
+        target.put((byte) 1);
+        read.value("plain").asScalar().asByteBuffer(target);
+        MatcherAssert.assertThat(
+            target.position(), Matchers.is(expected.length + 1)
+        );
+        MatcherAssert.assertThat(target.get(1), Matchers.is(expected[0]));
+    }
+
+    /**
+     * The direct buffer of a !!binary scalar is ready to be read, from
+     * its first to its last decoded byte. The buffer is flipped through
+     * java.nio.Buffer, so this works on Java 8 runtimes too.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsDecodedDirectBuffer() throws IOException {
+        final byte[] expected = new byte[300];
+        for (int idx = 0; idx < expected.length; ++idx) {
+            expected[idx] = (byte) (idx * 7);
+        }
+        final String encoded = Base64.getEncoder().encodeToString(expected);
+        final ByteBuffer buffer = Yaml.createYamlInput(
+            "data: !!binary |\n  "
+            + encoded.replaceAll("(.{60})", "$1\n  ") + "\n"
+        ).readYamlMapping().value("data").asScalar().asByteBuffer();
+        MatcherAssert.assertThat(buffer.position(), Matchers.is(0));
+        MatcherAssert.assertThat(buffer.limit(), Matchers.is(expected.length));
+        final byte[] read = new byte[buffer.remaining()];
+        buffer.get(read);
+        MatcherAssert.assertThat(read, Matchers.equalTo(expected));
+        MatcherAssert.assertThat(buffer.hasRemaining(), Matchers.is(false));
+    }
+
+    /**
+     * Scalars which are not tagged !!binary are not decoded, even if their
+     * values are valid base64.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsUntaggedScalars() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "name: abcd\n"
+            + "block: |\n"
+            + "  abcd\n"
+            + "folded: !!binary >\n"
+            + "  YWJj\n"
+            + "items:\n"
+            + "  - !!binary |\n"
+            + "    YWJj\n"
+        ).readYamlMapping();
+        for (final String key : new String[] {"name", "block"}) {
+            try {
+                read.value(key).asScalar().bytes();
+                MatcherAssert.assertThat("Expected an exception", false);
+            } catch (final YamlReadingException ex) {
+                MatcherAssert.assertThat(
+                    ex.getMessage(), Matchers.containsString("!!binary")
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            read.value("folded").asScalar().bytes(),
+            Matchers.equalTo("abc".getBytes(StandardCharsets.UTF_8))
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("items").values().iterator().next()
+                .asScalar().bytes(),
+            Matchers.equalTo("abc".getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    /**
+     * Invalid base64 cannot be decoded.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void rejectsInvalidChars() {
+        new Base64Chars("abc$").decode(ByteBuffer.allocate(3));
+    }
+}
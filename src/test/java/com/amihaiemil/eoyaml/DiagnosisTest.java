@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Diagnosis}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class DiagnosisTest {
+
+    /**
+     * Correct YAML has no problems.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void findsNoProblems() throws IOException {
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput(
+                "# comment\n"
+                + "name: eo-yaml\n"
+                + "developers:\n"
+                + "- mihai\n"
+                + "- name: other\n"
+                + "  role: dev\n"
+                + "description: |\n"
+                + "  name: not a key\n"
+                + "   name: not a key either\n"
+                + "settings:\n"
+                + "  name: nested\n"
+                + "---\n"
+                + "name: other document\n"
+            ).diagnose(),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("just a plain scalar").diagnose(),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * All the problems are found, with their lines and columns.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void findsAllProblems() throws IOException {
+        final List<Diagnostic> problems = Yaml.createYamlInput(
+            "name: eo-yaml\n"
+            + "  version: 1\n"
+            + "developers:\n"
+            + "  - mihai\n"
+            + "  role: dev\n"
+            + "name: again\n"
+            + "plain line\n"
+            + "items:\n"
+            + "  -\n"
+            + "  wrong: indentation\n"
+        ).diagnose();
+        MatcherAssert.assertThat(problems, Matchers.hasSize(6));
+        this.problem(problems.get(0), Diagnostic.Kind.INDENTATION, 2, 3);
+        this.problem(problems.get(1), Diagnostic.Kind.STRUCTURE, 5, 3);
+        this.problem(problems.get(2), Diagnostic.Kind.DUPLICATE_KEY, 6, 1);
+        this.problem(problems.get(3), Diagnostic.Kind.STRUCTURE, 7, 1);
+        this.problem(problems.get(4), Diagnostic.Kind.INDENTATION, 10, 3);
+        this.problem(problems.get(5), Diagnostic.Kind.STRUCTURE, 10, 3);
+    }
+
+    /**
+     * Problems after "- key: value" lines, which are read as two lines,
+     * are reported with their rows and columns in the input.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void reportsInputRowsAfterDashLines() throws IOException {
+        final List<Diagnostic> problems = Yaml.createYamlInput(
+            "items:\n"
+            + "  - name: one\n"
+            + "    role: dev\n"
+            + "  - name: two\n"
+            + "    name: again\n"
+            + "  - key: three\n"
+            + "    key: dup\n"
+        ).diagnose();
+        MatcherAssert.assertThat(problems, Matchers.hasSize(2));
+        this.problem(problems.get(0), Diagnostic.Kind.DUPLICATE_KEY, 5, 5);
+        this.problem(problems.get(1), Diagnostic.Kind.DUPLICATE_KEY, 7, 5);
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("- a: 1\n  a: 2\n").diagnose().get(0)
+                .toString(),
+            Matchers.equalTo("2:3 [DUPLICATE_KEY] Key [a] is duplicated.")
+        );
+    }
+
+    /**
+     * Duplicate keys are checked per mapping.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void findsDuplicateKeysPerMapping() throws IOException {
+        final List<Diagnostic> problems = Yaml.createYamlInput(
+            "- name: one\n"
+            + "  \"name\": two\n"
+            + "- name: three\n"
+            + "  other:\n"
+            + "    name: four\n"
+        ).diagnose();
+        MatcherAssert.assertThat(problems, Matchers.hasSize(0));
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("a: 1\nb: 2\na: 3\n").diagnose()
+                .get(0).toString(),
+            Matchers.equalTo("3:1 [DUPLICATE_KEY] Key [a] is duplicated.")
+        );
+    }
+
+    /**
+     * Check a problem.
+     * @param problem Problem.
+     * @param kind Expected kind.
+     * @param line Expected line.
+     * @param column Expected column.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private void problem(
+        final Diagnostic problem,
+        final Diagnostic.Kind kind,
+        final int line,
+        final int column
+    ) {
+        MatcherAssert.assertThat(
+            problem.toString(), problem.kind(), Matchers.is(kind)
+        );
+        MatcherAssert.assertThat(
+            problem.toString(), problem.line(), Matchers.is(line)
+        );
+        MatcherAssert.assertThat(
+            problem.toString(), problem.column(), Matchers.is(column)
+        );
+    }
+}
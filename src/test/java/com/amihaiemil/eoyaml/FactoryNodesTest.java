@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FactoryNodes}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class FactoryNodesTest {
+
+    /**
+     * A mapping can be read directly with a NodeFactory.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsMappingWithFactory() throws IOException {
+        final Counting factory = new Counting();
+        final String yaml = "# the architect\n"
+            + "architect: mihai\n"
+            + "developers:\n"
+            + "  - rultor\n"
+            + "  - salikjan\n"
+            + "settings:\n"
+            + "  debug: true\n";
+        final YamlMapping built = Yaml.createYamlInput(yaml)
+            .readYamlMapping(factory);
+        MatcherAssert.assertThat(
+            built,
+            Matchers.equalTo(Yaml.createYamlInput(yaml).readYamlMapping())
+        );
+        MatcherAssert.assertThat(
+            built, Matchers.instanceOf(RtYamlMapping.class)
+        );
+        MatcherAssert.assertThat(
+            built.yamlSequence("developers"),
+            Matchers.instanceOf(RtYamlSequence.class)
+        );
+        MatcherAssert.assertThat(factory.mappings.get(), Matchers.is(2));
+        MatcherAssert.assertThat(factory.sequences.get(), Matchers.is(1));
+        MatcherAssert.assertThat(factory.scalars.get(), Matchers.is(8));
+    }
+
+    /**
+     * A sequence can be read directly with a NodeFactory.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsSequenceWithFactory() throws IOException {
+        final Counting factory = new Counting();
+        final String yaml = "- first\n"
+            + "- name: second\n"
+            + "  id: 2\n"
+            + "-\n"
+            + "  - nested\n";
+        final YamlSequence built = Yaml.createYamlInput(yaml)
+            .readYamlSequence(factory);
+        MatcherAssert.assertThat(
+            built,
+            Matchers.equalTo(Yaml.createYamlInput(yaml).readYamlSequence())
+        );
+        MatcherAssert.assertThat(factory.sequences.get(), Matchers.is(2));
+        MatcherAssert.assertThat(factory.mappings.get(), Matchers.is(1));
+    }
+
+    /**
+     * The documents of a stream are created by the NodeFactory.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsStreamWithFactory() throws IOException {
+        final Counting factory = new Counting();
+        final YamlStream built = Yaml.createYamlInput(
+            "---\nfirst: doc\n---\n- second\n- doc\n"
+        ).readYamlStream(factory);
+        MatcherAssert.assertThat(built.values(), Matchers.hasSize(2));
+        MatcherAssert.assertThat(factory.mappings.get(), Matchers.is(1));
+        MatcherAssert.assertThat(factory.sequences.get(), Matchers.is(1));
+    }
+
+    /**
+     * Comments are passed on to the factory.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void passesComments() throws IOException {
+        final YamlMapping built = Yaml.createYamlInput(
+            "# doc comment\n---\nkey: value\n"
+        ).readYamlMapping(new Counting());
+        MatcherAssert.assertThat(
+            built.comment().value(), Matchers.equalTo("doc comment")
+        );
+    }
+
+    /**
+     * The comments given to the factory refer to the nodes it built.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void commentsReferToBuiltNodes() throws IOException {
+        final Counting factory = new Counting();
+        final YamlMapping built = Yaml.createYamlInput(
+            "# doc comment\n---\nlist:\n  - value\n"
+        ).readYamlMapping(factory);
+        MatcherAssert.assertThat(factory.comments, Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            factory.comments.get(0).yamlNode(),
+            Matchers.sameInstance(built.yamlSequence("list"))
+        );
+        MatcherAssert.assertThat(
+            factory.comments.get(1).yamlNode(),
+            Matchers.sameInstance(built)
+        );
+    }
+
+    /**
+     * NodeFactory building with the YAML builders and counting the
+     * created nodes.
+     */
+    private static final class Counting implements NodeFactory {
+
+        /**
+         * Created mappings.
+         */
+        private final AtomicInteger mappings = new AtomicInteger();
+
+        /**
+         * Created sequences.
+         */
+        private final AtomicInteger sequences = new AtomicInteger();
+
+        /**
+         * Created scalars.
+         */
+        private final AtomicInteger scalars = new AtomicInteger();
+
+        /**
+         * Comments given to this factory.
+         */
+        private final List<Comment> comments = new ArrayList<>();
+
+        @Override
+        public YamlMapping mapping(
+            final Map<YamlNode, YamlNode> entries, final Comment comment
+        ) {
+            this.mappings.incrementAndGet();
+            this.comments.add(comment);
+            YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
+            for (final Map.Entry<YamlNode, YamlNode> entry
+                : entries.entrySet()) {
+                builder = builder.add(entry.getKey(), entry.getValue());
+            }
+            return builder.build(comment.value());
+        }
+
+        @Override
+        public YamlSequence sequence(
+            final List<YamlNode> values, final Comment comment
+        ) {
+            this.sequences.incrementAndGet();
+            this.comments.add(comment);
+            YamlSequenceBuilder builder = Yaml.createYamlSequenceBuilder();
+            for (final YamlNode value : values) {
+                builder = builder.add(value);
+            }
+            return builder.build(comment.value());
+        }
+
+        @Override
+        public Scalar scalar(final Scalar read) {
+            this.scalars.incrementAndGet();
+            return new PlainStringScalar(read.value());
+        }
+    }
+}
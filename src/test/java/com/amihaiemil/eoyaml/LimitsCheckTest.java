@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.YamlLimits.Limit;
+import com.amihaiemil.eoyaml.exceptions.YamlLimitException;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LimitsCheck}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class LimitsCheckTest {
+
+    /**
+     * YAML within the limits is read normally.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsYamlWithinLimits() throws IOException {
+        final YamlLimits limits = new YamlLimits()
+            .with(Limit.INPUT_BYTES, 200)
+            .with(Limit.LINE_LENGTH, 30)
+            .with(Limit.DEPTH, 3)
+            .with(Limit.KEYS, 2)
+            .with(Limit.SCALAR_LENGTH, 20)
+            .with(Limit.DOCUMENTS, 1);
+        final YamlMapping read = Yaml.createYamlInput(
+            "# a comment, not a key\n"
+            + "name: eo-yaml\n"
+            + "owners:\n"
+            + "  - name: mihai\n"
+            + "    role: dev\n"
+            + "  - name: other\n"
+            + "    role: dev\n",
+            limits
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.yamlSequence("owners").yamlMapping(1).string("name"),
+            Matchers.equalTo("other")
+        );
+    }
+
+    /**
+     * Too large input is rejected.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooManyBytes() throws IOException {
+        final YamlLimits limits = new YamlLimits()
+            .with(Limit.INPUT_BYTES, 10);
+        final String yaml = "key: a value longer than 10 bytes";
+        this.rejects(
+            () -> Yaml.createYamlInput(yaml, limits), Limit.INPUT_BYTES
+        );
+        this.rejects(
+            () -> Yaml.createYamlInput(
+                new ByteArrayInputStream(
+                    yaml.getBytes(StandardCharsets.UTF_8)
+                ),
+                limits
+            ),
+            Limit.INPUT_BYTES
+        );
+    }
+
+    /**
+     * Too long lines are rejected.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooLongLine() throws IOException {
+        this.rejects(
+            () -> Yaml.createYamlInput(
+                "short: line\nlong: a line which is too long\n",
+                new YamlLimits().with(Limit.LINE_LENGTH, 16)
+            ),
+            Limit.LINE_LENGTH
+        );
+    }
+
+    /**
+     * Too deep nesting is rejected.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooDeepNesting() throws IOException {
+        this.rejects(
+            () -> Yaml.createYamlInput(
+                "a:\n  b:\n    c:\n      d: deep\n",
+                new YamlLimits().with(Limit.DEPTH, 3)
+            ),
+            Limit.DEPTH
+        );
+    }
+
+    /**
+     * Mappings with too many keys are rejected. The keys are counted per
+     * mapping, not per indentation.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooManyKeys() throws IOException {
+        final YamlLimits limits = new YamlLimits().with(Limit.KEYS, 2);
+        Yaml.createYamlInput(
+            "- a: 1\n  b: 2\n- a: 1\n  b: 2\n", limits
+        ).readYamlSequence();
+        this.rejects(
+            () -> Yaml.createYamlInput("a: 1\nb:\n  c: 2\nd: 3\n", limits),
+            Limit.KEYS
+        );
+    }
+
+    /**
+     * Too long scalars are rejected, block scalars included.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooLongScalar() throws IOException {
+        this.rejects(
+            () -> Yaml.createYamlInput(
+                "key: |\n  first line\n  second line\nother: value\n",
+                new YamlLimits().with(Limit.SCALAR_LENGTH, 20)
+            ),
+            Limit.SCALAR_LENGTH
+        );
+    }
+
+    /**
+     * Streams with too many documents are rejected.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void rejectsTooManyDocuments() throws IOException {
+        final YamlLimits limits = new YamlLimits().with(Limit.DOCUMENTS, 2);
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("a: 1\n---\nb: 2\n", limits)
+                .readYamlStream().values(),
+            Matchers.hasSize(2)
+        );
+        this.rejects(
+            () -> Yaml.createYamlInput(
+                "---\na: 1\n---\nb: 2\n---\nc\n", limits
+            ),
+            Limit.DOCUMENTS
+        );
+    }
+
+    /**
+     * Read the stream from the given input, expecting a limit to
+     * be exceeded.
+     * @param input Input.
+     * @param limit Expected exceeded limit.
+     * @throws IOException If something goes wrong.
+     */
+    private void rejects(final Input input, final Limit limit)
+        throws IOException {
+        try {
+            input.create().readYamlStream();
+            MatcherAssert.assertThat("Limit not checked", false);
+        } catch (final YamlReadingException ex) {
+            MatcherAssert.assertThat(
+                ex, Matchers.instanceOf(YamlLimitException.class)
+            );
+            MatcherAssert.assertThat(
+                ((YamlLimitException) ex).limit(), Matchers.is(limit)
+            );
+        }
+    }
+
+    /**
+     * Creates a YamlInput.
+     */
+    private interface Input {
+
+        /**
+         * Create the input.
+         * @return YamlInput.
+         */
+        YamlInput create();
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LineBreaks}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class LineBreaksTest {
+
+    /**
+     * It splits the lines on '\n', '\r' and "\r\n".
+     */
+    @Test
+    public void findsAllKindsOfTerminators() {
+        MatcherAssert.assertThat(
+            LineBreaksTest.lines("a\nbb\r\nccc\rd\n\ne"),
+            Matchers.contains("a", "bb", "ccc", "d", "", "e")
+        );
+    }
+
+    /**
+     * It finds the same lines as a char by char scan, on random texts.
+     */
+    @Test
+    public void findsSameLinesAsCharByCharScan() {
+        final Random random = new Random(42);
+        final char[] alphabet = {'a', ' ', ':', '-', '\n', '\r', '\t'};
+        for (int text = 0; text < 200; ++text) {
+            final StringBuilder chars = new StringBuilder();
+            final int size = random.nextInt(300);
+            for (int idx = 0; idx < size; ++idx) {
+                chars.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            MatcherAssert.assertThat(
+                LineBreaksTest.lines(chars.toString()),
+                Matchers.equalTo(LineBreaksTest.scanned(chars.toString()))
+            );
+        }
+    }
+
+    /**
+     * It finds where the contents of a line start.
+     */
+    @Test
+    public void findsContents() {
+        final LineBreaks breaks = new LineBreaks("  \t key: value\n   \n");
+        MatcherAssert.assertThat(breaks.contents(0, 14), Matchers.is(4));
+        MatcherAssert.assertThat(breaks.contents(15, 18), Matchers.is(18));
+    }
+
+    /**
+     * Lines found by LineBreaks.
+     * @param text Text.
+     * @return Lines.
+     */
+    private static List<String> lines(final String text) {
+        final LineBreaks breaks = new LineBreaks(text);
+        final List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            final int end = breaks.end(start);
+            lines.add(text.substring(start, end));
+            start = breaks.next(end);
+        }
+        return lines;
+    }
+
+    /**
+     * Lines found by looking at every char.
+     * @param text Text.
+     * @return Lines.
+     */
+    private static List<String> scanned(final String text) {
+        final List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = start;
+            while (end < text.length()
+                && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+                end++;
+            }
+            lines.add(text.substring(start, end));
+            start = end + 1;
+            if (end + 1 < text.length() && text.charAt(end) == '\r'
+                && text.charAt(end + 1) == '\n') {
+                start++;
+            }
+        }
+        return lines;
+    }
+}
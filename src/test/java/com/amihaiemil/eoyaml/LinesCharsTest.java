@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LinesChars}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class LinesCharsTest {
+
+    /**
+     * LinesChars behaves like the String it is made of.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void behavesLikeString() throws IOException {
+        final LinesChars chars = new LinesChars()
+            .add("  first line", 2, 12)
+            .add("\n")
+            .spaces(40)
+            .add("")
+            .add("second");
+        final String expected = "first line\n"
+            + "                                        second";
+        MatcherAssert.assertThat(chars.toString(), Matchers.equalTo(expected));
+        MatcherAssert.assertThat(
+            chars.length(), Matchers.is(expected.length())
+        );
+        for (int idx = 0; idx < expected.length(); ++idx) {
+            MatcherAssert.assertThat(
+                chars.charAt(idx), Matchers.is(expected.charAt(idx))
+            );
+        }
+        MatcherAssert.assertThat(
+            chars.subSequence(6, 14).toString(),
+            Matchers.equalTo(expected.substring(6, 14))
+        );
+        MatcherAssert.assertThat(chars.endsWith("second"), Matchers.is(true));
+        MatcherAssert.assertThat(chars.endsWith("\n"), Matchers.is(false));
+        try (Reader reader = chars.reader()) {
+            final char[] buffer = new char[7];
+            final StringBuilder read = new StringBuilder();
+            int count = reader.read(buffer, 0, buffer.length);
+            while (count != -1) {
+                read.append(buffer, 0, count);
+                count = reader.read(buffer, 0, buffer.length);
+            }
+            MatcherAssert.assertThat(
+                read.toString(), Matchers.equalTo(expected)
+            );
+        }
+    }
+
+    /**
+     * Read block scalars can be streamed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void streamsBlockScalars() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "migration: |\n"
+            + "  CREATE TABLE users (\n"
+            + "    id INT\n"
+            + "  );\n"
+            + "folded: >\n"
+            + "  one\n"
+            + "  two\n"
+        ).readYamlMapping();
+        final Scalar literal = read.value("migration").asScalar();
+        try (BufferedReader reader = new BufferedReader(
+            literal.openReader()
+        )) {
+            MatcherAssert.assertThat(
+                reader.lines().collect(Collectors.toList()),
+                Matchers.contains(
+                    "CREATE TABLE users (",
+                    "  id INT",
+                    ");"
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            literal.chars().toString(), Matchers.equalTo(literal.value())
+        );
+        final Scalar folded = read.value("folded").asScalar();
+        MatcherAssert.assertThat(
+            folded.chars().toString(), Matchers.equalTo(folded.value())
+        );
+        MatcherAssert.assertThat(
+            Yaml.createYamlScalarBuilder().addLine("plain").buildPlainScalar()
+                .chars().toString(),
+            Matchers.equalTo("plain")
+        );
+    }
+}
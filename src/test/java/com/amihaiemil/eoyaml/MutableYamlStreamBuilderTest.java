@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MutableYamlStreamBuilder}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class MutableYamlStreamBuilderTest {
+    /**
+     * MutableYamlStreamBuilder adds a document to itself.
+     */
+    @Test
+    public void addsDocument() {
+        final YamlStreamBuilder builder = new MutableYamlStreamBuilder();
+        MatcherAssert.assertThat(
+            builder.add(new PlainStringScalar("document")),
+            Matchers.is(builder)
+        );
+    }
+
+    /**
+     * MutableYamlStreamBuilder can build a YamlStream, keeping the
+     * order of the documents.
+     */
+    @Test
+    public void buildsYamlStream() {
+        final YamlStream stream = new MutableYamlStreamBuilder()
+            .add(Yaml.createYamlMappingBuilder().add("a", "1").build())
+            .add(Yaml.createYamlSequenceBuilder().add("b").build())
+            .add(new PlainStringScalar("c"))
+            .build();
+        MatcherAssert.assertThat(stream.values(), Matchers.hasSize(3));
+        MatcherAssert.assertThat(
+            stream.values().iterator().next().asMapping().string("a"),
+            Matchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            stream,
+            Matchers.equalTo(
+                Yaml.createYamlStreamBuilder()
+                    .add(Yaml.createYamlMappingBuilder().add("a", "1").build())
+                    .add(Yaml.createYamlSequenceBuilder().add("b").build())
+                    .add(new PlainStringScalar("c"))
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * MutableYamlStreamBuilder can build an empty YamlStream.
+     */
+    @Test
+    public void buildsEmptyYamlStream() {
+        MatcherAssert.assertThat(
+            new MutableYamlStreamBuilder().build().isEmpty(),
+            Matchers.is(true)
+        );
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ReadMark}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class ReadMarkTest {
+
+    /**
+     * Read nodes know where they are in the input.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void marksReadNodes() throws IOException {
+        final String yaml = "# comment\n"
+            + "name: eo-yaml\n"
+            + "developers:\n"
+            + "  - mihai\n"
+            + "  - name: other\n"
+            + "    role: dev\n"
+            + "description: |\n"
+            + "  first line\n"
+            + "  second line\n"
+            + "settings:\n"
+            + "  debug: true\n";
+        final YamlMapping read = Yaml.createYamlInput(yaml).readYamlMapping();
+        this.mark(read.mark(), 2, 1, 11);
+        this.mark(read.value("name").mark(), 2, 7, 2);
+        MatcherAssert.assertThat(
+            read.value("name").mark().offset(),
+            Matchers.is(yaml.indexOf("eo-yaml"))
+        );
+        final YamlSequence devs = read.yamlSequence("developers");
+        this.mark(devs.mark(), 4, 3, 6);
+        this.mark(devs.yamlMapping(1).mark(), 5, 5, 6);
+        MatcherAssert.assertThat(
+            devs.yamlMapping(1).mark().offset(),
+            Matchers.is(yaml.indexOf("name: other"))
+        );
+        this.mark(devs.yamlMapping(1).value("role").mark(), 6, 11, 6);
+        this.mark(read.value("description").mark(), 7, 14, 9);
+        this.mark(read.yamlMapping("settings").mark(), 11, 3, 11);
+    }
+
+    /**
+     * Built nodes have no mark.
+     */
+    @Test
+    public void builtNodesHaveNoMark() {
+        MatcherAssert.assertThat(
+            Yaml.createYamlMappingBuilder().add("a", "b").build().mark(),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * Check a mark.
+     * @param mark Mark.
+     * @param line Expected line.
+     * @param column Expected column.
+     * @param end Expected end line.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private void mark(
+        final Mark mark, final int line, final int column, final int end
+    ) {
+        MatcherAssert.assertThat(mark.line(), Matchers.is(line));
+        MatcherAssert.assertThat(mark.column(), Matchers.is(column));
+        MatcherAssert.assertThat(mark.endLine(), Matchers.is(end));
+    }
+}
@@ -27,16 +27,21 @@
  */
 package com.amihaiemil.eoyaml;
 
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -72,7 +77,7 @@ public final class ReadYamlMappingTest {
             second.string("fifth"), Matchers.equalTo("values")
         );
         MatcherAssert.assertThat(
-            map.string("third"), Matchers.equalTo("&something")
+            map.string("third"), Matchers.nullValue()
         );
     }
 
@@ -1213,4 +1218,182 @@ public final class ReadYamlMappingTest {
             Matchers.equalTo("  line2")
         );
     }
+
+    /**
+     * ReadYamlMapping can find the values of many keys at once, the same
+     * as one by one.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void returnsValuesOfManyKeys() throws IOException {
+        final YamlMapping map = Yaml.createYamlInput(
+            "base: &base\n"
+            + "  merged: yes\n"
+            + "  name: base\n"
+            + "\"name\": quoted\n"
+            + "name: plain\n"
+            + "'single': value\n"
+            + "nested:\n"
+            + "  key: value\n"
+            + "list:\n"
+            + "  - one\n"
+            + "literal: |\n"
+            + "  text\n"
+            + "<<: *base\n"
+        ).readYamlMapping();
+        final List<String> keys = Arrays.asList(
+            "list", "name", "single", "nested", "missing", "literal", "merged"
+        );
+        final Map<String, YamlNode> values = map.values(keys);
+        MatcherAssert.assertThat(
+            values.keySet(),
+            Matchers.contains(
+                "list", "name", "single", "nested", "literal", "merged"
+            )
+        );
+        for (final String key : values.keySet()) {
+            MatcherAssert.assertThat(
+                values.get(key), Matchers.equalTo(map.value(key))
+            );
+        }
+        MatcherAssert.assertThat(
+            values.get("name").asScalar().value(), Matchers.equalTo("plain")
+        );
+    }
+
+    /**
+     * ReadYamlMapping finds the value of a key followed by more colons
+     * among many keys, the same as one by one.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void returnsValuesOfKeysWithManyColons() throws IOException {
+        final YamlMapping map = Yaml.createYamlInput(
+            "msg: a: b\n"
+            + "other: value\n"
+        ).readYamlMapping();
+        final Map<String, YamlNode> values = map.values(
+            Arrays.asList("msg", "other")
+        );
+        MatcherAssert.assertThat(
+            values.keySet(), Matchers.contains("msg", "other")
+        );
+        MatcherAssert.assertThat(
+            values.get("msg"), Matchers.equalTo(map.value("msg"))
+        );
+    }
+
+    /**
+     * ReadYamlMapping finds the values of many keys at once the same as
+     * one by one, for every key of every mapping in the test resources.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void returnsValuesLikeValueForAllResources() throws IOException {
+        final List<File> files = new ArrayList<>();
+        ReadYamlMappingTest.yamlFiles(new File("src/test/resources"), files);
+        MatcherAssert.assertThat(files, Matchers.not(Matchers.empty()));
+        for (final File file : files) {
+            YamlMapping map;
+            try {
+                map = Yaml.createYamlInput(file).readYamlMapping();
+                map.keys();
+            } catch (final IllegalStateException | YamlReadingException ex) {
+                map = null;
+            }
+            if (map != null) {
+                ReadYamlMappingTest.crossCheck(file.getName(), map);
+            }
+        }
+    }
+
+    /**
+     * ReadYamlMapping produces its entries in one pass, consistent with
+     * keys() and value(...), including complex and merged keys.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void returnsEntriesInOrder() throws IOException {
+        final YamlMapping map = Yaml.createYamlInput(
+            "base: &base\n"
+            + "  merged: yes\n"
+            + "  name: base\n"
+            + "name: plain\n"
+            + "?\n"
+            + "  - complex\n"
+            + ": value\n"
+            + "nested:\n"
+            + "  key: value\n"
+            + "<<: *base\n"
+        ).readYamlMapping();
+        final List<YamlNode> keys = new ArrayList<>();
+        final List<YamlNode> values = new ArrayList<>();
+        map.forEach(
+            (key, value) -> {
+                keys.add(key);
+                values.add(value);
+            }
+        );
+        MatcherAssert.assertThat(
+            keys, Matchers.contains(map.keys().toArray())
+        );
+        MatcherAssert.assertThat(
+            values, Matchers.contains(map.values().toArray())
+        );
+        for (final Map.Entry<YamlNode, YamlNode> entry : map.entries()) {
+            MatcherAssert.assertThat(
+                entry.getValue(), Matchers.equalTo(map.value(entry.getKey()))
+            );
+        }
+        MatcherAssert.assertThat(map.entries(), Matchers.iterableWithSize(5));
+    }
+
+    /**
+     * Check that values(keys) finds the same as value(key), for all the
+     * keys of the given mapping and of the mappings nested in it.
+     * @param file File name, for the failure messages.
+     * @param map Mapping.
+     */
+    private static void crossCheck(final String file, final YamlMapping map) {
+        final List<String> keys = new ArrayList<>();
+        for (final YamlNode key : map.keys()) {
+            if (key instanceof Scalar) {
+                keys.add(((Scalar) key).value());
+            }
+        }
+        final Map<String, YamlNode> expected = new LinkedHashMap<>();
+        for (final String key : keys) {
+            final YamlNode value = map.value(key);
+            if (value != null) {
+                expected.put(key, value);
+            }
+        }
+        MatcherAssert.assertThat(
+            file, map.values(keys), Matchers.equalTo(expected)
+        );
+        for (final YamlNode value : expected.values()) {
+            if (value instanceof YamlMapping) {
+                ReadYamlMappingTest.crossCheck(file, (YamlMapping) value);
+            }
+        }
+    }
+
+    /**
+     * Collect the YAML files in the given directory and its children.
+     * @param dir Directory.
+     * @param files Where the files are collected.
+     */
+    private static void yamlFiles(final File dir, final List<File> files) {
+        final File[] children = dir.listFiles();
+        if (children != null) {
+            Arrays.sort(children);
+            for (final File child : children) {
+                if (child.isDirectory()) {
+                    ReadYamlMappingTest.yamlFiles(child, files);
+                } else if (child.getName().endsWith(".yml")) {
+                    files.add(child);
+                }
+            }
+        }
+    }
 }
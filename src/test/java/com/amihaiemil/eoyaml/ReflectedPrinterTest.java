@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ReflectedPrinter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class ReflectedPrinterTest {
+
+    /**
+     * It prints an object like the equivalent built YamlNode is printed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsLikeBuiltNodes() throws IOException {
+        final Map<Object, Object> object = new LinkedHashMap<>();
+        object.put("name", "eo-yaml");
+        object.put("description", "");
+        object.put("owner", new Owner("Mihai: A"));
+        object.put("tags", Arrays.asList("yaml", 7, null));
+        object.put("ports", new int[] {80, 443});
+        object.put("none", Collections.emptyList());
+        object.put("nothing", Collections.emptyMap());
+        object.put(
+            "owners", Collections.singletonList(new Owner[] {new Owner("b")})
+        );
+        object.put(Arrays.asList("complex", "key"), true);
+        final YamlMapping built = Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml")
+            .add("description", "")
+            .add("owner", Yaml.createYamlMappingBuilder()
+                .add("name", "Mihai: A").build())
+            .add("tags", Yaml.createYamlSequenceBuilder()
+                .add("yaml").add("7").add((String) null).build())
+            .add("ports", Yaml.createYamlSequenceBuilder()
+                .add("80").add("443").build())
+            .add("none", Yaml.createYamlSequenceBuilder().build())
+            .add("nothing", Yaml.createYamlMappingBuilder().build())
+            .add("owners", Yaml.createYamlSequenceBuilder()
+                .add(Yaml.createYamlSequenceBuilder()
+                    .add(Yaml.createYamlMappingBuilder()
+                        .add("name", "b").build()).build()).build())
+            .add(
+                Yaml.createYamlSequenceBuilder()
+                    .add("complex").add("key").build(),
+                Yaml.createYamlScalarBuilder().addLine("true")
+                    .buildPlainScalar()
+            )
+            .build();
+        final StringWriter dumped = new StringWriter();
+        new ReflectedPrinter(new Output(dumped), 2).printDocument(object);
+        final StringWriter printed = new StringWriter();
+        new RtYamlPrinter(printed).printDocument(built, 0);
+        MatcherAssert.assertThat(
+            dumped.toString(), Matchers.equalTo(printed.toString())
+        );
+    }
+
+    /**
+     * It prints scalars and nulls as documents.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsScalarDocuments() throws IOException {
+        final StringWriter dumped = new StringWriter();
+        final ReflectedPrinter printer = new ReflectedPrinter(
+            new Output(dumped, "\n"), 2
+        );
+        printer.printDocument("a: b");
+        printer.printDocument(null);
+        printer.printDocument(12L);
+        MatcherAssert.assertThat(
+            dumped.toString(),
+            Matchers.equalTo("---\n\"a: b\"--- null---\n12")
+        );
+    }
+
+    /**
+     * It prints a bean with the given indentation step.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsWithIndentationStep() throws IOException {
+        final StringWriter dumped = new StringWriter();
+        new ReflectedPrinter(new Output(dumped, "\n"), 4).printDocument(
+            Collections.singletonMap(
+                "owners", Arrays.asList(new Owner("a"), new Owner(null))
+            )
+        );
+        MatcherAssert.assertThat(
+            dumped.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "---",
+                    "    owners:",
+                    "        -",
+                    "            name: a",
+                    "        -",
+                    "            name: null"
+                )
+            )
+        );
+    }
+
+    /**
+     * A bean with one getter.
+     */
+    static final class Owner {
+
+        /**
+         * Name.
+         */
+        private final String name;
+
+        /**
+         * Ctor.
+         * @param name Name.
+         */
+        Owner(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Name.
+         * @return String.
+         */
+        public String getName() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ReflectedType}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class ReflectedTypeTest {
+
+    /**
+     * There is one ReflectedType per class.
+     */
+    @Test
+    public void isCachedPerClass() {
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(new Server("a", 1)),
+            Matchers.sameInstance(ReflectedType.typeOf(new Server("b", 2)))
+        );
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(new Server("a", 1)),
+            Matchers.not(Matchers.sameInstance(ReflectedType.typeOf("a")))
+        );
+    }
+
+    /**
+     * It tells scalars, sequences and mappings apart.
+     */
+    @Test
+    public void knowsKinds() {
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf("text").kind(), Matchers.is(Node.SCALAR)
+        );
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(2.5).kind(), Matchers.is(Node.SCALAR)
+        );
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(new ArrayList<>()).kind(),
+            Matchers.is(Node.SEQUENCE)
+        );
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(new int[] {1}).kind(),
+            Matchers.is(Node.SEQUENCE)
+        );
+        final ReflectedType map = ReflectedType.typeOf(new HashMap<>());
+        MatcherAssert.assertThat(map.kind(), Matchers.is(Node.MAPPING));
+        MatcherAssert.assertThat(map.size(), Matchers.is(0));
+        MatcherAssert.assertThat(
+            ReflectedType.typeOf(new Server("a", 1)).kind(),
+            Matchers.is(Node.MAPPING)
+        );
+    }
+
+    /**
+     * It finds the keys and values of a bean, like a ReflectedYamlMapping,
+     * ignoring setters.
+     */
+    @Test
+    public void readsGetters() {
+        final Server server = new Server("localhost", 8080);
+        final ReflectedType type = ReflectedType.typeOf(server);
+        final List<String> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        for (int idx = 0; idx < type.size(); ++idx) {
+            keys.add(type.key(idx));
+            values.add(type.value(server, idx));
+        }
+        MatcherAssert.assertThat(
+            keys, Matchers.containsInAnyOrder("host", "port", "secure")
+        );
+        MatcherAssert.assertThat(
+            values, Matchers.containsInAnyOrder("localhost", 8080, false)
+        );
+        MatcherAssert.assertThat(
+            keys,
+            Matchers.equalTo(
+                Arrays.asList(
+                    new ReflectedYamlMapping(server).keys().stream()
+                        .map(key -> key.asScalar().value())
+                        .toArray()
+                )
+            )
+        );
+    }
+
+    /**
+     * A simple bean.
+     */
+    static final class Server {
+
+        /**
+         * Host.
+         */
+        private String host;
+
+        /**
+         * Port.
+         */
+        private final int port;
+
+        /**
+         * Ctor.
+         * @param host Host.
+         * @param port Port.
+         */
+        Server(final String host, final int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        /**
+         * Host.
+         * @return String.
+         */
+        public String getHost() {
+            return this.host;
+        }
+
+        /**
+         * Change the host.
+         * @param name Host.
+         */
+        public void setHost(final String name) {
+            this.host = name;
+        }
+
+        /**
+         * Port.
+         * @return Integer.
+         */
+        public int getPort() {
+            return this.port;
+        }
+
+        /**
+         * Is it secure?
+         * @return Boolean.
+         */
+        public boolean secure() {
+            return false;
+        }
+    }
+}
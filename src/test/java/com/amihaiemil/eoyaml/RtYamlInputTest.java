@@ -1199,6 +1199,53 @@ public final class RtYamlInputTest {
         );
     }
 
+    /**
+     * RtYamlInput can read a CharSequence directly, no matter the
+     * line terminators used.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsCharSequenceWithAnyLineTerminators() throws IOException {
+        final YamlMapping read = new RtYamlInput(
+            new StringBuilder("architect: mihai\r\n")
+                .append("developers:\r")
+                .append("  - rultor\n")
+                .append("  - salikjan\r\n")
+                .append("name: eo-yaml")
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.string("architect"), Matchers.equalTo("mihai")
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("developers").size(), Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("developers").string(1),
+            Matchers.equalTo("salikjan")
+        );
+        MatcherAssert.assertThat(
+            read.string("name"), Matchers.equalTo("eo-yaml")
+        );
+    }
+
+    /**
+     * Reading a CharSequence gives the same lines as reading the same
+     * characters from an InputStream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void readsCharSequenceLikeInputStream() throws IOException {
+        final String yaml = this.readTestResource("complexMapping.yml");
+        MatcherAssert.assertThat(
+            new RtYamlInput(yaml).readYamlMapping().toString(),
+            Matchers.equalTo(
+                new RtYamlInput(
+                    new ByteArrayInputStream(yaml.getBytes())
+                ).readYamlMapping().toString()
+            )
+        );
+    }
+
     /**
      * Read a test resource file's contents.
      * @param fileName File to read.
@@ -548,4 +548,24 @@ public final class RtYamlMappingTest {
         );
     }
 
+
+    /**
+     * RtYamlMapping returns its entries in insertion order.
+     */
+    @Test
+    public void returnsEntries() {
+        final Map<YamlNode, YamlNode> mappings = new LinkedHashMap<>();
+        mappings.put(new PlainStringScalar("zkey"), Mockito.mock(YamlNode.class));
+        mappings.put(new PlainStringScalar("akey"), Mockito.mock(YamlNode.class));
+        final YamlMapping map = new RtYamlMapping(mappings);
+        MatcherAssert.assertThat(
+            new ArrayList<>(map.entries()),
+            Matchers.equalTo(new ArrayList<>(mappings.entrySet()))
+        );
+        final List<YamlNode> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        MatcherAssert.assertThat(
+            keys, Matchers.contains(mappings.keySet().toArray())
+        );
+    }
 }
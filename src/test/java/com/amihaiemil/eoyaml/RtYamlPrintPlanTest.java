@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlPrintPlan}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class RtYamlPrintPlanTest {
+
+    /**
+     * It prints byte for byte what the printer prints, for random values.
+     * The plain scalar builder joins lines, so the scalars built with it
+     * get one-line values.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsLikeThePrinter() throws IOException {
+        final YamlPrintPlan plan = Yaml.createYamlPrintPlan(
+            RtYamlPrintPlanTest.document(
+                Arrays.asList("", "", "", "", "", "")
+            )
+        );
+        MatcherAssert.assertThat(plan.slots(), Matchers.is(6));
+        final Random random = new Random(3);
+        final String[] samples = {
+            "plain", "", null, "with: colon", "say \"hi\"", "- dash",
+            "   ", "#tag", "two" + System.lineSeparator() + "lines",
+        };
+        for (int doc = 0; doc < 200; ++doc) {
+            final String[] values = new String[plan.slots()];
+            for (int idx = 0; idx < values.length; ++idx) {
+                if (idx == 0 || idx == values.length - 1) {
+                    values[idx] = samples[random.nextInt(samples.length - 1)];
+                } else {
+                    values[idx] = samples[random.nextInt(samples.length)];
+                }
+            }
+            final StringWriter planned = new StringWriter();
+            plan.print(planned, values);
+            final StringWriter printed = new StringWriter();
+            Yaml.createYamlPrinter(printed).print(
+                RtYamlPrintPlanTest.document(Arrays.asList(values))
+            );
+            MatcherAssert.assertThat(
+                planned.toString(), Matchers.equalTo(printed.toString())
+            );
+        }
+    }
+
+    /**
+     * It prints with the options of the builder and keeps the
+     * destination open.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsWithOptions() throws IOException {
+        final YamlPrintPlan plan = Yaml.createYamlPrinterBuilder()
+            .skipComments()
+            .indentation(4)
+            .lineSeparator("\n")
+            .buildPlan(
+                Yaml.createYamlSequenceBuilder()
+                    .add("x")
+                    .add(Yaml.createYamlMappingBuilder().add("k", "v").build())
+                    .build("no comments")
+            );
+        final StringWriter written = new StringWriter();
+        plan.print(written, "a", "b");
+        written.write("\n");
+        plan.print(written, "c", null);
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo("- a\n-\n    k: b\n- c\n-\n    k: null")
+        );
+    }
+
+    /**
+     * A canonical plan prints the values in canonical form, like the
+     * canonical printer; the slots follow the sorted keys.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsCanonicalValues() throws IOException {
+        final YamlPrinterBuilder canonical = Yaml.createYamlPrinterBuilder()
+            .canonical().lineSeparator("\n");
+        final YamlMapping template = Yaml.createYamlMappingBuilder()
+            .add("b", "")
+            .add("a", "")
+            .build();
+        final StringWriter planned = new StringWriter();
+        canonical.buildPlan(template).print(planned, "x y ", "z");
+        final StringWriter printed = new StringWriter();
+        canonical.build(printed).print(
+            Yaml.createYamlMappingBuilder()
+                .add("b", "z")
+                .add("a", "x y ")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            planned.toString(), Matchers.equalTo(printed.toString())
+        );
+        MatcherAssert.assertThat(
+            planned.toString(), Matchers.equalTo("a: \"x y \"\nb: z")
+        );
+    }
+
+    /**
+     * It complains about a wrong number of values.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsAboutWrongNumberOfValues() throws IOException {
+        Yaml.createYamlPrintPlan(
+            Yaml.createYamlMappingBuilder().add("a", "b").build()
+        ).print(new StringWriter(), "one", "two");
+    }
+
+    /**
+     * Document of the tests' shape, with the given values.
+     * @param values Six values.
+     * @return YamlMapping.
+     */
+    private static YamlMapping document(final List<String> values) {
+        return Yaml.createYamlMappingBuilder()
+            .add(
+                "name",
+                Yaml.createYamlScalarBuilder()
+                    .addLine(values.get(0))
+                    .buildPlainScalar("inline comment")
+            )
+            .add(
+                "address",
+                Yaml.createYamlMappingBuilder()
+                    .add("city", values.get(1))
+                    .add("zip code", values.get(2))
+                    .add("empty", Yaml.createYamlSequenceBuilder().build())
+                    .build("where")
+            )
+            .add(
+                "tags",
+                Yaml.createYamlSequenceBuilder()
+                    .add(values.get(3))
+                    .add(
+                        Yaml.createYamlSequenceBuilder()
+                            .add(values.get(4))
+                            .build()
+                    )
+                    .add(
+                        Yaml.createYamlScalarBuilder()
+                            .addLine(values.get(5))
+                            .buildPlainScalar("last")
+                    )
+                    .build("tags")
+            )
+            .build("A document");
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlPrinterBuilder}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class RtYamlPrinterBuilderTest {
+
+    /**
+     * By default, it prints like Yaml.createYamlPrinter(...).
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsLikeDefaultPrinter() throws IOException {
+        final YamlMapping yaml = RtYamlPrinterBuilderTest.yaml();
+        MatcherAssert.assertThat(
+            RtYamlPrinterBuilderTest.printed(
+                Yaml.createYamlPrinterBuilder(), yaml
+            ),
+            Matchers.equalTo(yaml.toString())
+        );
+    }
+
+    /**
+     * It skips comments, indents with 4 spaces and separates lines
+     * with the given separator.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsWithoutCommentsAndCustomIndentation()
+        throws IOException {
+        MatcherAssert.assertThat(
+            RtYamlPrinterBuilderTest.printed(
+                Yaml.createYamlPrinterBuilder()
+                    .skipComments()
+                    .indentation(4)
+                    .lineSeparator("\r\n"),
+                RtYamlPrinterBuilderTest.yaml()
+            ),
+            Matchers.equalTo(
+                String.join(
+                    "\r\n",
+                    "name: \"eo-yaml\"",
+                    "tags:",
+                    "    - a, b",
+                    "    - c",
+                    "    - null",
+                    "map:",
+                    "    k: v",
+                    "    x: \"[y]\"",
+                    "deep:",
+                    "    -",
+                    "        - 1",
+                    "        - 2",
+                    "    - 3",
+                    "text: |",
+                    "    first",
+                    "    second"
+                )
+            )
+        );
+    }
+
+    /**
+     * It prints small collections of scalars in flow style, quoting
+     * the values containing commas.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsFlowStyle() throws IOException {
+        MatcherAssert.assertThat(
+            RtYamlPrinterBuilderTest.printed(
+                Yaml.createYamlPrinterBuilder()
+                    .skipComments()
+                    .lineSeparator("\n")
+                    .flowStyle(2),
+                RtYamlPrinterBuilderTest.yaml()
+            ),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "name: \"eo-yaml\"",
+                    "tags:",
+                    "  - a, b",
+                    "  - c",
+                    "  - null",
+                    "map: {k: v, x: \"[y]\"}",
+                    "deep:",
+                    "  - [1, 2]",
+                    "  - 3",
+                    "text: |",
+                    "  first",
+                    "  second"
+                )
+            )
+        );
+    }
+
+    /**
+     * Collections with comments are printed in block style, if comments
+     * are printed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void keepsCommentedCollectionsInBlockStyle() throws IOException {
+        final YamlMapping yaml = Yaml.createYamlMappingBuilder()
+            .add(
+                "seq",
+                Yaml.createYamlSequenceBuilder()
+                    .add(
+                        Yaml.createYamlScalarBuilder()
+                            .addLine("a")
+                            .buildPlainScalar("inline")
+                    )
+                    .build()
+            )
+            .add("other", Yaml.createYamlSequenceBuilder().add("b").build())
+            .build();
+        MatcherAssert.assertThat(
+            RtYamlPrinterBuilderTest.printed(
+                Yaml.createYamlPrinterBuilder()
+                    .lineSeparator("\n")
+                    .flowStyle(8),
+                yaml
+            ),
+            Matchers.equalTo("seq:\n  - a # inline\nother: [b]")
+        );
+    }
+
+    /**
+     * It prints the canonical form: sorted keys, no comments and
+     * normalized scalars.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsCanonicalForm() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            String.join(
+                "\n",
+                "# comment",
+                "zeta: z",
+                "alpha:",
+                "  b: \" padded\"",
+                "  a: |",
+                "    two",
+                "    lines",
+                "list:",
+                "  - 'c: d'",
+                "  - plain"
+            )
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            RtYamlPrinterBuilderTest.printed(
+                Yaml.createYamlPrinterBuilder().canonical(), read
+            ),
+            Matchers.equalTo(
+                String.join(
+                    "\n",
+                    "alpha:",
+                    "  a: \"two\\nlines\\n\"",
+                    "  b: \" padded\"",
+                    "list:",
+                    "  - \"c: d\"",
+                    "  - plain",
+                    "zeta: z"
+                )
+            )
+        );
+    }
+
+    /**
+     * It refuses invalid options.
+     */
+    @Test
+    public void refusesInvalidOptions() {
+        final YamlPrinterBuilder builder = Yaml.createYamlPrinterBuilder();
+        for (final Runnable invalid : new Runnable[] {
+            () -> builder.indentation(0),
+            () -> builder.lineSeparator(" "),
+            () -> builder.flowStyle(-1),
+        }) {
+            try {
+                invalid.run();
+                MatcherAssert.assertThat("Option was accepted", false);
+            } catch (final IllegalArgumentException ex) {
+                MatcherAssert.assertThat(
+                    ex.getMessage(), Matchers.notNullValue()
+                );
+            }
+        }
+    }
+
+    /**
+     * Print the YAML with the given builder.
+     * @param builder Builder.
+     * @param yaml YAML.
+     * @return Printed YAML.
+     * @throws IOException If something goes wrong.
+     */
+    private static String printed(
+        final YamlPrinterBuilder builder,
+        final YamlNode yaml
+    ) throws IOException {
+        final StringWriter written = new StringWriter();
+        builder.build(written).print(yaml);
+        return written.toString();
+    }
+
+    /**
+     * YAML used in the tests.
+     * @return YamlMapping.
+     */
+    private static YamlMapping yaml() {
+        return Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml")
+            .add(
+                "tags",
+                Yaml.createYamlSequenceBuilder()
+                    .add("a, b").add("c").add("").build("tags")
+            )
+            .add(
+                "map",
+                Yaml.createYamlMappingBuilder()
+                    .add("k", "v").add("x", "[y]").build("map")
+            )
+            .add(
+                "deep",
+                Yaml.createYamlSequenceBuilder()
+                    .add(
+                        Yaml.createYamlSequenceBuilder()
+                            .add("1").add("2").build()
+                    )
+                    .add("3")
+                    .build()
+            )
+            .add(
+                "text",
+                Yaml.createYamlScalarBuilder()
+                    .addLine("first")
+                    .addLine("second")
+                    .buildLiteralBlockScalar("literal")
+            )
+            .build("Printed with options");
+    }
+}
@@ -35,6 +35,8 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  *
@@ -81,31 +83,128 @@ public final class RtYamlPrinterTest {
     }
 
     /**
-     * {@link RtYamlPrinter.Escaped} escapes values when encounter special
+     * {@link Output#escaped(String)} escapes values when encounter special
      * characters or when there are quotations inside and ignores when the
      * values are already escaped with
      * <code>"</code> or <code>'</code>.
+     * @throws IOException If something goes wrong.
      */
     @Test
-    public void escapesWhenEncounterSpecialChars(){
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("Some value?")).value(),
+    public void escapesWhenEncounterSpecialChars() throws IOException {
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("Some value?"),
             Matchers.equalTo("\"Some value?\""));
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("Some value-")).value(),
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("Some value-"),
             Matchers.equalTo("\"Some value-\""));
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("Some value#")).value(),
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("Some value#"),
             Matchers.equalTo("\"Some value#\""));
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("'Some value'")).value(),
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("'Some value'"),
             Matchers.equalTo("'Some value'"));
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("Some \"value\"|"))
-                .value(),
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("Some \"value\"|"),
             Matchers.equalTo("'Some \"value\"|'"));
-        MatcherAssert.assertThat(new RtYamlPrinter
-                .Escaped(new PlainStringScalar("\"Some value\"")).value(),
+        MatcherAssert.assertThat(RtYamlPrinterTest.escaped("\"Some value\""),
             Matchers.equalTo("\"Some value\""));
     }
+
+    /**
+     * RtYamlPrinter can indent deeper than its cached spaces.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void printsDeeplyNestedMappings() throws Exception {
+        YamlMapping mapping = Yaml.createYamlMappingBuilder()
+            .add("key", "value")
+            .build();
+        final StringBuilder expected = new StringBuilder("key: value");
+        for (int level = 0; level < 100; ++level) {
+            mapping = Yaml.createYamlMappingBuilder()
+                .add("level", mapping)
+                .build();
+            final StringBuilder indented = new StringBuilder("level:");
+            for (final String line
+                : expected.toString().split(System.lineSeparator())) {
+                indented.append(System.lineSeparator())
+                    .append("  ")
+                    .append(line);
+            }
+            expected.setLength(0);
+            expected.append(indented);
+        }
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new RtYamlPrinter(new OutputStreamWriter(baos)).print(mapping);
+        MatcherAssert.assertThat(
+            baos.toString(), Matchers.equalTo(expected.toString())
+        );
+    }
+
+    /**
+     * Blank values are quoted, multi-line values are not.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void escapesBlankButNotMultilineValues() throws IOException {
+        MatcherAssert.assertThat(
+            RtYamlPrinterTest.escaped("   "),
+            Matchers.equalTo("\"   \"")
+        );
+        MatcherAssert.assertThat(
+            RtYamlPrinterTest.escaped("a:\nb"),
+            Matchers.equalTo("a:\nb")
+        );
+    }
+
+    /**
+     * The parallel printer prints big streams, mappings and sequences
+     * exactly like the sequential one.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void printsInParallelLikeSequentially() throws Exception {
+        YamlMappingBuilder mapping = Yaml.createYamlMappingBuilder();
+        for (int idx = 0; idx < 3 * RtYamlPrinter.CHUNK; ++idx) {
+            mapping = mapping.add(
+                "key" + idx,
+                Yaml.createYamlSequenceBuilder()
+                    .add("a: " + idx)
+                    .add("b")
+                    .build("key " + idx)
+            );
+        }
+        final YamlMapping built = mapping.build();
+        YamlSequenceBuilder big = Yaml.createYamlSequenceBuilder();
+        YamlStreamBuilder stream = Yaml.createYamlStreamBuilder();
+        for (int idx = 0; idx < 2 * RtYamlPrinter.CHUNK + 7; ++idx) {
+            big = big.add("element " + idx);
+            stream = stream.add(
+                Yaml.createYamlMappingBuilder().add("doc", "" + idx).build()
+            );
+        }
+        stream = stream.add(built).add(big.build("Big sequence"));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final YamlNode node : new YamlNode[] {built, stream.build()}) {
+                final StringWriter sequential = new StringWriter();
+                Yaml.createYamlPrinter(sequential).print(node);
+                final StringWriter parallel = new StringWriter();
+                Yaml.createParallelYamlPrinter(parallel, pool).print(node);
+                MatcherAssert.assertThat(
+                    parallel.toString(),
+                    Matchers.equalTo(sequential.toString())
+                );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A plain scalar's value, as {@link Output#escaped(String)} writes it.
+     * @param value Value.
+     * @return Written value.
+     * @throws IOException If something goes wrong.
+     */
+    private static String escaped(final String value) throws IOException {
+        final StringWriter writer = new StringWriter();
+        new Output(writer, "\n").escaped(value);
+        return writer.toString();
+    }
 }
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlStreamWriter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class RtYamlStreamWriterTest {
+
+    /**
+     * It writes the documents like a printed YamlStream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesLikePrintedStream() throws IOException {
+        final List<YamlNode> documents = Arrays.asList(
+            Yaml.createYamlMappingBuilder()
+                .add("name", "first")
+                .add(
+                    "list",
+                    Yaml.createYamlSequenceBuilder().add("a").build("list")
+                )
+                .build("first doc"),
+            Yaml.createYamlSequenceBuilder().add("b").add("c").build(),
+            Yaml.createYamlMappingBuilder().build(),
+            Yaml.createYamlScalarBuilder().addLine("scalar").buildPlainScalar()
+        );
+        final StringWriter written = new StringWriter();
+        try (YamlStreamWriter writer = Yaml.createYamlStreamWriter(written)) {
+            writer.write(documents.get(0))
+                .writeAll(documents.subList(1, 3).iterator())
+                .writeAll(documents.subList(3, 4).stream());
+        }
+        YamlStreamBuilder stream = Yaml.createYamlStreamBuilder();
+        for (final YamlNode document : documents) {
+            stream = stream.add(document);
+        }
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(stream.build().toString())
+        );
+    }
+
+    /**
+     * It writes UTF-8 to an OutputStream, with the builder's options.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesWithOptions() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (YamlStreamWriter writer = Yaml.createYamlPrinterBuilder()
+            .skipComments()
+            .lineSeparator("\n")
+            .buildStreamWriter(bytes)) {
+            writer.writeAll(
+                IntStream.range(0, 2).mapToObj(
+                    idx -> Yaml.createYamlMappingBuilder()
+                        .add("caf\u00E9", String.valueOf(idx))
+                        .build("comment")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            new String(bytes.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.equalTo("---\n  caf\u00E9: 0\n---\n  caf\u00E9: 1")
+        );
+    }
+
+    /**
+     * It flushes after the document which reaches the flush size and
+     * it stays open until it is closed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void flushesBySize() throws IOException {
+        final AtomicInteger flushes = new AtomicInteger();
+        final AtomicInteger closes = new AtomicInteger();
+        final StringWriter destination = new StringWriter() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+
+            @Override
+            public void close() {
+                closes.incrementAndGet();
+            }
+        };
+        final YamlStreamWriter writer = Yaml.createYamlPrinterBuilder()
+            .lineSeparator("\n")
+            .flushEvery(25, Duration.ofHours(1))
+            .buildStreamWriter(destination);
+        final YamlNode small = Yaml.createYamlMappingBuilder()
+            .add("a", "b").build();
+        writer.write(small).write(small);
+        MatcherAssert.assertThat(flushes.get(), Matchers.is(0));
+        writer.write(small);
+        MatcherAssert.assertThat(flushes.get(), Matchers.is(1));
+        MatcherAssert.assertThat(closes.get(), Matchers.is(0));
+        writer.close();
+        MatcherAssert.assertThat(closes.get(), Matchers.is(1));
+    }
+
+    /**
+     * It dumps Java objects as documents, like their built YamlNodes.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void dumpsObjects() throws IOException {
+        final StringWriter dumped = new StringWriter();
+        final StringWriter written = new StringWriter();
+        try (
+            YamlStreamWriter dumps = Yaml.createYamlStreamWriter(dumped);
+            YamlStreamWriter writes = Yaml.createYamlStreamWriter(written)
+        ) {
+            for (int idx = 0; idx < 3; ++idx) {
+                dumps.dump(
+                    Collections.singletonMap(
+                        "ids", Arrays.asList(idx, idx + 1)
+                    )
+                );
+                writes.write(
+                    Yaml.createYamlMappingBuilder()
+                        .add(
+                            "ids",
+                            Yaml.createYamlSequenceBuilder()
+                                .add(String.valueOf(idx))
+                                .add(String.valueOf(idx + 1))
+                                .build()
+                        )
+                        .build()
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            dumped.toString(), Matchers.equalTo(written.toString())
+        );
+    }
+
+    /**
+     * It refuses to write after it was closed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToWriteWhenClosed() throws IOException {
+        final YamlStreamWriter writer = Yaml.createYamlStreamWriter(
+            new StringWriter()
+        );
+        writer.close();
+        writer.write(Yaml.createYamlMappingBuilder().build());
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlWriter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class RtYamlWriterTest {
+
+    /**
+     * It writes nested mappings and sequences exactly like the printer.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesLikeThePrinter() throws IOException {
+        final StringWriter written = new StringWriter();
+        try (YamlWriter yaml = Yaml.createYamlWriter(written)) {
+            yaml.comment("Document comment")
+                .beginMapping()
+                .entry("name", "eo-yaml")
+                .comment("Who wrote it")
+                .key("developers").beginSequence()
+                    .scalar("amihaiemil")
+                    .beginMapping()
+                        .entry("name", "sherif")
+                        .entry("role", "dev: ops")
+                    .end()
+                    .beginSequence().scalar("a").scalar("").end()
+                .end()
+                .key("empty").beginMapping().end()
+                .key("none").beginSequence().end()
+                .entry("missing", null)
+                .end();
+        }
+        final YamlMapping built = Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder()
+                    .add("amihaiemil")
+                    .add(
+                        Yaml.createYamlMappingBuilder()
+                            .add("name", "sherif")
+                            .add("role", "dev: ops")
+                            .build()
+                    )
+                    .add(
+                        Yaml.createYamlSequenceBuilder()
+                            .add("a").add("").build()
+                    )
+                    .build("Who wrote it")
+            )
+            .add("empty", Yaml.createYamlMappingBuilder().build())
+            .add("none", Yaml.createYamlSequenceBuilder().build())
+            .add("missing", (String) null)
+            .build("Document comment");
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(RtYamlWriterTest.printed(built))
+        );
+    }
+
+    /**
+     * It writes the documents of a stream like the printer.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesStreams() throws IOException {
+        final StringWriter written = new StringWriter();
+        try (YamlWriter yaml = Yaml.createYamlWriter(written)) {
+            yaml.document().beginMapping().entry("a", "b").end()
+                .document().beginSequence().scalar("c").end()
+                .document().beginMapping().end();
+        }
+        final YamlStream built = Yaml.createYamlStreamBuilder()
+            .add(Yaml.createYamlMappingBuilder().add("a", "b").build())
+            .add(Yaml.createYamlSequenceBuilder().add("c").build())
+            .add(Yaml.createYamlMappingBuilder().build())
+            .build();
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(RtYamlWriterTest.printed(built))
+        );
+    }
+
+    /**
+     * It writes a scalar as root node.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesRootScalar() throws IOException {
+        final StringWriter written = new StringWriter();
+        try (YamlWriter yaml = Yaml.createYamlWriter(written)) {
+            yaml.comment("Just a scalar").scalar("value");
+        }
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo("---\n# Just a scalar\nvalue\n...")
+        );
+    }
+
+    /**
+     * It writes a whole read node and closes the open levels.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesNodesAndClosesLevels() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "# people\nname: amihaiemil\n# hobbies\nhobbies:\n  - yaml\n"
+            + "  - java\n"
+        ).readYamlMapping();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final YamlWriter yaml = Yaml.createYamlWriter(bytes);
+        yaml.beginMapping().key("person").node(read).key("unfinished");
+        yaml.close();
+        MatcherAssert.assertThat(
+            new String(bytes.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.equalTo(
+                RtYamlWriterTest.printed(
+                    Yaml.createYamlMappingBuilder()
+                        .add("person", read)
+                        .add("unfinished", (String) null)
+                        .build()
+                )
+            )
+        );
+    }
+
+    /**
+     * It writes block scalars and inline comments of a node like the
+     * printer, and they are read back the same.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesBlockScalarsOfNodes() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "a:\n"
+            + "  b: |\n"
+            + "    x\n"
+            + "    y\n"
+            + "  c: >\n"
+            + "    folded\n"
+            + "    text\n"
+            + "  d: plain # inline\n"
+            + "  e:\n"
+            + "    - |\n"
+            + "      first\n"
+            + "      second\n"
+            + "    - last\n"
+        ).readYamlMapping();
+        final StringWriter written = new StringWriter();
+        try (YamlWriter yaml = Yaml.createYamlWriter(written)) {
+            yaml.node(read);
+        }
+        final YamlMapping again = Yaml.createYamlInput(written.toString())
+            .readYamlMapping().yamlMapping("a");
+        MatcherAssert.assertThat(
+            again.literalBlockScalar("b"),
+            Matchers.equalTo(read.yamlMapping("a").literalBlockScalar("b"))
+        );
+        MatcherAssert.assertThat(
+            again.foldedBlockScalar("c"),
+            Matchers.equalTo(read.yamlMapping("a").foldedBlockScalar("c"))
+        );
+        MatcherAssert.assertThat(again.string("d"), Matchers.equalTo("plain"));
+        MatcherAssert.assertThat(
+            again.value("d").comment().value(), Matchers.equalTo("inline")
+        );
+        MatcherAssert.assertThat(
+            again.yamlSequence("e").values().iterator().next()
+                .asScalar().value(),
+            Matchers.equalTo(
+                read.yamlMapping("a").yamlSequence("e").values().iterator()
+                    .next().asScalar().value()
+            )
+        );
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(
+                "a:\n  b: |\n    x\n    y\n  c: >\n    folded\n    text\n"
+                + "  d: plain # inline\n  e:\n    - |\n      first\n"
+                + "      second\n    - last"
+            )
+        );
+    }
+
+    /**
+     * It writes literal and folded block scalars with inline comments.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesBlockScalars() throws IOException {
+        final StringWriter written = new StringWriter();
+        try (YamlWriter yaml = Yaml.createYamlWriter(written)) {
+            yaml.beginMapping()
+                .key("script").inlineComment("run it")
+                .literal("echo a" + System.lineSeparator() + "echo b")
+                .key("text").folded("one" + System.lineSeparator() + "two")
+                .key("list").beginSequence()
+                    .literal("x" + System.lineSeparator() + "y")
+                .end()
+                .end();
+        }
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(
+                "script: | # run it\n  echo a\n  echo b\n"
+                + "text: >\n  one\n  two\n"
+                + "list:\n  - |\n    x\n    y"
+            )
+        );
+    }
+
+    /**
+     * It complains if a key is written in a sequence.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void complainsAboutKeyInSequence() throws IOException {
+        Yaml.createYamlWriter(new StringWriter())
+            .beginSequence()
+            .key("wrong");
+    }
+
+    /**
+     * It complains if two root nodes are written outside of documents.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void complainsAboutSecondRoot() throws IOException {
+        Yaml.createYamlWriter(new StringWriter())
+            .beginSequence().end()
+            .beginMapping();
+    }
+
+    /**
+     * Print the given node with the YamlPrinter.
+     * @param node Node.
+     * @return Printed YAML.
+     * @throws IOException If something goes wrong.
+     */
+    private static String printed(final YamlNode node) throws IOException {
+        final StringWriter printed = new StringWriter();
+        Yaml.createYamlPrinter(printed).print(node);
+        return printed.toString();
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.File;
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Tape} and the nodes on it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class TapeTest {
+
+    /**
+     * YAML used in the tests.
+     */
+    private static final String YAML = "name: eo-yaml\n"
+        + "authors:\n"
+        + "  - amihaiemil\n"
+        + "  - name: other\n"
+        + "    mail: other@example.com\n"
+        + "empty: {}\n"
+        + "none: []\n"
+        + "description: |\n"
+        + "  first line\n"
+        + "  second line\n"
+        + "build:\n"
+        + "  tool: maven\n";
+
+    /**
+     * The compact mapping is equal to the read one and is printed
+     * the same way.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void compactMappingEqualsReadMapping() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(YAML).readYamlMapping();
+        final YamlMapping compact = Yaml.createYamlInput(YAML)
+            .readCompactYamlMapping();
+        MatcherAssert.assertThat(compact, Matchers.equalTo(read));
+        MatcherAssert.assertThat(
+            compact.hashCode(), Matchers.is(read.hashCode())
+        );
+        MatcherAssert.assertThat(
+            compact.toString(), Matchers.equalTo(read.toString())
+        );
+    }
+
+    /**
+     * Values can be looked up on the tape.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void looksUpValues() throws IOException {
+        final YamlMapping compact = Yaml.createYamlInput(YAML)
+            .readCompactYamlMapping();
+        MatcherAssert.assertThat(
+            compact.string("name"), Matchers.equalTo("eo-yaml")
+        );
+        MatcherAssert.assertThat(
+            compact.yamlMapping("build").string("tool"),
+            Matchers.equalTo("maven")
+        );
+        MatcherAssert.assertThat(
+            compact.yamlSequence("authors").yamlMapping(1).string("mail"),
+            Matchers.equalTo("other@example.com")
+        );
+        MatcherAssert.assertThat(
+            compact.yamlMapping("empty"),
+            Matchers.instanceOf(EmptyYamlMapping.class)
+        );
+        MatcherAssert.assertThat(
+            compact.yamlSequence("none"),
+            Matchers.instanceOf(EmptyYamlSequence.class)
+        );
+        MatcherAssert.assertThat(
+            compact.value("missing"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            compact.value("description").asScalar().chars().toString(),
+            Matchers.equalTo(
+                Yaml.createYamlInput(YAML).readYamlMapping()
+                    .string("description")
+            )
+        );
+    }
+
+    /**
+     * The compact mapping keeps the empty and null scalars, equal to the
+     * read mapping.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void keepsEmptyEntries() throws IOException {
+        final String[] files = {
+            "issue_525_emptyEntries.yml",
+            "badMappingIndentation.yml",
+            "streamWithDocumentComments.yml",
+        };
+        for (final String file : files) {
+            final YamlMapping read = Yaml.createYamlInput(
+                new File("src/test/resources/" + file)
+            ).readYamlMapping();
+            final YamlMapping compact = Yaml.createYamlInput(
+                new File("src/test/resources/" + file)
+            ).readCompactYamlMapping();
+            MatcherAssert.assertThat(file, compact, Matchers.equalTo(read));
+        }
+        final Scalar nulled = Yaml.createYamlInput(
+            new File("src/test/resources/issue_525_emptyEntries.yml")
+        ).readCompactYamlMapping().yamlSequence("a_sequence").yamlMapping(2)
+            .yamlMapping("another_mapping").value("null_scalar").asScalar();
+        MatcherAssert.assertThat(nulled.value(), Matchers.nullValue());
+        MatcherAssert.assertThat(nulled.chars().length(), Matchers.is(0));
+    }
+
+    /**
+     * Folded block scalars stay folded on the tape: the compact mapping is
+     * printed like the read one and reads back the same.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void keepsFoldedScalars() throws IOException {
+        final String yaml = "folded: >\n"
+            + "  first line\n"
+            + "  second line\n"
+            + "nested:\n"
+            + "  text: >\n"
+            + "    one\n"
+            + "    two\n"
+            + "literal: |\n"
+            + "  kept\n";
+        final YamlMapping read = Yaml.createYamlInput(yaml).readYamlMapping();
+        final YamlMapping compact = Yaml.createYamlInput(yaml)
+            .readCompactYamlMapping();
+        MatcherAssert.assertThat(compact, Matchers.equalTo(read));
+        MatcherAssert.assertThat(
+            compact.toString(), Matchers.equalTo(read.toString())
+        );
+        final YamlMapping again = Yaml.createYamlInput(compact.toString())
+            .readYamlMapping();
+        MatcherAssert.assertThat(
+            again.foldedBlockScalar("folded"),
+            Matchers.equalTo(read.foldedBlockScalar("folded"))
+        );
+        MatcherAssert.assertThat(again, Matchers.equalTo(read));
+    }
+
+    /**
+     * The tape lays out every node once, depth-first.
+     */
+    @Test
+    public void laysOutNodesDepthFirst() {
+        final Tape tape = new Tape(
+            Yaml.createYamlMappingBuilder()
+                .add("key", "value")
+                .add(
+                    "list",
+                    Yaml.createYamlSequenceBuilder().add("a").add("b").build()
+                )
+                .build()
+        );
+        MatcherAssert.assertThat(tape.size(), Matchers.is(7));
+        MatcherAssert.assertThat(tape.kind(0), Matchers.is(Tape.MAPPING));
+        MatcherAssert.assertThat(tape.count(0), Matchers.is(4));
+        MatcherAssert.assertThat(tape.matches(1, "key"), Matchers.is(true));
+        MatcherAssert.assertThat(tape.matches(2, "valu"), Matchers.is(false));
+        MatcherAssert.assertThat(tape.kind(4), Matchers.is(Tape.SEQUENCE));
+        MatcherAssert.assertThat(tape.end(4), Matchers.is(7));
+        MatcherAssert.assertThat(tape.value(6), Matchers.equalTo("b"));
+    }
+
+    /**
+     * Streams cannot be laid out on a tape.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsStreams() throws IOException {
+        new Tape(Yaml.createYamlInput("---\na: b\n").readYamlStream());
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Utf8Writer}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class Utf8WriterTest {
+
+    /**
+     * It encodes ASCII, 2 and 3 bytes chars and surrogate pairs.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void encodesAllSizes() throws IOException {
+        final String text = "key: val\u00FCe \u20AC \uD83D\uDE00 end";
+        MatcherAssert.assertThat(
+            Utf8WriterTest.encoded(text),
+            Matchers.equalTo(text.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    /**
+     * It replaces lone surrogates with '?', like String.getBytes.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void replacesLoneSurrogates() throws IOException {
+        final String text = "a\uD83Db\uDE00c\uD83D";
+        MatcherAssert.assertThat(
+            Utf8WriterTest.encoded(text),
+            Matchers.equalTo(text.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    /**
+     * It encodes like String.getBytes random texts bigger than its buffer,
+     * written in pieces of random sizes.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void encodesLikeGetBytes() throws IOException {
+        final Random random = new Random(7);
+        final char[] alphabet = {
+            'a', ':', '\n', '\u00E9', '\u20AC', '\uD83D', '\uDE00', '\uFFFF',
+        };
+        for (int text = 0; text < 50; ++text) {
+            final StringBuilder chars = new StringBuilder();
+            final int size = random.nextInt(30000);
+            for (int idx = 0; idx < size; ++idx) {
+                chars.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            final String value = chars.toString();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (Utf8Writer writer = new Utf8Writer(bytes)) {
+                int idx = 0;
+                while (idx < value.length()) {
+                    final int len = Math.min(
+                        value.length() - idx, random.nextInt(20000)
+                    );
+                    if (len % 2 == 0) {
+                        writer.write(value, idx, len);
+                    } else {
+                        writer.write(value.toCharArray(), idx, len);
+                    }
+                    idx = idx + len;
+                }
+            }
+            MatcherAssert.assertThat(
+                bytes.toByteArray(),
+                Matchers.equalTo(value.getBytes(StandardCharsets.UTF_8))
+            );
+        }
+    }
+
+    /**
+     * YAML printed to an OutputStream or a channel is the UTF-8 encoding
+     * of the YAML printed to a Writer.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsToStreamsAndChannels() throws IOException {
+        final YamlMapping yaml = Yaml.createYamlMappingBuilder()
+            .add("name", "Mihai Andron\u00E2che")
+            .add(
+                "langs", Yaml.createYamlSequenceBuilder()
+                    .add("java").add("\u65E5\u672C\u8A9E").build("Languages")
+            )
+            .build();
+        final byte[] expected = yaml.toString()
+            .getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Yaml.createYamlPrinter(stream).print(yaml);
+        MatcherAssert.assertThat(
+            stream.toByteArray(), Matchers.equalTo(expected)
+        );
+        final ByteArrayOutputStream channel = new ByteArrayOutputStream();
+        Yaml.createYamlPrinter(Channels.newChannel(channel)).print(yaml);
+        MatcherAssert.assertThat(
+            channel.toByteArray(), Matchers.equalTo(expected)
+        );
+    }
+
+    /**
+     * Encode the given text with a Utf8Writer.
+     * @param text Text.
+     * @return Bytes.
+     * @throws IOException If something goes wrong.
+     */
+    private static byte[] encoded(final String text) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Utf8Writer writer = new Utf8Writer(bytes)) {
+            for (final char character : text.toCharArray()) {
+                writer.write(character);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.extensions.MergedYamlMapping;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Verbatim}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class VerbatimTest {
+
+    /**
+     * The verbatim printer copies the unchanged read subtrees and
+     * prints the changed values normally.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void copiesUnchangedSubtrees() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            String.join(
+                "\n",
+                "name: eo-yaml",
+                "developers:",
+                "  # first",
+                "  - amihaiemil   # owner",
+                "  -",
+                "    name: 'sherif'",
+                "    skills:",
+                "      - java",
+                "  # version",
+                "version: 1"
+            )
+        ).readYamlMapping();
+        final StringWriter written = new StringWriter();
+        Yaml.createVerbatimYamlPrinter(written).print(
+            new MergedYamlMapping(
+                read,
+                Yaml.createYamlMappingBuilder().add("version", "2").build(),
+                true
+            )
+        );
+        MatcherAssert.assertThat(
+            written.toString(),
+            Matchers.equalTo(
+                String.join(
+                    System.lineSeparator(),
+                    "name: \"eo-yaml\"",
+                    "developers:",
+                    "  # first",
+                    "  - amihaiemil   # owner",
+                    "  -",
+                    "    name: 'sherif'",
+                    "    skills:",
+                    "      - java",
+                    "version: 2"
+                )
+            )
+        );
+    }
+
+    /**
+     * The verbatim printer does not copy the read subtrees if it should
+     * skip the comments or if they are nested with another indentation
+     * step. It prints them like the normal printer does.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void followsPrintingOptions() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            String.join(
+                "\n",
+                "# top",
+                "server:",
+                "    # host comment",
+                "    host: localhost   # inl",
+                "    ports:",
+                "        - 80",
+                "        - 443"
+            )
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            VerbatimTest.printed(
+                Yaml.createYamlPrinterBuilder().verbatim()
+                    .skipComments().indentation(2),
+                read
+            ),
+            Matchers.allOf(
+                Matchers.equalTo(
+                    VerbatimTest.printed(
+                        Yaml.createYamlPrinterBuilder()
+                            .skipComments().indentation(2),
+                        read
+                    )
+                ),
+                Matchers.not(Matchers.containsString("#")),
+                Matchers.containsString("  host: localhost"),
+                Matchers.containsString("    - 80")
+            )
+        );
+        MatcherAssert.assertThat(
+            VerbatimTest.printed(
+                Yaml.createYamlPrinterBuilder().verbatim().indentation(2),
+                read
+            ),
+            Matchers.equalTo(
+                VerbatimTest.printed(
+                    Yaml.createYamlPrinterBuilder().indentation(2), read
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            VerbatimTest.printed(
+                Yaml.createYamlPrinterBuilder().verbatim().indentation(4),
+                read
+            ),
+            Matchers.containsString("    host: localhost   # inl")
+        );
+    }
+
+    /**
+     * Nodes with anchors or aliases are printed normally.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void doesNotCopyAnchors() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "a:\n  x: &one 1\n  y: *one\nb:\n  z: 2\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            ((ReadYamlMapping) read.yamlMapping("a")).verbatim().lines(),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            ((ReadYamlMapping) read.yamlMapping("b")).verbatim().lines(),
+            Matchers.hasSize(1)
+        );
+    }
+
+    /**
+     * A sequence on the same indentation as its key is printed normally,
+     * and the result is the same YAML.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsSameYaml() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "seq:\n- a\n- b\nmap:\n     c: d\n     e:\n       - f\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            ((ReadYamlSequence) read.yamlSequence("seq")).verbatim().lines(),
+            Matchers.empty()
+        );
+        final StringWriter written = new StringWriter();
+        Yaml.createVerbatimYamlPrinter(written).print(read);
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput(written.toString()).readYamlMapping(),
+            Matchers.equalTo(read)
+        );
+    }
+
+    /**
+     * Print the node with a printer from the given builder.
+     * @param builder YamlPrinterBuilder.
+     * @param node YamlNode to print.
+     * @return The printed YAML.
+     * @throws IOException If something goes wrong.
+     */
+    private static String printed(
+        final YamlPrinterBuilder builder,
+        final YamlNode node
+    ) throws IOException {
+        final StringWriter written = new StringWriter();
+        builder.build(written).print(node);
+        return written.toString();
+    }
+}
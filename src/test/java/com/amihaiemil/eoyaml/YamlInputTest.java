@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for the default methods of {@link YamlInput}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class YamlInputTest {
+
+    /**
+     * The default diagnose() finds no problems in correct YAML.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void diagnosesCorrectYaml() throws IOException {
+        MatcherAssert.assertThat(
+            new Delegate(
+                Yaml.createYamlInput("a: 1\nb:\n  - c\n---\nd: e\n")
+            ).diagnose(),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * The default diagnose() reports the indentation problem which
+     * stopped the reading, with the line from its message.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void diagnosesFirstIndentationProblem() throws IOException {
+        final List<Diagnostic> problems = new Delegate(
+            Yaml.createYamlInput("a: 1\n    b: 2\nc: 3\n  d: 4\n")
+        ).diagnose();
+        MatcherAssert.assertThat(problems, Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+            problems.get(0).kind(),
+            Matchers.is(Diagnostic.Kind.INDENTATION)
+        );
+        MatcherAssert.assertThat(problems.get(0).line(), Matchers.is(2));
+        MatcherAssert.assertThat(problems.get(0).column(), Matchers.is(0));
+        MatcherAssert.assertThat(
+            problems.get(0).message(),
+            Matchers.startsWith("Indentation of line 2 [b: 2]")
+        );
+    }
+
+    /**
+     * The default diagnose() reports a reading problem as a structure
+     * problem.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void diagnosesReadingProblem() throws IOException {
+        final List<Diagnostic> problems = new Delegate(
+            Yaml.createYamlInput("a:\n  b: &x 1\n  c: *y\n")
+        ).diagnose();
+        MatcherAssert.assertThat(problems, Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+            problems.get(0).kind(),
+            Matchers.is(Diagnostic.Kind.STRUCTURE)
+        );
+    }
+
+    /**
+     * YamlInput which only delegates the read methods, so it keeps
+     * the default diagnose().
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 7.0.2
+     */
+    private static final class Delegate implements YamlInput {
+
+        /**
+         * Original input.
+         */
+        private final YamlInput origin;
+
+        /**
+         * Ctor.
+         * @param origin Original input.
+         */
+        Delegate(final YamlInput origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public YamlMapping readYamlMapping() throws IOException {
+            return this.origin.readYamlMapping();
+        }
+
+        @Override
+        public YamlSequence readYamlSequence() throws IOException {
+            return this.origin.readYamlSequence();
+        }
+
+        @Override
+        public YamlStream readYamlStream() throws IOException {
+            return this.origin.readYamlStream();
+        }
+
+        @Override
+        public Scalar readPlainScalar() throws IOException {
+            return this.origin.readPlainScalar();
+        }
+
+        @Override
+        public Scalar readFoldedBlockScalar() throws IOException {
+            return this.origin.readFoldedBlockScalar();
+        }
+
+        @Override
+        public Scalar readLiteralBlockScalar() throws IOException {
+            return this.origin.readLiteralBlockScalar();
+        }
+    }
+}
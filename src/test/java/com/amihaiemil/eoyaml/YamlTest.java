@@ -158,6 +158,20 @@ public final class YamlTest {
         );
     }
 
+    /**
+     * Yaml can create a YamlInput from a CharSequence.
+     */
+    @Test
+    public void createsYamlInputFromCharSequence() {
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput(new StringBuilder("yaml: test")),
+            Matchers.allOf(
+                Matchers.notNullValue(),
+                Matchers.instanceOf(RtYamlInput.class)
+            )
+        );
+    }
+
     /**
      * Yaml can create an YamlMapping from a json object.
      */
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlVisitor} and {@link YamlNode#accept(YamlVisitor)}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class YamlVisitorTest {
+
+    /**
+     * A read tree and the same tree, built, are visited in the same order.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void visitsReadAndBuiltTreesTheSame() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "name: eo-yaml\n"
+            + "authors:\n"
+            + "  - amihaiemil\n"
+            + "  - name: other\n"
+            + "    mail: other@example.com\n"
+            + "build:\n"
+            + "  tool: maven\n"
+            + "  jdk: 8\n"
+        ).readYamlMapping();
+        final YamlMapping built = Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml")
+            .add(
+                "authors",
+                Yaml.createYamlSequenceBuilder()
+                    .add("amihaiemil")
+                    .add(
+                        Yaml.createYamlMappingBuilder()
+                            .add("name", "other")
+                            .add("mail", "other@example.com")
+                            .build()
+                    )
+                    .build()
+            )
+            .add(
+                "build",
+                Yaml.createYamlMappingBuilder()
+                    .add("tool", "maven")
+                    .add("jdk", "8")
+                    .build()
+            )
+            .build();
+        final Events fromRead = new Events();
+        read.accept(fromRead);
+        final Events fromBuilt = new Events();
+        built.accept(fromBuilt);
+        MatcherAssert.assertThat(
+            fromRead.events,
+            Matchers.contains(
+                "{", "name", "eo-yaml", "authors", "[", "amihaiemil",
+                "{", "name", "other", "mail", "other@example.com", "}",
+                "]", "build", "{", "tool", "maven", "jdk", "8", "}", "}"
+            )
+        );
+        MatcherAssert.assertThat(
+            fromBuilt.events, Matchers.equalTo(fromRead.events)
+        );
+    }
+
+    /**
+     * Keys inherited through the merge key are visited after the own
+     * ones, unless they are overridden.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void visitsMergedKeys() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "base: &base\n"
+            + "  name: base\n"
+            + "  merged: yes\n"
+            + "child:\n"
+            + "  <<: *base\n"
+            + "  name: child\n"
+        ).readYamlMapping();
+        final Events events = new Events();
+        read.yamlMapping("child").accept(events);
+        MatcherAssert.assertThat(
+            events.events,
+            Matchers.contains("{", "name", "child", "merged", "yes", "}")
+        );
+    }
+
+    /**
+     * A stream visits its documents one after the other.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void visitsStreamDocuments() throws IOException {
+        final YamlStream stream = Yaml.createYamlInput(
+            "---\n"
+            + "- a\n"
+            + "---\n"
+            + "key: b\n"
+        ).readYamlStream();
+        final Events events = new Events();
+        stream.accept(events);
+        MatcherAssert.assertThat(
+            events.events,
+            Matchers.contains("[", "a", "]", "{", "key", "b", "}")
+        );
+    }
+
+    /**
+     * Visitor recording what it sees.
+     */
+    private static final class Events implements YamlVisitor {
+
+        /**
+         * Recorded events.
+         */
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void visitMappingStart(final YamlMapping mapping) {
+            this.events.add("{");
+        }
+
+        @Override
+        public void visitKey(final YamlNode key) {
+            this.events.add(key.asScalar().value());
+        }
+
+        @Override
+        public void visitMappingEnd(final YamlMapping mapping) {
+            this.events.add("}");
+        }
+
+        @Override
+        public void visitSequenceStart(final YamlSequence sequence) {
+            this.events.add("[");
+        }
+
+        @Override
+        public void visitSequenceEnd(final YamlSequence sequence) {
+            this.events.add("]");
+        }
+
+        @Override
+        public void visitScalar(final Scalar scalar) {
+            this.events.add(scalar.value());
+        }
+    }
+}
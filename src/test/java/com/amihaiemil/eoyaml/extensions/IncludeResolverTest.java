@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link IncludeResolver}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class IncludeResolverTest {
+
+    /**
+     * Folder where the YAML files are written.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * IncludeResolver can splice included mappings and sequences,
+     * recursively, with paths relative to the including file.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void resolvesNestedIncludes() throws Exception {
+        this.write(
+            "root.yml",
+            "name: platform\n"
+            + "database: !include db/db.yml\n"
+            + "users: !include users.yml\n"
+        );
+        this.write("db/db.yml", "host: localhost\nport: !include port.yml\n");
+        this.write("db/port.yml", "5432\n");
+        this.write("users.yml", "- mihai\n- sherif\n");
+        final YamlMapping resolved = new IncludeResolver(
+            this.folder.getRoot().toPath()
+        ).resolve("root.yml").asMapping();
+        MatcherAssert.assertThat(
+            resolved.string("name"), Matchers.equalTo("platform")
+        );
+        MatcherAssert.assertThat(
+            resolved.yamlMapping("database").string("host"),
+            Matchers.equalTo("localhost")
+        );
+        MatcherAssert.assertThat(
+            resolved.yamlMapping("database").integer("port"),
+            Matchers.is(5432)
+        );
+        MatcherAssert.assertThat(
+            resolved.yamlSequence("users").string(1),
+            Matchers.equalTo("sherif")
+        );
+    }
+
+    /**
+     * A fragment included many times is read only once per resolution.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsSharedFragmentOnce() throws Exception {
+        this.write(
+            "root.yml",
+            "first: !include a.yml\n"
+            + "second: !include b.yml\n"
+            + "third: !include shared.yml\n"
+        );
+        this.write("a.yml", "shared: !include shared.yml\n");
+        this.write("b.yml", "- !include shared.yml\n- !include shared.yml\n");
+        this.write("shared.yml", "key: value\n");
+        final AtomicInteger reads = new AtomicInteger();
+        final Executor counting = task -> {
+            reads.incrementAndGet();
+            new Thread(task).start();
+        };
+        final YamlNode resolved = new IncludeResolver(
+            this.folder.getRoot().toPath(), IncludeResolver.INCLUDE, counting
+        ).resolve("root.yml");
+        MatcherAssert.assertThat(reads.get(), Matchers.is(4));
+        MatcherAssert.assertThat(
+            resolved.asMapping().yamlSequence("second")
+                .yamlMapping(1).string("key"),
+            Matchers.equalTo("value")
+        );
+    }
+
+    /**
+     * A fragment included many times is spliced only once, all the
+     * including files share it.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void splicesSharedFragmentOnce() throws Exception {
+        this.write(
+            "root.yml",
+            "first: !include a.yml\n"
+            + "second: !include shared.yml\n"
+        );
+        this.write("a.yml", "shared: !include shared.yml\n");
+        this.write("shared.yml", "key: !include leaf.yml\n");
+        this.write("leaf.yml", "- value\n");
+        final YamlMapping resolved = new IncludeResolver(
+            this.folder.getRoot().toPath()
+        ).resolve("root.yml").asMapping();
+        MatcherAssert.assertThat(
+            resolved.yamlMapping("second").yamlSequence("key").string(0),
+            Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            resolved.yamlMapping("first").yamlMapping("shared"),
+            Matchers.sameInstance(resolved.yamlMapping("second"))
+        );
+    }
+
+    /**
+     * Files outside of the base directory cannot be included, neither
+     * with "../" nor with absolute paths.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void refusesFilesOutsideOfBase() throws Exception {
+        this.write("secret.yml", "password: 1234\n");
+        this.write("base/up.yml", "a: !include ../secret.yml\n");
+        this.write(
+            "base/absolute.yml",
+            "a: !include "
+            + new File(this.folder.getRoot(), "secret.yml").getAbsolutePath()
+            + "\n"
+        );
+        this.write("base/inside.yml", "a: !include dir/../other.yml\n");
+        this.write("base/other.yml", "key: value\n");
+        final IncludeResolver resolver = new IncludeResolver(
+            new File(this.folder.getRoot(), "base").toPath()
+        );
+        for (final String file : new String[] {"up.yml", "absolute.yml"}) {
+            try {
+                resolver.resolve(file);
+                MatcherAssert.assertThat(
+                    "Expected YamlReadingException for " + file, false
+                );
+            } catch (final YamlReadingException ex) {
+                MatcherAssert.assertThat(
+                    ex.getMessage(), Matchers.containsString("outside of")
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            resolver.resolve("inside.yml").asMapping()
+                .yamlMapping("a").string("key"),
+            Matchers.equalTo("value")
+        );
+    }
+
+    /**
+     * The include tag can be configured.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void resolvesCustomTag() throws Exception {
+        this.write("root.yml", "a: !ref other.yml\nb: !include other.yml\n");
+        this.write("other.yml", "key: value\n");
+        final YamlMapping resolved = new IncludeResolver(
+            this.folder.getRoot().toPath(), "!ref"
+        ).resolve("root.yml").asMapping();
+        MatcherAssert.assertThat(
+            resolved.yamlMapping("a").string("key"),
+            Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            resolved.string("b"), Matchers.equalTo("!include other.yml")
+        );
+    }
+
+    /**
+     * Cyclic includes are reported.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsOnCycles() throws Exception {
+        this.write("root.yml", "a: !include a.yml\n");
+        this.write("a.yml", "b: !include b.yml\n");
+        this.write("b.yml", "a: !include a.yml\n");
+        new IncludeResolver(this.folder.getRoot().toPath()).resolve("root.yml");
+    }
+
+    /**
+     * A missing file is reported with an IOException.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = FileNotFoundException.class)
+    public void complainsOnMissingFile() throws Exception {
+        this.write("root.yml", "a: !include missing.yml\n");
+        new IncludeResolver(this.folder.getRoot().toPath()).resolve("root.yml");
+    }
+
+    /**
+     * Write a YAML file in the temporary folder.
+     * @param name Name of the file.
+     * @param yaml Contents.
+     * @throws IOException If something goes wrong.
+     */
+    private void write(final String name, final String yaml)
+        throws IOException {
+        final File file = new File(this.folder.getRoot(), name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), yaml.getBytes(StandardCharsets.UTF_8));
+    }
+}
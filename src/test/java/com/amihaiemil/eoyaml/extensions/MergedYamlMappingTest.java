@@ -660,4 +660,27 @@ public final class MergedYamlMappingTest {
             Matchers.equalTo("Old Comment")
         );
     }
+
+    /**
+     * It finds the original value of a changed key even if the original
+     * key is quoted, and merges the nested mappings.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void mergesValuesOfQuotedOriginalKeys() throws IOException {
+        final YamlMapping original = Yaml.createYamlInput(
+            "\"server\":\n  host: a\n  port: 1\n"
+        ).readYamlMapping();
+        final YamlMapping changed = Yaml.createYamlMappingBuilder()
+            .add(
+                "server",
+                Yaml.createYamlMappingBuilder().add("port", "2").build()
+            )
+            .build();
+        final YamlMapping server = new MergedYamlMapping(
+            original, changed, true
+        ).yamlMapping("server");
+        MatcherAssert.assertThat(server.string("host"), Matchers.equalTo("a"));
+        MatcherAssert.assertThat(server.string("port"), Matchers.equalTo("2"));
+    }
 }
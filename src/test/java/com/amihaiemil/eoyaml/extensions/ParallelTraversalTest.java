@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Scalar;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParallelTraversal}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class ParallelTraversalTest {
+
+    /**
+     * It runs the task on every scalar of a built tree.
+     */
+    @Test
+    public void countsScalarsOfBuiltTree() {
+        YamlSequenceBuilder builder = Yaml.createYamlSequenceBuilder();
+        for (int idx = 0; idx < 1000; ++idx) {
+            builder = builder.add(
+                Yaml.createYamlMappingBuilder()
+                    .add("index", String.valueOf(idx))
+                    .add("even", String.valueOf(idx % 2 == 0))
+                    .build()
+            );
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MatcherAssert.assertThat(
+                new ParallelTraversal<>(
+                    scalar -> 1L, 0L, Long::sum, 8, pool
+                ).traverse(builder.build()),
+                Matchers.is(2000L)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The results are merged in the order of the nodes, even if they
+     * are computed in parallel.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void mergesInOrderOnReadTree() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "first: a\n"
+            + "second:\n"
+            + "  - b\n"
+            + "  - c\n"
+            + "  - key: d\n"
+            + "    other: e\n"
+            + "  - f\n"
+            + "third: g\n"
+            + "fourth:\n"
+            + "  nested: h\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            new ParallelTraversal<>(
+                Scalar::value, "", String::concat, 1
+            ).traverse(read),
+            Matchers.equalTo("abcdefgh")
+        );
+    }
+
+    /**
+     * A failing task fails the whole traversal.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void propagatesFailures() {
+        new ParallelTraversal<Integer>(
+            scalar -> {
+                throw new IllegalStateException("Secret found!");
+            },
+            0,
+            Integer::sum
+        ).traverse(
+            Yaml.createYamlMappingBuilder().add("key", "value").build()
+        );
+    }
+
+    /**
+     * The threshold must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveThreshold() {
+        new ParallelTraversal<>(scalar -> 1, 0, Integer::sum, 0);
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2016-2023, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlDigest}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 7.0.2
+ */
+public final class YamlDigestTest {
+
+    /**
+     * Mappings with the same content have the same digest, no matter
+     * their keys' order or comments.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void ignoresOrderAndComments() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "# config\nport: 8080\nhosts:\n  - a\n  - b # main\n"
+        ).readYamlMapping();
+        final YamlMapping built = Yaml.createYamlMappingBuilder()
+            .add(
+                "hosts",
+                Yaml.createYamlSequenceBuilder().add("a").add("b").build()
+            )
+            .add("port", "8080")
+            .build("other comment");
+        MatcherAssert.assertThat(
+            new YamlDigest(read).hex(),
+            Matchers.equalTo(new YamlDigest(built).hex())
+        );
+    }
+
+    /**
+     * Quoted keys are the same keys as the plain ones: they get the same
+     * digest and are sorted without their quotes.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void ignoresQuotesOfKeys() throws IOException {
+        final YamlMapping quoted = Yaml.createYamlInput(
+            "'b': y\n\"c\": z\na: x\n"
+        ).readYamlMapping();
+        final YamlMapping plain = Yaml.createYamlInput(
+            "c: z\nb: y\na: x\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            new YamlDigest(quoted).hex(),
+            Matchers.equalTo(new YamlDigest(plain).hex())
+        );
+        final StringWriter canonical = new StringWriter();
+        Yaml.createYamlPrinterBuilder().canonical().build(canonical)
+            .print(quoted);
+        MatcherAssert.assertThat(
+            canonical.toString(),
+            Matchers.equalTo("a: x\nb: y\nc: z")
+        );
+    }
+
+    /**
+     * Different content gives a different digest, even when only the
+     * order of a sequence changed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void detectsChanges() throws IOException {
+        final YamlMapping first = Yaml.createYamlMappingBuilder()
+            .add(
+                "seq",
+                Yaml.createYamlSequenceBuilder().add("a").add("b").build()
+            )
+            .build();
+        final YamlMapping second = Yaml.createYamlMappingBuilder()
+            .add(
+                "seq",
+                Yaml.createYamlSequenceBuilder().add("b").add("a").build()
+            )
+            .build();
+        MatcherAssert.assertThat(
+            new YamlDigest(first).hex(),
+            Matchers.not(Matchers.equalTo(new YamlDigest(second).hex()))
+        );
+    }
+
+    /**
+     * The digest is the one of the UTF-8 encoded canonical form.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void digestsCanonicalForm() throws Exception {
+        final YamlMapping yaml = Yaml.createYamlMappingBuilder()
+            .add("name", "Andronâche")
+            .add("b", "x")
+            .build();
+        final StringWriter canonical = new StringWriter();
+        Yaml.createYamlPrinterBuilder().canonical().build(canonical)
+            .print(yaml);
+        MatcherAssert.assertThat(
+            new YamlDigest(yaml, "SHA-1").bytes(),
+            Matchers.equalTo(
+                MessageDigest.getInstance("SHA-1").digest(
+                    canonical.toString().getBytes(StandardCharsets.UTF_8)
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            new YamlDigest(yaml).hex().length(),
+            Matchers.is(64)
+        );
+    }
+}